@@ -0,0 +1,138 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writes text and numbers to any {@link Appendable} without creating intermediate strings. <br>
+ * {@link StringBuilder} and {@link Writer} are written to directly, digits of integers are formatted to small reused buffer and
+ * passed as {@code char[]} (or {@link CharBuffer} view for other appendables). Floating point numbers are formatted directly only
+ * when writing to {@link StringBuilder}.
+ */
+final class AppendableOutput {
+    private final Appendable    appendable;
+    @Nullable
+    private final StringBuilder builder;
+    @Nullable
+    private final Writer        writer;
+    // long takes at most 20 chars with sign.
+    private final char[]        digits = new char[20];
+    @Nullable
+    private       CharBuffer    digitsView;
+
+    AppendableOutput(Appendable appendable) {
+        this.appendable = appendable;
+        this.builder = (appendable instanceof StringBuilder) ? (StringBuilder) appendable : null;
+        this.writer = (appendable instanceof Writer) ? (Writer) appendable : null;
+    }
+
+    /**
+     * Ensures capacity of builder, if writing to {@link StringBuilder}.
+     */
+    void ensureCapacity(long additional) {
+        if (this.builder != null) {
+            this.builder.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, this.builder.length() + additional));
+        }
+    }
+
+    void append(char c) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(c);
+        }
+        else {
+            this.appendable.append(c);
+        }
+    }
+
+    void append(CharSequence cs) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(cs);
+        }
+        else if ((this.writer != null) && (cs instanceof String)) {
+            this.writer.write((String) cs);
+        }
+        else {
+            this.appendable.append(cs);
+        }
+    }
+
+    /**
+     * Appends given object, null is skipped.
+     */
+    void append(@Nullable Object object) throws IOException {
+        if (object == null) {
+            return;
+        }
+        if (object instanceof CharSequence) {
+            this.append((CharSequence) object);
+        }
+        else if (this.builder != null) {
+            this.builder.append(object);
+        }
+        else {
+            this.append(object.toString());
+        }
+    }
+
+    void append(int value) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(value);
+        }
+        else {
+            this.append((long) value);
+        }
+    }
+
+    void append(long value) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(value);
+            return;
+        }
+        char[] digits = this.digits;
+        int index = digits.length;
+        // work on negative values, so Long.MIN_VALUE does not need special case.
+        long negative = (value < 0) ? value : - value;
+        do {
+            long quotient = negative / 10;
+            digits[-- index] = (char) ('0' + ((quotient * 10) - negative));
+            negative = quotient;
+        } while (negative != 0);
+        if (value < 0) {
+            digits[-- index] = '-';
+        }
+        this.appendDigits(index);
+    }
+
+    private void appendDigits(int from) throws IOException {
+        char[] digits = this.digits;
+        if (this.writer != null) {
+            this.writer.write(digits, from, digits.length - from);
+            return;
+        }
+        CharBuffer view = this.digitsView;
+        if (view == null) {
+            this.digitsView = view = CharBuffer.wrap(digits);
+        }
+        this.appendable.append(view, from, digits.length);
+    }
+
+    void append(float value) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(value);
+        }
+        else {
+            this.append(Float.toString(value));
+        }
+    }
+
+    void append(double value) throws IOException {
+        if (this.builder != null) {
+            this.builder.append(value);
+        }
+        else {
+            this.append(Double.toString(value));
+        }
+    }
+}
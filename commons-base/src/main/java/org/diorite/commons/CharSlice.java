@@ -0,0 +1,665 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+
+/**
+ * Read-only view of part of other {@link CharSequence}, without copying its characters. <br>
+ * Operations like {@link #substring(int, int)}, {@link #substringAfter(CharSequence)} or {@link #strip()} return slices over the
+ * same source, and have the same semantics as methods of the same name in {@link StringUtils}, so text can be parsed without
+ * creating new strings until {@link #toString()} is called. <br>
+ * Hash code of slice is the same as hash code of {@link String} with the same content, but, like {@link StringBuilder}, slice is only
+ * equal to other slices, use {@link #contentEquals(CharSequence)} to compare it with any char sequence. <br>
+ * Slice does not copy its source, so it must not be modified while slice is used.
+ */
+public final class CharSlice implements CharSequence, Comparable<CharSlice> {
+    private static final CharSlice EMPTY = new CharSlice("", 0, 0);
+
+    private final CharSequence source;
+    private final int          start;
+    private final int          end;
+    private       int          hash;
+
+    private CharSlice(CharSequence source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns slice over whole given char sequence.
+     *
+     * @param source source char sequence.
+     *
+     * @return slice over given char sequence.
+     */
+    public static CharSlice of(CharSequence source) {
+        if (source instanceof CharSlice) {
+            return (CharSlice) source;
+        }
+        return new CharSlice(source, 0, source.length());
+    }
+
+    /**
+     * Returns slice over part of given char sequence.
+     *
+     * @param source source char sequence.
+     * @param start start index, inclusive.
+     * @param end end index, exclusive.
+     *
+     * @return slice over part of given char sequence.
+     *
+     * @throws IndexOutOfBoundsException if start or end are out of bounds, or start is greater than end.
+     */
+    public static CharSlice of(CharSequence source, int start, int end) throws IndexOutOfBoundsException {
+        checkBounds(start, end, source.length());
+        if (source instanceof CharSlice) {
+            CharSlice slice = (CharSlice) source;
+            return new CharSlice(slice.source, slice.start + start, slice.start + end);
+        }
+        return new CharSlice(source, start, end);
+    }
+
+    /**
+     * Returns empty slice.
+     *
+     * @return empty slice.
+     */
+    public static CharSlice empty() {
+        return EMPTY;
+    }
+
+    private static void checkBounds(int start, int end, int length) {
+        if ((start < 0) || (start > end) || (end > length)) {
+            throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+    }
+
+    /**
+     * Returns source char sequence of this slice.
+     *
+     * @return source char sequence.
+     */
+    public CharSequence getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns start index (inclusive) of this slice in source.
+     *
+     * @return start index of this slice in source.
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns end index (exclusive) of this slice in source.
+     *
+     * @return end index of this slice in source.
+     */
+    public int getEnd() {
+        return this.end;
+    }
+
+    @Override
+    public int length() {
+        return this.end - this.start;
+    }
+
+    /**
+     * Returns true if this slice is empty.
+     *
+     * @return true if this slice is empty.
+     */
+    public boolean isEmpty() {
+        return this.start == this.end;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if ((index < 0) || (index >= (this.end - this.start))) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + this.length());
+        }
+        return this.source.charAt(this.start + index);
+    }
+
+    @Override
+    public CharSlice subSequence(int start, int end) {
+        checkBounds(start, end, this.length());
+        return this.slice(start, end);
+    }
+
+    /**
+     * Creates slice of this slice, indexes must be already checked.
+     */
+    private CharSlice slice(int start, int end) {
+        if ((start == 0) && (end == this.length())) {
+            return this;
+        }
+        if (start == end) {
+            return EMPTY;
+        }
+        return new CharSlice(this.source, this.start + start, this.start + end);
+    }
+
+    // Search
+    //-----------------------------------------------------------------------
+
+    /**
+     * Returns index of first occurrence of given character in this slice.
+     *
+     * @param ch character to find.
+     *
+     * @return index of character or {@code -1} if not found.
+     */
+    public int indexOf(char ch) {
+        return this.indexOf(ch, 0);
+    }
+
+    /**
+     * Returns index of first occurrence of given character in this slice, starting at given index.
+     *
+     * @param ch character to find.
+     * @param fromIndex index to start searching at.
+     *
+     * @return index of character or {@code -1} if not found.
+     */
+    public int indexOf(char ch, int fromIndex) {
+        CharSequence source = this.source;
+        for (int i = this.start + Math.max(fromIndex, 0); i < this.end; i++) {
+            if (source.charAt(i) == ch) {
+                return i - this.start;
+            }
+        }
+        return - 1;
+    }
+
+    /**
+     * Returns index of first occurrence of given char sequence in this slice.
+     *
+     * @param str char sequence to find.
+     *
+     * @return index of char sequence or {@code -1} if not found.
+     */
+    public int indexOf(CharSequence str) {
+        return this.indexOf(str, 0);
+    }
+
+    /**
+     * Returns index of first occurrence of given char sequence in this slice, starting at given index. <br>
+     * Search never looks at characters of source outside of this slice.
+     *
+     * @param str char sequence to find.
+     * @param fromIndex index to start searching at.
+     *
+     * @return index of char sequence or {@code -1} if not found.
+     */
+    public int indexOf(CharSequence str, int fromIndex) {
+        int length = str.length();
+        int from = Math.max(fromIndex, 0);
+        int last = this.length() - length;
+        if (length == 0) {
+            return (from <= this.length()) ? from : - 1;
+        }
+        char first = str.charAt(0);
+        for (int i = from; i <= last; i++) {
+            if ((this.source.charAt(this.start + i) == first) && this.regionMatches(i + 1, str, 1, length - 1)) {
+                return i;
+            }
+        }
+        return - 1;
+    }
+
+    /**
+     * Returns index of last occurrence of given char sequence in this slice.
+     *
+     * @param str char sequence to find.
+     *
+     * @return index of char sequence or {@code -1} if not found.
+     */
+    public int lastIndexOf(CharSequence str) {
+        int length = str.length();
+        for (int i = this.length() - length; i >= 0; i--) {
+            if (this.regionMatches(i, str, 0, length)) {
+                return i;
+            }
+        }
+        return - 1;
+    }
+
+    private boolean regionMatches(int offset, CharSequence other, int otherOffset, int length) {
+        CharSequence source = this.source;
+        int index = this.start + offset;
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(index + i) != other.charAt(otherOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this slice starts with given prefix.
+     *
+     * @param prefix the prefix.
+     *
+     * @return true if this slice starts with given prefix.
+     */
+    public boolean startsWith(CharSequence prefix) {
+        return (prefix.length() <= this.length()) && this.regionMatches(0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Returns true if this slice ends with given suffix.
+     *
+     * @param suffix the suffix.
+     *
+     * @return true if this slice ends with given suffix.
+     */
+    public boolean endsWith(CharSequence suffix) {
+        int offset = this.length() - suffix.length();
+        return (offset >= 0) && this.regionMatches(offset, suffix, 0, suffix.length());
+    }
+
+    // Substring, see StringUtils for semantics
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a slice from the specified slice, like {@link StringUtils#substring(String, int)}.
+     *
+     * @param start the position to start from, negative means count back from the end of the slice by this many characters.
+     *
+     * @return slice from start position.
+     */
+    public CharSlice substring(int start) {
+        int length = this.length();
+        if (start < 0) {
+            start = length + start;
+        }
+        if (start < 0) {
+            start = 0;
+        }
+        if (start > length) {
+            return EMPTY;
+        }
+        return this.slice(start, length);
+    }
+
+    /**
+     * Gets a slice from the specified slice, like {@link StringUtils#substring(String, int, int)}.
+     *
+     * @param start the position to start from, negative means count back from the end of the slice by this many characters.
+     * @param end the position to end at (exclusive), negative means count back from the end of the slice by this many characters.
+     *
+     * @return slice from start position to end position.
+     */
+    public CharSlice substring(int start, int end) {
+        int length = this.length();
+        if (end < 0) {
+            end = length + end;
+        }
+        if (start < 0) {
+            start = length + start;
+        }
+        if (end > length) {
+            end = length;
+        }
+        if (start > end) {
+            return EMPTY;
+        }
+        if (start < 0) {
+            start = 0;
+        }
+        if (end < 0) {
+            end = 0;
+        }
+        return this.slice(start, end);
+    }
+
+    /**
+     * Gets the leftmost {@code len} characters, like {@link StringUtils#left(String, int)}.
+     *
+     * @param len the length of the required slice.
+     *
+     * @return the leftmost characters.
+     */
+    public CharSlice left(int len) {
+        if (len < 0) {
+            return EMPTY;
+        }
+        return this.slice(0, Math.min(len, this.length()));
+    }
+
+    /**
+     * Gets the rightmost {@code len} characters, like {@link StringUtils#right(String, int)}.
+     *
+     * @param len the length of the required slice.
+     *
+     * @return the rightmost characters.
+     */
+    public CharSlice right(int len) {
+        if (len < 0) {
+            return EMPTY;
+        }
+        int length = this.length();
+        return this.slice(Math.max(length - len, 0), length);
+    }
+
+    /**
+     * Gets {@code len} characters from the middle, like {@link StringUtils#mid(String, int, int)}.
+     *
+     * @param pos the position to start from, negative treated as zero.
+     * @param len the length of the required slice.
+     *
+     * @return the middle characters.
+     */
+    public CharSlice mid(int pos, int len) {
+        int length = this.length();
+        if ((len < 0) || (pos > length)) {
+            return EMPTY;
+        }
+        if (pos < 0) {
+            pos = 0;
+        }
+        if (length <= (pos + len)) {
+            return this.slice(pos, length);
+        }
+        return this.slice(pos, pos + len);
+    }
+
+    /**
+     * Gets the slice before the first occurrence of a separator, like {@link StringUtils#substringBefore(String, String)}.
+     *
+     * @param separator the separator to search for, may be null.
+     *
+     * @return the slice before the first occurrence of the separator.
+     */
+    public CharSlice substringBefore(@Nullable CharSequence separator) {
+        if (this.isEmpty() || (separator == null)) {
+            return this;
+        }
+        if (separator.length() == 0) {
+            return EMPTY;
+        }
+        int pos = this.indexOf(separator);
+        if (pos == - 1) {
+            return this;
+        }
+        return this.slice(0, pos);
+    }
+
+    /**
+     * Gets the slice after the first occurrence of a separator, like {@link StringUtils#substringAfter(String, String)}.
+     *
+     * @param separator the separator to search for, may be null.
+     *
+     * @return the slice after the first occurrence of the separator.
+     */
+    public CharSlice substringAfter(@Nullable CharSequence separator) {
+        if (this.isEmpty()) {
+            return this;
+        }
+        if (separator == null) {
+            return EMPTY;
+        }
+        int pos = this.indexOf(separator);
+        if (pos == - 1) {
+            return EMPTY;
+        }
+        return this.slice(pos + separator.length(), this.length());
+    }
+
+    /**
+     * Gets the slice before the last occurrence of a separator, like {@link StringUtils#substringBeforeLast(String, String)}.
+     *
+     * @param separator the separator to search for, may be null.
+     *
+     * @return the slice before the last occurrence of the separator.
+     */
+    public CharSlice substringBeforeLast(@Nullable CharSequence separator) {
+        if (this.isEmpty() || (separator == null) || (separator.length() == 0)) {
+            return this;
+        }
+        int pos = this.lastIndexOf(separator);
+        if (pos == - 1) {
+            return this;
+        }
+        return this.slice(0, pos);
+    }
+
+    /**
+     * Gets the slice after the last occurrence of a separator, like {@link StringUtils#substringAfterLast(String, String)}.
+     *
+     * @param separator the separator to search for, may be null.
+     *
+     * @return the slice after the last occurrence of the separator.
+     */
+    public CharSlice substringAfterLast(@Nullable CharSequence separator) {
+        if (this.isEmpty()) {
+            return this;
+        }
+        if ((separator == null) || (separator.length() == 0)) {
+            return EMPTY;
+        }
+        int pos = this.lastIndexOf(separator);
+        if ((pos == - 1) || (pos == (this.length() - separator.length()))) {
+            return EMPTY;
+        }
+        return this.slice(pos + separator.length(), this.length());
+    }
+
+    /**
+     * Gets the slice that is nested in between two instances of the same tag, like
+     * {@link StringUtils#substringBetween(String, String)}.
+     *
+     * @param tag the char sequence before and after the slice.
+     *
+     * @return the slice, {@code null} if no match.
+     */
+    @Nullable
+    public CharSlice substringBetween(CharSequence tag) {
+        return this.substringBetween(tag, tag);
+    }
+
+    /**
+     * Gets the slice that is nested in between two char sequences, only the first match is returned, like
+     * {@link StringUtils#substringBetween(String, String, String)}.
+     *
+     * @param open the char sequence before the slice.
+     * @param close the char sequence after the slice.
+     *
+     * @return the slice, {@code null} if no match.
+     */
+    @Nullable
+    public CharSlice substringBetween(CharSequence open, CharSequence close) {
+        int start = this.indexOf(open);
+        if (start != - 1) {
+            int end = this.indexOf(close, start + open.length());
+            if (end != - 1) {
+                return this.slice(start + open.length(), end);
+            }
+        }
+        return null;
+    }
+
+    // Strip and trim
+    //-----------------------------------------------------------------------
+
+    /**
+     * Removes control characters (char &lt;= 32) from both ends of this slice, like {@link String#trim()}.
+     *
+     * @return the trimmed slice.
+     */
+    public CharSlice trim() {
+        int start = 0;
+        int end = this.length();
+        while ((start < end) && (this.source.charAt(this.start + start) <= ' ')) {
+            start++;
+        }
+        while ((start < end) && (this.source.charAt((this.start + end) - 1) <= ' ')) {
+            end--;
+        }
+        return this.slice(start, end);
+    }
+
+    /**
+     * Strips whitespace from the start and end of this slice, like {@link StringUtils#strip(String)}.
+     *
+     * @return the stripped slice.
+     */
+    public CharSlice strip() {
+        return this.strip(null);
+    }
+
+    /**
+     * Strips any of a set of characters from the start and end of this slice, like {@link StringUtils#strip(String, String)}.
+     *
+     * @param stripChars the characters to remove, null treated as whitespace.
+     *
+     * @return the stripped slice.
+     */
+    public CharSlice strip(@Nullable String stripChars) {
+        int start = this.stripStartIndex(stripChars);
+        int end = this.stripEndIndex(stripChars);
+        return (start >= end) ? EMPTY : this.slice(start, end);
+    }
+
+    /**
+     * Strips any of a set of characters from the start of this slice, like {@link StringUtils#stripStart(String, String)}.
+     *
+     * @param stripChars the characters to remove, null treated as whitespace.
+     *
+     * @return the stripped slice.
+     */
+    public CharSlice stripStart(@Nullable String stripChars) {
+        return this.slice(this.stripStartIndex(stripChars), this.length());
+    }
+
+    /**
+     * Strips any of a set of characters from the end of this slice, like {@link StringUtils#stripEnd(String, String)}.
+     *
+     * @param stripChars the characters to remove, null treated as whitespace.
+     *
+     * @return the stripped slice.
+     */
+    public CharSlice stripEnd(@Nullable String stripChars) {
+        return this.slice(0, this.stripEndIndex(stripChars));
+    }
+
+    private int stripStartIndex(@Nullable String stripChars) {
+        int length = this.length();
+        int start = 0;
+        if ((stripChars != null) && stripChars.isEmpty()) {
+            return 0;
+        }
+        while ((start < length) && this.isStripped(this.source.charAt(this.start + start), stripChars)) {
+            start++;
+        }
+        return start;
+    }
+
+    private int stripEndIndex(@Nullable String stripChars) {
+        int end = this.length();
+        if ((stripChars != null) && stripChars.isEmpty()) {
+            return end;
+        }
+        while ((end > 0) && this.isStripped(this.source.charAt((this.start + end) - 1), stripChars)) {
+            end--;
+        }
+        return end;
+    }
+
+    private boolean isStripped(char ch, @Nullable String stripChars) {
+        return (stripChars == null) ? Character.isWhitespace(ch) : (stripChars.indexOf(ch) != - 1);
+    }
+
+    // Comparison
+    //-----------------------------------------------------------------------
+
+    /**
+     * Returns true if this slice contains the same characters as given char sequence.
+     *
+     * @param cs char sequence to compare with, may be null.
+     *
+     * @return true if this slice contains the same characters as given char sequence.
+     */
+    public boolean contentEquals(@Nullable CharSequence cs) {
+        if (cs == null) {
+            return false;
+        }
+        return (cs.length() == this.length()) && this.regionMatches(0, cs, 0, cs.length());
+    }
+
+    /**
+     * Returns true if this slice contains the same characters as given char sequence, ignoring case.
+     *
+     * @param cs char sequence to compare with, may be null.
+     *
+     * @return true if this slice contains the same characters as given char sequence, ignoring case.
+     */
+    public boolean contentEqualsIgnoreCase(@Nullable CharSequence cs) {
+        if (cs == null) {
+            return false;
+        }
+        return (cs.length() == this.length()) && CharSequenceUtils.regionMatches(this, true, 0, cs, 0, cs.length());
+    }
+
+    @Override
+    public int compareTo(CharSlice other) {
+        int length = Math.min(this.length(), other.length());
+        for (int i = 0; i < length; i++) {
+            char a = this.source.charAt(this.start + i);
+            char b = other.source.charAt(other.start + i);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return this.length() - other.length();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (! (object instanceof CharSlice)) {
+            return false;
+        }
+        CharSlice other = (CharSlice) object;
+        if ((other.length() != this.length()) || ((this.hash != 0) && (other.hash != 0) && (this.hash != other.hash))) {
+            return false;
+        }
+        return this.regionMatches(0, other, 0, other.length());
+    }
+
+    /**
+     * Returns hash code of this slice, that is equal to hash code of {@link String} with the same content.
+     *
+     * @return hash code of this slice.
+     */
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+        if ((hash == 0) && (this.start != this.end)) {
+            CharSequence source = this.source;
+            for (int i = this.start; i < this.end; i++) {
+                hash = (31 * hash) + source.charAt(i);
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Copies this slice to new string.
+     *
+     * @return content of this slice.
+     */
+    @Override
+    public String toString() {
+        if (this.source instanceof String) {
+            return ((String) this.source).substring(this.start, this.end);
+        }
+        return this.source.subSequence(this.start, this.end).toString();
+    }
+}
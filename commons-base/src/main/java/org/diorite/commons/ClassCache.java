@@ -0,0 +1,133 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of values computed per class, backed by {@link ClassValue}. <br>
+ * Values are stored in the class itself, so cache does not keep classes (and their class loaders) alive and lookup does not need
+ * to hash the class, unlike {@code Map<Class<?>, V>}. <br>
+ * Each cache is registered under unique name, and size of all registered caches can be inspected using {@link #sizes()}.
+ *
+ * @param <V> type of cached values.
+ */
+public final class ClassCache<V> {
+    private static final Map<String, ClassCache<?>> caches = new ConcurrentHashMap<>(20);
+
+    private final String                          name;
+    private final Function<Class<?>, ? extends V> loader;
+    private final ClassValue<V>                   values;
+    /**
+     * Weak set of classes with computed value, used only to count entries of this cache.
+     */
+    private final Set<Class<?>>                   classes;
+
+    private ClassCache(String name, Function<Class<?>, ? extends V> loader) {
+        this.name = name;
+        this.loader = loader;
+        this.classes = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>(20)));
+        this.values = new ClassValue<>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                V value = ClassCache.this.loader.apply(type);
+                ClassCache.this.classes.add(type);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Creates and registers new cache with given name.
+     *
+     * @param name unique name of cache, like {@code "ClassName.field"}.
+     * @param loader function used to compute value for class, it might be called more than once for the same class if used
+     * concurrently, but only one value is ever returned.
+     * @param <V> type of cached values.
+     *
+     * @return created cache.
+     *
+     * @throws IllegalArgumentException if cache with given name is already registered.
+     */
+    public static <V> ClassCache<V> create(String name, Function<Class<?>, ? extends V> loader) throws IllegalArgumentException {
+        ClassCache<V> cache = new ClassCache<>(name, loader);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalArgumentException("Cache with name " + name + " is already registered.");
+        }
+        return cache;
+    }
+
+    /**
+     * Returns value for given class, computing it if needed.
+     *
+     * @param type class to get value for.
+     *
+     * @return value for given class.
+     */
+    public V get(Class<?> type) {
+        return this.values.get(type);
+    }
+
+    /**
+     * Removes value of given class, so it will be computed again on next access.
+     *
+     * @param type class to remove value for.
+     */
+    public void remove(Class<?> type) {
+        this.values.remove(type);
+        this.classes.remove(type);
+    }
+
+    /**
+     * Returns number of classes with computed value, classes that were already unloaded are not counted.
+     *
+     * @return number of cached values.
+     */
+    public int size() {
+        return this.classes.size();
+    }
+
+    /**
+     * Returns name of this cache.
+     *
+     * @return name of this cache.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns sizes of all registered caches, sorted by name.
+     *
+     * @return map of cache names to number of cached values.
+     */
+    public static Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new TreeMap<>();
+        for (ClassCache<?> cache: caches.values()) {
+            sizes.put(cache.name, cache.size());
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns registered cache with given name.
+     *
+     * @param name name of cache.
+     *
+     * @return cache with given name or null.
+     */
+    @Nullable
+    public static ClassCache<?> getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassCache{" + this.name + ", size=" + this.size() + "}";
+    }
+}
@@ -0,0 +1,263 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fast paths of character-class checks for Latin-1 strings. <br>
+ * Strings that only contain characters up to {@code U+00FF} are encoded to ISO-8859-1 bytes, which for compact strings is a single
+ * array copy, and checked 8 characters at a time using SWAR (SIMD within a register) tricks, with lookup table for non-ASCII Latin-1
+ * characters, so results are exactly the same as when using {@link Character} methods. <br>
+ * For short strings and strings with other characters {@link #bytes(CharSequence)} returns null and callers should use their
+ * generic per-char path.
+ */
+final class Latin1 {
+    private static final byte LETTER     = 1;
+    private static final byte DIGIT      = 1 << 1;
+    private static final byte WHITESPACE = 1 << 2;
+    private static final byte UPPER      = 1 << 3;
+    private static final byte LOWER      = 1 << 4;
+
+    /**
+     * Flags of each Latin-1 character, computed using {@link Character} methods.
+     */
+    private static final byte[] FLAGS = new byte[256];
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH = 0x8080808080808080L;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Min length of string to use fast path, copying shorter strings costs more than checking them char by char.
+     */
+    private static final int MIN_LENGTH = 16;
+
+    static {
+        for (int c = 0; c < FLAGS.length; c++) {
+            int flags = 0;
+            if (Character.isLetter(c)) {
+                flags |= LETTER;
+            }
+            if (Character.isDigit(c)) {
+                flags |= DIGIT;
+            }
+            if (Character.isWhitespace(c)) {
+                flags |= WHITESPACE;
+            }
+            if (Character.isUpperCase(c)) {
+                flags |= UPPER;
+            }
+            if (Character.isLowerCase(c)) {
+                flags |= LOWER;
+            }
+            FLAGS[c] = (byte) flags;
+        }
+    }
+
+    private Latin1() {}
+
+    /**
+     * Returns Latin-1 bytes of given string.
+     *
+     * @param cs char sequence.
+     *
+     * @return Latin-1 bytes of string or null if given sequence is not a string, is too short or contains other characters.
+     */
+    @Nullable
+    static byte[] bytes(CharSequence cs) {
+        if ((cs.getClass() != String.class) || (cs.length() < MIN_LENGTH)) {
+            return null;
+        }
+        String string = (String) cs;
+        int length = string.length();
+        // cheap sample to skip encoding of most non Latin-1 strings.
+        if ((string.charAt(0) > 0xFF) || (string.charAt(length >> 1) > 0xFF) || (string.charAt(length - 1) > 0xFF)) {
+            return null;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.ISO_8859_1);
+        // characters that can't be encoded are replaced by '?', so each '?' must be checked.
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i) ^ (ONES * '?');
+            if ((((word - ONES) & ~ word & HIGH) != 0) && ! isEncoded(string, bytes, i, i + 8)) {
+                return null;
+            }
+        }
+        return isEncoded(string, bytes, words, bytes.length) ? bytes : null;
+    }
+
+    private static boolean isEncoded(String string, byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((bytes[i] == '?') && (string.charAt(i) != '?')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns word with high bit set in each byte that is in given range, all bytes of word must be ASCII.
+     */
+    private static long inRange(long word, int from, int to) {
+        long greaterOrEqual = (word | HIGH) - (ONES * from);
+        long lessOrEqual = ((ONES * to) | HIGH) - word;
+        return greaterOrEqual & lessOrEqual & HIGH;
+    }
+
+    private static long letters(long word) {
+        return inRange(word | (ONES * 0x20), 'a', 'z');
+    }
+
+    private static long digits(long word) {
+        return inRange(word, '0', '9');
+    }
+
+    private static long whitespaces(long word) {
+        return inRange(word, '\t', '\r') | inRange(word, '\u001C', ' ');
+    }
+
+    private static boolean all(byte[] bytes, int from, int to, int flags) {
+        for (int i = from; i < to; i++) {
+            if ((FLAGS[bytes[i] & 0xFF] & flags) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isAlpha(byte[] bytes) {
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if ((word & HIGH) == 0) {
+                if (letters(word) != HIGH) {
+                    return false;
+                }
+            }
+            else if (! all(bytes, i, i + 8, LETTER)) {
+                return false;
+            }
+        }
+        return all(bytes, words, bytes.length, LETTER);
+    }
+
+    static boolean isAlphanumeric(byte[] bytes) {
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if ((word & HIGH) == 0) {
+                if ((letters(word) | digits(word)) != HIGH) {
+                    return false;
+                }
+            }
+            else if (! all(bytes, i, i + 8, LETTER | DIGIT)) {
+                return false;
+            }
+        }
+        return all(bytes, words, bytes.length, LETTER | DIGIT);
+    }
+
+    static boolean isNumeric(byte[] bytes) {
+        // there are no non-ASCII digits in Latin-1
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if (((word & HIGH) != 0) || (digits(word) != HIGH)) {
+                return false;
+            }
+        }
+        return all(bytes, words, bytes.length, DIGIT);
+    }
+
+    static boolean isWhitespace(byte[] bytes) {
+        // there are no non-ASCII whitespace characters in Latin-1
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if (((word & HIGH) != 0) || (whitespaces(word) != HIGH)) {
+                return false;
+            }
+        }
+        return all(bytes, words, bytes.length, WHITESPACE);
+    }
+
+    static boolean isAsciiPrintable(byte[] bytes) {
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if (((word & HIGH) != 0) || (inRange(word, ' ', '~') != HIGH)) {
+                return false;
+            }
+        }
+        for (int i = words; i < bytes.length; i++) {
+            int c = bytes[i] & 0xFF;
+            if ((c < 32) || (c >= 127)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isMixedCase(byte[] bytes) {
+        boolean upper = false;
+        boolean lower = false;
+        int words = bytes.length & ~ 7;
+        for (int i = 0; i < words; i += 8) {
+            long word = (long) LONGS.get(bytes, i);
+            if ((word & HIGH) == 0) {
+                upper |= inRange(word, 'A', 'Z') != 0;
+                lower |= inRange(word, 'a', 'z') != 0;
+            }
+            else {
+                for (int j = i; j < (i + 8); j++) {
+                    int flags = FLAGS[bytes[j] & 0xFF];
+                    upper |= (flags & UPPER) != 0;
+                    lower |= (flags & LOWER) != 0;
+                }
+            }
+            if (upper && lower) {
+                return true;
+            }
+        }
+        for (int i = words; i < bytes.length; i++) {
+            int flags = FLAGS[bytes[i] & 0xFF];
+            upper |= (flags & UPPER) != 0;
+            lower |= (flags & LOWER) != 0;
+        }
+        return upper && lower;
+    }
+
+    /**
+     * Creates 256-bit set of given Latin-1 characters, other characters are ignored as they can't be in Latin-1 string.
+     *
+     * @param chars characters to include.
+     *
+     * @return set of characters.
+     */
+    static long[] set(char[] chars) {
+        long[] set = new long[4];
+        for (char c: chars) {
+            if (c < 256) {
+                set[c >>> 6] |= 1L << c;
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns true if all bytes are in given set, when {@code expected} is true, or none of them when it is false.
+     */
+    static boolean all(byte[] bytes, long[] set, boolean expected) {
+        for (byte b: bytes) {
+            int c = b & 0xFF;
+            if (((set[c >>> 6] & (1L << c)) != 0) != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,364 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes Levenshtein distance between one pattern and many texts, using bit-parallel algorithm of Myers (in formulation of Hyyr&ouml;).
+ * <br>
+ * Patterns up to 64 characters are processed as single word, so each character of text costs few bitwise operations, longer patterns
+ * are split into blocks of 64 characters. Bounded variants stop as soon as distance can't fit in given threshold. <br>
+ * Matcher keeps its working arrays between calls, and can be reused for other pattern using {@link #reset(CharSequence)}, so it should be
+ * created once, e.g. for each dictionary search. <br>
+ * Matcher is not thread safe.
+ */
+public final class LevenshteinMatcher {
+    private static final int BLOCK_BITS = 64;
+
+    private char[] pattern = new char[0];
+    private int    length;
+    private int    blocks;
+
+    /**
+     * Row of {@link #masks} for each Latin-1 character, 0 if character is not in pattern.
+     */
+    private final int[]  latin1Rows = new int[256];
+    /**
+     * Open addressing table of other characters of pattern and their rows.
+     */
+    private       char[] keys       = new char[0];
+    private       int[]  keyRows    = new int[0];
+    /**
+     * Bit masks of pattern positions for each distinct character, {@link #blocks} longs per row, row 0 is always empty.
+     */
+    private       long[] masks      = new long[0];
+    private       int    rows;
+
+    // working vectors of blocked variant.
+    private long[] positive = new long[0];
+    private long[] negative = new long[0];
+
+    private LevenshteinMatcher() {}
+
+    /**
+     * Creates matcher for given pattern.
+     *
+     * @param pattern pattern to compare texts with.
+     *
+     * @return new matcher.
+     */
+    public static LevenshteinMatcher of(CharSequence pattern) {
+        return new LevenshteinMatcher().reset(pattern);
+    }
+
+    /**
+     * Changes pattern of this matcher, reusing its arrays if possible.
+     *
+     * @param pattern new pattern.
+     *
+     * @return this matcher.
+     */
+    public LevenshteinMatcher reset(CharSequence pattern) {
+        // clear only rows of previous pattern.
+        for (int i = 0; i < this.length; i++) {
+            char c = this.pattern[i];
+            if (c < 256) {
+                this.latin1Rows[c] = 0;
+            }
+        }
+        Arrays.fill(this.masks, 0, Math.min(this.masks.length, (this.rows + 1) * this.blocks), 0);
+
+        int length = pattern.length();
+        int blocks = (length + BLOCK_BITS - 1) / BLOCK_BITS;
+        if (this.pattern.length < length) {
+            this.pattern = new char[length];
+        }
+        this.length = length;
+        this.blocks = blocks;
+        this.rows = 0;
+
+        int other = 0;
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            this.pattern[i] = c;
+            if (c >= 256) {
+                other++;
+            }
+        }
+        int capacity = (other == 0) ? 0 : Integer.highestOneBit(other * 2 - 1) << 1;
+        if (this.keys.length < capacity) {
+            this.keys = new char[capacity];
+            this.keyRows = new int[capacity];
+        }
+        else {
+            Arrays.fill(this.keys, (char) 0);
+        }
+        // rows are assigned first, so masks are sized by number of distinct characters, not by pattern length.
+        for (int i = 0; i < length; i++) {
+            this.rowFor(this.pattern[i]);
+        }
+        int size = (this.rows + 1) * blocks;
+        if (this.masks.length < size) {
+            this.masks = new long[size];
+        }
+        if (this.positive.length < blocks) {
+            this.positive = new long[blocks];
+            this.negative = new long[blocks];
+        }
+
+        for (int i = 0; i < length; i++) {
+            int row = this.row(this.pattern[i]);
+            this.masks[(row * blocks) + (i / BLOCK_BITS)] |= 1L << i;
+        }
+        return this;
+    }
+
+    private int rowFor(char c) {
+        if (c < 256) {
+            int row = this.latin1Rows[c];
+            if (row == 0) {
+                this.latin1Rows[c] = row = ++ this.rows;
+            }
+            return row;
+        }
+        char[] keys = this.keys;
+        int mask = keys.length - 1;
+        for (int i = c & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == c) {
+                return this.keyRows[i];
+            }
+            if (keys[i] == 0) {
+                keys[i] = c;
+                return this.keyRows[i] = ++ this.rows;
+            }
+        }
+    }
+
+    private int row(char c) {
+        if (c < 256) {
+            return this.latin1Rows[c];
+        }
+        char[] keys = this.keys;
+        if (keys.length == 0) {
+            return 0;
+        }
+        int mask = keys.length - 1;
+        for (int i = c & mask; ; i = (i + 1) & mask) {
+            char key = keys[i];
+            if (key == c) {
+                return this.keyRows[i];
+            }
+            if (key == 0) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns length of current pattern.
+     *
+     * @return length of current pattern.
+     */
+    public int getPatternLength() {
+        return this.length;
+    }
+
+    /**
+     * Returns Levenshtein distance between pattern and given text.
+     *
+     * @param text text to compare with pattern.
+     *
+     * @return distance between pattern and text.
+     */
+    public int distance(CharSequence text) {
+        return this.distance(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns Levenshtein distance between pattern and given text, if it is less than or equal to given threshold.
+     *
+     * @param text text to compare with pattern.
+     * @param threshold the maximum distance, must not be negative.
+     *
+     * @return distance between pattern and text, or {@code -1} if it is greater than threshold.
+     *
+     * @throws IllegalArgumentException if threshold is negative.
+     */
+    public int distance(CharSequence text, int threshold) throws IllegalArgumentException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        int textLength = text.length();
+        if (Math.abs(textLength - this.length) > threshold) {
+            return - 1;
+        }
+        if (this.length == 0) {
+            return textLength;
+        }
+        if (textLength == 0) {
+            return this.length;
+        }
+        if (this.blocks == 1) {
+            return this.distanceWord(text, textLength, threshold);
+        }
+        return this.distanceBlocks(text, textLength, threshold);
+    }
+
+    private int distanceWord(CharSequence text, int textLength, int threshold) {
+        long[] masks = this.masks;
+        long last = 1L << (this.length - 1);
+        long positive = - 1L;
+        long negative = 0;
+        int score = this.length;
+        for (int j = 0; j < textLength; j++) {
+            long eq = masks[this.row(text.charAt(j))];
+            long xv = eq | negative;
+            long xh = (((eq & positive) + positive) ^ positive) | eq;
+            long ph = negative | ~ (xh | positive);
+            long mh = positive & xh;
+            if ((ph & last) != 0) {
+                score++;
+            }
+            else if ((mh & last) != 0) {
+                score--;
+            }
+            // each remaining character can lower distance by at most one.
+            if ((score - (textLength - j - 1)) > threshold) {
+                return - 1;
+            }
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            positive = mh | ~ (xv | ph);
+            negative = ph & xv;
+        }
+        return (score <= threshold) ? score : - 1;
+    }
+
+    private int distanceBlocks(CharSequence text, int textLength, int threshold) {
+        int blocks = this.blocks;
+        long[] masks = this.masks;
+        long[] positives = this.positive;
+        long[] negatives = this.negative;
+        Arrays.fill(positives, 0, blocks, - 1L);
+        Arrays.fill(negatives, 0, blocks, 0);
+        long last = 1L << ((this.length - 1) & (BLOCK_BITS - 1));
+        int lastBlock = blocks - 1;
+        int score = this.length;
+        for (int j = 0; j < textLength; j++) {
+            int offset = this.row(text.charAt(j)) * blocks;
+            // horizontal delta entering the block, top row of matrix always increases.
+            int carry = 1;
+            for (int b = 0; b < blocks; b++) {
+                long eq = masks[offset + b];
+                long positive = positives[b];
+                long negative = negatives[b];
+                long xv = eq | negative;
+                if (carry < 0) {
+                    eq |= 1;
+                }
+                long xh = (((eq & positive) + positive) ^ positive) | eq;
+                long ph = negative | ~ (xh | positive);
+                long mh = positive & xh;
+                long high = (b == lastBlock) ? last : Long.MIN_VALUE;
+                int out = ((ph & high) != 0) ? 1 : (((mh & high) != 0) ? - 1 : 0);
+                ph <<= 1;
+                mh <<= 1;
+                if (carry < 0) {
+                    mh |= 1;
+                }
+                else if (carry > 0) {
+                    ph |= 1;
+                }
+                positives[b] = mh | ~ (xv | ph);
+                negatives[b] = ph & xv;
+                carry = out;
+            }
+            score += carry;
+            if ((score - (textLength - j - 1)) > threshold) {
+                return - 1;
+            }
+        }
+        return (score <= threshold) ? score : - 1;
+    }
+
+    /**
+     * Finds candidate closest to pattern, ties are resolved by order of candidates.
+     *
+     * @param candidates candidates to compare with pattern.
+     * @param threshold the maximum distance of returned candidate, must not be negative.
+     * @param <T> type of candidates.
+     *
+     * @return closest candidate, or null if there is no candidate within threshold.
+     *
+     * @throws IllegalArgumentException if threshold is negative.
+     */
+    @Nullable
+    public <T extends CharSequence> T closest(Iterable<? extends T> candidates, int threshold) throws IllegalArgumentException {
+        List<T> closest = this.closest(candidates, 1, threshold);
+        return closest.isEmpty() ? null : closest.get(0);
+    }
+
+    /**
+     * Finds up to {@code limit} candidates closest to pattern, sorted by their distance, ties are resolved by order of candidates. <br>
+     * Threshold is lowered while searching, once enough candidates were found, so bounded distance can skip most of candidates early.
+     *
+     * @param candidates candidates to compare with pattern.
+     * @param limit maximum number of returned candidates.
+     * @param threshold the maximum distance of returned candidates, must not be negative.
+     * @param <T> type of candidates.
+     *
+     * @return closest candidates, from the closest one.
+     *
+     * @throws IllegalArgumentException if limit or threshold is negative.
+     */
+    public <T extends CharSequence> List<T> closest(Iterable<? extends T> candidates, int limit, int threshold)
+            throws IllegalArgumentException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        if (limit == 0) {
+            return new ArrayList<>(0);
+        }
+        // best candidates, sorted by distance, new candidate must be strictly better than the worst one.
+        List<T> found = new ArrayList<>(Math.min(limit, 16));
+        int[] distances = new int[Math.min(limit, 16)];
+        for (T candidate : candidates) {
+            int distance = this.distance(candidate, threshold);
+            if (distance == - 1) {
+                continue;
+            }
+            int size = found.size();
+            int index = size;
+            while ((index > 0) && (distances[index - 1] > distance)) {
+                index--;
+            }
+            if (size == limit) {
+                found.remove(size - 1);
+                size--;
+            }
+            else if (size == distances.length) {
+                distances = Arrays.copyOf(distances, Math.min(limit, size * 2));
+            }
+            System.arraycopy(distances, index, distances, index + 1, size - index);
+            distances[index] = distance;
+            found.add(index, candidate);
+            if (found.size() == limit) {
+                threshold = distances[limit - 1] - 1;
+                if (threshold < 0) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public String toString() {
+        return "LevenshteinMatcher{pattern=" + new String(this.pattern, 0, this.length) + "}";
+    }
+}
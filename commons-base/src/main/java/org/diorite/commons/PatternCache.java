@@ -0,0 +1,170 @@
+package org.diorite.commons;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded LRU cache of compiled {@link Pattern}s, shared by regular expression helpers of {@link StringUtils}. <br>
+ * Compiling pattern is much more expensive than single lookup in synchronized map, so cache is used for every regular expression, and
+ * least recently used patterns are removed when cache is full.
+ */
+public final class PatternCache {
+    /**
+     * Default maximum amount of cached patterns.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static volatile int capacity = DEFAULT_CAPACITY;
+
+    private static final LongAdder hits   = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private static final Map<Key, Pattern> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+            return this.size() > capacity;
+        }
+    };
+
+    private PatternCache() {}
+
+    /**
+     * Returns cached pattern for given regular expression, or compiles and caches new one.
+     *
+     * @param regex the expression to be compiled.
+     *
+     * @return compiled pattern.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid.
+     */
+    public static Pattern compile(String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Returns cached pattern for given regular expression and flags, or compiles and caches new one.
+     *
+     * @param regex the expression to be compiled.
+     * @param flags match flags, see {@link Pattern#compile(String, int)}.
+     *
+     * @return compiled pattern.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid.
+     */
+    public static Pattern compile(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern;
+        synchronized (cache) {
+            pattern = cache.get(key);
+        }
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+        misses.increment();
+        // compiled outside of lock, at worst the same pattern is compiled twice.
+        pattern = Pattern.compile(regex, flags);
+        synchronized (cache) {
+            cache.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Removes all cached patterns.
+     */
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns amount of currently cached patterns.
+     *
+     * @return amount of cached patterns.
+     */
+    public static int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns amount of lookups that returned cached pattern.
+     *
+     * @return amount of cache hits.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns amount of lookups that had to compile pattern.
+     *
+     * @return amount of cache misses.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns maximum amount of cached patterns.
+     *
+     * @return maximum amount of cached patterns.
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set maximum amount of cached patterns, least recently used patterns are removed if there are more cached patterns.
+     *
+     * @param capacity maximum amount of cached patterns.
+     *
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public static void setCapacity(int capacity) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        PatternCache.capacity = capacity;
+        synchronized (cache) {
+            Iterator<Key> iterator = cache.keySet().iterator();
+            while ((cache.size() > capacity) && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String regex;
+        private final int    flags;
+
+        private Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (! (object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return (this.flags == key.flags) && this.regex.equals(key.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.regex.hashCode()) + this.flags;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.diorite.commons;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small shared pool of {@link StringBuilder} instances, used by {@link StringUtils} and
+ * {@link org.diorite.commons.object.ToStringHelper} to avoid allocating new builder for each built string. <br>
+ * Pool does not use thread locals: builders are kept in few slots selected by id of current thread, and taken from them using atomic
+ * operations, so it works the same for any amount of (short living) threads, and a thread never keeps builders it does not use. <br>
+ * Builders with capacity above {@link #getMaxCapacity()} are never pooled, so single large string does not keep memory forever. <br>
+ * Builder must not be used after it was recycled.
+ */
+public final class StringBuilderPool {
+    /**
+     * Default maximum capacity of pooled builder.
+     */
+    public static final int DEFAULT_MAX_CAPACITY = 8192;
+
+    private static volatile int maxCapacity = DEFAULT_MAX_CAPACITY;
+
+    private static final AtomicReferenceArray<StringBuilder> slots;
+    private static final int                                 mask;
+
+    private static final LongAdder reused    = new LongAdder();
+    private static final LongAdder created   = new LongAdder();
+    private static final LongAdder discarded = new LongAdder();
+
+    static {
+        int size = Integer.highestOneBit((Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    private StringBuilderPool() {}
+
+    private static int slot() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Borrows empty builder from pool, or creates new one if there is no free builder.
+     *
+     * @return empty builder.
+     */
+    public static StringBuilder borrow() {
+        return borrow(16);
+    }
+
+    /**
+     * Borrows empty builder from pool, or creates new one if there is no free builder.
+     *
+     * @param capacity minimum capacity of builder.
+     *
+     * @return empty builder.
+     */
+    public static StringBuilder borrow(int capacity) {
+        int slot = slot();
+        StringBuilder builder = slots.get(slot);
+        if ((builder != null) && slots.compareAndSet(slot, builder, null)) {
+            reused.increment();
+            builder.ensureCapacity(capacity);
+            return builder;
+        }
+        created.increment();
+        return new StringBuilder(Math.max(capacity, 16));
+    }
+
+    /**
+     * Returns builder to pool, builder must not be used after this call.
+     *
+     * @param builder builder to recycle.
+     */
+    public static void recycle(StringBuilder builder) {
+        if (builder.capacity() > maxCapacity) {
+            discarded.increment();
+            return;
+        }
+        builder.setLength(0);
+        int slot = slot();
+        if (slots.get(slot) == null) {
+            slots.compareAndSet(slot, null, builder);
+        }
+    }
+
+    /**
+     * Returns content of builder and returns builder to pool, builder must not be used after this call.
+     *
+     * @param builder builder to recycle.
+     *
+     * @return content of builder.
+     */
+    public static String toStringAndRecycle(StringBuilder builder) {
+        String result = builder.toString();
+        recycle(builder);
+        return result;
+    }
+
+    /**
+     * Returns maximum capacity of builder that can be pooled.
+     *
+     * @return maximum capacity of builder that can be pooled.
+     */
+    public static int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Set maximum capacity of builder that can be pooled, 0 disables pooling.
+     *
+     * @param maxCapacity maximum capacity of builder that can be pooled.
+     *
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public static void setMaxCapacity(int maxCapacity) throws IllegalArgumentException {
+        if (maxCapacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative: " + maxCapacity);
+        }
+        StringBuilderPool.maxCapacity = maxCapacity;
+        if (maxCapacity == 0) {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Returns amount of borrowed builders that were taken from pool.
+     *
+     * @return amount of reused builders.
+     */
+    public static long getReused() {
+        return reused.sum();
+    }
+
+    /**
+     * Returns amount of borrowed builders that had to be created.
+     *
+     * @return amount of created builders.
+     */
+    public static long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * Returns amount of builders that were not pooled as they were too large.
+     *
+     * @return amount of discarded builders.
+     */
+    public static long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * Returns part of borrowed builders that were taken from pool, from 0 to 1.
+     *
+     * @return recycle rate of pool.
+     */
+    public static double getRecycleRate() {
+        long reused = StringBuilderPool.reused.sum();
+        long total = reused + created.sum();
+        return (total == 0) ? 0 : ((double) reused / total);
+    }
+}
@@ -0,0 +1,437 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compiled set of strings that can be searched for in single pass over text, using Aho–Corasick automaton. <br>
+ * Matches are resolved using leftmost-first semantics: match starting at lowest index wins, and if more patterns start at the same
+ * index, the one that was first on pattern list is used, so results are the same as when searching for each pattern separately and
+ * picking the earliest one. <br>
+ * When patterns use small alphabet, automaton is compiled to single packed transition table (DFA), otherwise sparse trie with failure
+ * links is used. <br>
+ * Matcher is immutable and thread safe, it should be created once and reused.
+ *
+ * @see StringReplacer
+ */
+public final class StringMatcher {
+    /**
+     * Maximum size of packed transition table, in entries.
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+    private static final int ROOT           = 0;
+
+    private final String[] patterns;
+    private final int[]    lengths;
+    private final int      emptyPattern;
+
+    // automaton, indexed by state
+    private final int[] depth;
+    /**
+     * Index of longest pattern ending in given state (including patterns reachable by failure links), or -1.
+     */
+    private final int[] output;
+
+    // sparse automaton
+    @Nullable
+    private final char[][] keys;
+    @Nullable
+    private final int[][]  children;
+    @Nullable
+    private final int[]    failure;
+
+    // packed automaton
+    @Nullable
+    private final int[]  table;
+    private final int    width;
+    private final char[] alphabet;
+    private final int[]  asciiClasses;
+
+    private StringMatcher(CharSequence[] patterns) {
+        this.patterns = new String[patterns.length];
+        this.lengths = new int[patterns.length];
+        Trie trie = new Trie();
+        int empty = - 1;
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i] == null) {
+                continue;
+            }
+            String pattern = patterns[i].toString();
+            this.patterns[i] = pattern;
+            this.lengths[i] = pattern.length();
+            if (pattern.length() == 0) {
+                if (empty == - 1) {
+                    empty = i;
+                }
+                continue;
+            }
+            trie.add(pattern, i);
+        }
+        this.emptyPattern = empty;
+        int[] order = trie.link();
+        this.depth = Arrays.copyOf(trie.depth, trie.size);
+        this.output = trie.output(order);
+
+        this.alphabet = trie.alphabet();
+        this.asciiClasses = new int[128];
+        for (int i = 0; i < this.alphabet.length; i++) {
+            if (this.alphabet[i] < 128) {
+                this.asciiClasses[this.alphabet[i]] = i + 1;
+            }
+        }
+        this.width = this.alphabet.length + 1;
+        if (((long) this.width * trie.size) <= MAX_TABLE_SIZE) {
+            this.table = trie.table(order, this.width, this::classOf);
+            this.keys = null;
+            this.children = null;
+            this.failure = null;
+        }
+        else {
+            this.table = null;
+            this.keys = Arrays.copyOf(trie.keys, trie.size);
+            this.children = Arrays.copyOf(trie.children, trie.size);
+            this.failure = Arrays.copyOf(trie.failure, trie.size);
+        }
+    }
+
+    /**
+     * Compiles matcher for given patterns. <br>
+     * Null patterns are ignored, empty pattern matches at any index.
+     *
+     * @param patterns patterns to search for, order of patterns defines their priority.
+     *
+     * @return compiled matcher.
+     */
+    public static StringMatcher compile(CharSequence... patterns) {
+        return new StringMatcher(patterns);
+    }
+
+    /**
+     * Compiles matcher for given patterns. <br>
+     * Null patterns are ignored, empty pattern matches at any index.
+     *
+     * @param patterns patterns to search for, order of patterns defines their priority.
+     *
+     * @return compiled matcher.
+     */
+    public static StringMatcher compile(Collection<? extends CharSequence> patterns) {
+        return new StringMatcher(patterns.toArray(new CharSequence[patterns.size()]));
+    }
+
+    /**
+     * Returns number of patterns used by this matcher, including ignored null patterns.
+     *
+     * @return number of patterns.
+     */
+    public int getPatternCount() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Returns pattern at given index.
+     *
+     * @param index index of pattern.
+     *
+     * @return pattern at given index.
+     */
+    @Nullable
+    public String getPattern(int index) {
+        return this.patterns[index];
+    }
+
+    /**
+     * Returns true if any of patterns occurs in given text.
+     *
+     * @param text text to search in, may be null.
+     *
+     * @return true if any of patterns occurs in given text.
+     */
+    public boolean contains(@Nullable CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        if (this.emptyPattern != - 1) {
+            return true;
+        }
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = this.next(state, text.charAt(i));
+            if (this.output[state] != - 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns first index of any of patterns in given text.
+     *
+     * @param text text to search in, may be null.
+     *
+     * @return first index of any of patterns or -1 if not found.
+     */
+    public int indexOf(@Nullable CharSequence text) {
+        return this.indexOf(text, 0);
+    }
+
+    /**
+     * Returns first index of any of patterns in given text, starting at given index.
+     *
+     * @param text text to search in, may be null.
+     * @param fromIndex index to start searching from.
+     *
+     * @return first index of any of patterns or -1 if not found.
+     */
+    public int indexOf(@Nullable CharSequence text, int fromIndex) {
+        if (text == null) {
+            return - 1;
+        }
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (this.emptyPattern != - 1) {
+            return (fromIndex <= text.length()) ? fromIndex : - 1;
+        }
+        long match = this.find(text, fromIndex);
+        return (match == - 1) ? - 1 : start(match);
+    }
+
+    /**
+     * Finds leftmost-first match of non-empty pattern in given text, starting at given index.
+     *
+     * @param text text to search in.
+     * @param fromIndex index to start searching from.
+     *
+     * @return match packed as {@code start << 32 | patternIndex}, or -1 if not found.
+     */
+    long find(CharSequence text, int fromIndex) {
+        int[] output = this.output;
+        int[] depth = this.depth;
+        int[] lengths = this.lengths;
+        int bestPattern = - 1;
+        int bestStart = 0;
+        int state = ROOT;
+        for (int i = fromIndex, length = text.length(); i < length; i++) {
+            state = this.next(state, text.charAt(i));
+            int pattern = output[state];
+            if (pattern != - 1) {
+                int start = (i + 1) - lengths[pattern];
+                if ((bestPattern == - 1) || (start < bestStart) || ((start == bestStart) && (pattern < bestPattern))) {
+                    bestPattern = pattern;
+                    bestStart = start;
+                }
+            }
+            // any later match must start at or after (i + 1 - depth), so current best can't be beaten anymore.
+            if ((bestPattern != - 1) && (bestStart < ((i + 1) - depth[state]))) {
+                break;
+            }
+        }
+        return (bestPattern == - 1) ? - 1 : (((long) bestStart << 32) | bestPattern);
+    }
+
+    static int start(long match) {
+        return (int) (match >>> 32);
+    }
+
+    static int pattern(long match) {
+        return (int) match;
+    }
+
+    private int next(int state, char c) {
+        int[] table = this.table;
+        if (table != null) {
+            return table[(state * this.width) + this.classOf(c)];
+        }
+        char[][] keys = this.keys;
+        int[][] children = this.children;
+        int[] failure = this.failure;
+        while (true) {
+            int index = Arrays.binarySearch(keys[state], c);
+            if (index >= 0) {
+                return children[state][index];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return this.asciiClasses[c];
+        }
+        return Math.max(Arrays.binarySearch(this.alphabet, c) + 1, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "StringMatcher{patterns=" + Arrays.toString(this.patterns) + ", states=" + this.depth.length + ", packed=" +
+               (this.table != null) + "}";
+    }
+
+    /**
+     * Mutable trie used to build automaton.
+     */
+    private static final class Trie {
+        private static final char[] NO_KEYS     = {};
+        private static final int[]  NO_CHILDREN = {};
+
+        private char[][] keys     = new char[16][];
+        private int[][]  children = new int[16][];
+        private int[]    depth    = new int[16];
+        private int[]    failure  = new int[16];
+        private int[]    pattern  = new int[16];
+        private int      size;
+
+        private Trie() {
+            this.newState(0);
+        }
+
+        private int newState(int depth) {
+            if (this.size == this.keys.length) {
+                int capacity = this.size << 1;
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.children = Arrays.copyOf(this.children, capacity);
+                this.depth = Arrays.copyOf(this.depth, capacity);
+                this.failure = Arrays.copyOf(this.failure, capacity);
+                this.pattern = Arrays.copyOf(this.pattern, capacity);
+            }
+            int state = this.size++;
+            this.keys[state] = NO_KEYS;
+            this.children[state] = NO_CHILDREN;
+            this.depth[state] = depth;
+            this.pattern[state] = - 1;
+            return state;
+        }
+
+        private int child(int state, char c) {
+            int index = Arrays.binarySearch(this.keys[state], c);
+            return (index >= 0) ? this.children[state][index] : - 1;
+        }
+
+        private void add(CharSequence text, int patternIndex) {
+            int state = ROOT;
+            for (int i = 0, length = text.length(); i < length; i++) {
+                char c = text.charAt(i);
+                char[] keys = this.keys[state];
+                int index = Arrays.binarySearch(keys, c);
+                if (index >= 0) {
+                    state = this.children[state][index];
+                    continue;
+                }
+                int child = this.newState(i + 1);
+                int insert = - index - 1;
+                int[] children = this.children[state];
+                char[] newKeys = new char[keys.length + 1];
+                int[] newChildren = new int[keys.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, insert);
+                System.arraycopy(children, 0, newChildren, 0, insert);
+                newKeys[insert] = c;
+                newChildren[insert] = child;
+                System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+                System.arraycopy(children, insert, newChildren, insert + 1, keys.length - insert);
+                this.keys[state] = newKeys;
+                this.children[state] = newChildren;
+                state = child;
+            }
+            // duplicated pattern, first one wins
+            if (this.pattern[state] == - 1) {
+                this.pattern[state] = patternIndex;
+            }
+        }
+
+        /**
+         * Computes failure links in breadth-first order.
+         *
+         * @return states in breadth-first order.
+         */
+        private int[] link() {
+            int[] order = new int[this.size];
+            int count = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>(this.size);
+            queue.add(ROOT);
+            while (! queue.isEmpty()) {
+                int state = queue.poll();
+                order[count++] = state;
+                char[] keys = this.keys[state];
+                int[] children = this.children[state];
+                for (int i = 0; i < keys.length; i++) {
+                    int child = children[i];
+                    if (state == ROOT) {
+                        this.failure[child] = ROOT;
+                    }
+                    else {
+                        int fallback = this.failure[state];
+                        int target;
+                        while (((target = this.child(fallback, keys[i])) == - 1) && (fallback != ROOT)) {
+                            fallback = this.failure[fallback];
+                        }
+                        this.failure[child] = (target == - 1) ? ROOT : target;
+                    }
+                    queue.add(child);
+                }
+            }
+            return order;
+        }
+
+        /**
+         * Computes longest pattern ending in each state, following failure links.
+         */
+        private int[] output(int[] order) {
+            int[] output = new int[this.size];
+            output[ROOT] = - 1;
+            for (int i = 1; i < order.length; i++) {
+                int state = order[i];
+                int own = this.pattern[state];
+                output[state] = (own != - 1) ? own : output[this.failure[state]];
+            }
+            return output;
+        }
+
+        private char[] alphabet() {
+            int count = 0;
+            for (int state = 0; state < this.size; state++) {
+                count += this.keys[state].length;
+            }
+            char[] chars = new char[count];
+            int index = 0;
+            for (int state = 0; state < this.size; state++) {
+                char[] keys = this.keys[state];
+                System.arraycopy(keys, 0, chars, index, keys.length);
+                index += keys.length;
+            }
+            Arrays.sort(chars);
+            int unique = 0;
+            for (int i = 0; i < chars.length; i++) {
+                if ((i == 0) || (chars[i] != chars[i - 1])) {
+                    chars[unique++] = chars[i];
+                }
+            }
+            return Arrays.copyOf(chars, unique);
+        }
+
+        private int[] table(int[] order, int width, CharClassifier classifier) {
+            int[] table = new int[this.size * width];
+            for (int state: order) {
+                int row = state * width;
+                if (state != ROOT) {
+                    System.arraycopy(table, this.failure[state] * width, table, row, width);
+                }
+                char[] keys = this.keys[state];
+                int[] children = this.children[state];
+                for (int i = 0; i < keys.length; i++) {
+                    table[row + classifier.classOf(keys[i])] = children[i];
+                }
+            }
+            return table;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CharClassifier {
+        int classOf(char c);
+    }
+}
@@ -0,0 +1,162 @@
+package org.diorite.commons;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compiled list of strings and their replacements, that replaces all of them in single pass over text, using {@link StringMatcher}.
+ * <br>
+ * Replacement is not recursive, replaced text is never searched again, and matches are resolved using leftmost-first semantics, so
+ * results are the same as in {@link StringUtils#replaceEach(String, String[], String[])}. <br>
+ * Replacer is immutable and thread safe, it should be created once and reused.
+ */
+public final class StringReplacer {
+    private final StringMatcher matcher;
+    private final String[]      replacements;
+    /**
+     * Size increase of result buffer, computed like in {@link StringUtils#replaceEach(String, String[], String[])}.
+     */
+    private final int           increase;
+
+    private StringReplacer(StringMatcher matcher, String[] replacements, int increase) {
+        this.matcher = matcher;
+        this.replacements = replacements;
+        this.increase = increase;
+    }
+
+    /**
+     * Compiles replacer for given search and replacement lists. <br>
+     * Search strings that are null or empty, and search strings without replacement are ignored.
+     *
+     * @param searchList strings to search for, order of strings defines their priority.
+     * @param replacementList strings to replace them with.
+     *
+     * @return compiled replacer.
+     *
+     * @throws IllegalArgumentException if the lengths of the arrays are not the same.
+     */
+    public static StringReplacer compile(String[] searchList, String[] replacementList) throws IllegalArgumentException {
+        if (searchList.length != replacementList.length) {
+            throw new IllegalArgumentException("Search and Replace array lengths don't match: " + searchList.length + " vs " +
+                                               replacementList.length);
+        }
+        String[] patterns = new String[searchList.length];
+        int increase = 0;
+        for (int i = 0; i < searchList.length; i++) {
+            String search = searchList[i];
+            String replacement = replacementList[i];
+            if ((search == null) || search.isEmpty() || (replacement == null)) {
+                continue;
+            }
+            patterns[i] = search;
+            int greater = replacement.length() - search.length();
+            if (greater > 0) {
+                increase += 3 * greater; // assume 3 matches
+            }
+        }
+        return new StringReplacer(StringMatcher.compile(patterns), replacementList.clone(), increase);
+    }
+
+    /**
+     * Returns matcher used by this replacer.
+     *
+     * @return matcher used by this replacer.
+     */
+    public StringMatcher getMatcher() {
+        return this.matcher;
+    }
+
+    /**
+     * Replaces all occurrences of search strings in given text.
+     *
+     * @param text text to search and replace in, may be null.
+     *
+     * @return the text with any replacements processed, or the same text instance if nothing was replaced.
+     */
+    @Nullable
+    public String replace(@Nullable String text) {
+        if ((text == null) || text.isEmpty()) {
+            return text;
+        }
+        long match = this.matcher.find(text, 0);
+        if (match == - 1) {
+            return text;
+        }
+        // have upper-bound at 20% increase, then let Java take over
+        StringBuilder result = StringBuilderPool.borrow(text.length() + Math.min(this.increase, text.length() / 5));
+        this.replace(text, match, result);
+        return StringBuilderPool.toStringAndRecycle(result);
+    }
+
+    /**
+     * Replaces all occurrences of search strings in given text, and appends result to given builder.
+     *
+     * @param text text to search and replace in.
+     * @param output builder to append result to.
+     *
+     * @return true if anything was replaced.
+     */
+    public boolean replace(CharSequence text, StringBuilder output) {
+        long match = this.matcher.find(text, 0);
+        if (match == - 1) {
+            output.append(text);
+            return false;
+        }
+        this.replace(text, match, output);
+        return true;
+    }
+
+    private void replace(CharSequence text, long match, StringBuilder output) {
+        int start = 0;
+        while (match != - 1) {
+            int matchStart = StringMatcher.start(match);
+            int pattern = StringMatcher.pattern(match);
+            output.append(text, start, matchStart).append(this.replacements[pattern]);
+            start = matchStart + this.matcher.getPattern(pattern).length();
+            match = this.matcher.find(text, start);
+        }
+        output.append(text, start, text.length());
+    }
+
+    /**
+     * Replaces all occurrences of search strings in given text, repeatedly until there is nothing to replace.
+     *
+     * @param text text to search and replace in, may be null.
+     *
+     * @return the text with any replacements processed.
+     *
+     * @throws IllegalStateException if there is an endless loop due to outputs of one being inputs to another.
+     */
+    @Nullable
+    public String replaceRepeatedly(@Nullable String text) throws IllegalStateException {
+        // same limit as in StringUtils, each search string can be replaced once per round.
+        return this.replaceRepeatedly(text, this.replacements.length);
+    }
+
+    /**
+     * Replaces all occurrences of search strings in given text, repeatedly until there is nothing to replace, at most
+     * {@code timeToLive + 1} times.
+     */
+    @Nullable
+    String replaceRepeatedly(@Nullable String text, int timeToLive) throws IllegalStateException {
+        for (; ; timeToLive--) {
+            if ((text == null) || text.isEmpty()) {
+                return text;
+            }
+            if (timeToLive < 0) {
+                throw new IllegalStateException("Aborting to protect against StackOverflowError - " +
+                                                "output of one loop is the input of another");
+            }
+            String result = this.replace(text);
+            //noinspection StringEquality
+            if (result == text) {
+                return text;
+            }
+            text = result;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StringReplacer{matcher=" + this.matcher + "}";
+    }
+}
@@ -22,6 +22,7 @@ package org.diorite.commons;
  */
 //@formatter:off
 import org.diorite.commons.array.ArrayUtils;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.text.Normalizer;
@@ -180,6 +181,22 @@ public class StringUtils {
      */
     private static final int PAD_LIMIT = 8192;
 
+    /**
+     * Matcher used by {@link #getLevenshteinDistance(CharSequence, CharSequence)}, reused to avoid allocating working arrays.
+     */
+    private static final ThreadLocal<LevenshteinMatcher> LEVENSHTEIN_MATCHER = ThreadLocal.withInitial(() -> LevenshteinMatcher.of(""));
+
+    /**
+     * <p>Longest pattern for which {@link #LEVENSHTEIN_MATCHER} is reused, so it never keeps large arrays.</p>
+     */
+    private static final int LEVENSHTEIN_MATCHER_LIMIT = 256;
+
+    /**
+     * <p>Minimum product of number of search strings and text length for which {@link StringMatcher} or {@link StringReplacer} is
+     * compiled to search for many strings at once, for smaller inputs compiling them costs more than searching for each string.</p>
+     */
+    private static final long COMPILED_SEARCH_THRESHOLD = 1 << 20;
+
     /**
      * <p>{@code StringUtils} instances should NOT be constructed in
      * standard programming. Instead, the class should be used as
@@ -1003,11 +1020,55 @@ public class StringUtils {
         if (input == null) {
             return null;
         }
-        final Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");//$NON-NLS-1$
+        final int length = input.length();
+        int i = 0;
+        while (i < length && input.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            // pure ASCII, nothing to strip
+            return input;
+        }
+        // Latin characters are stripped using precomputed table, other characters need full decomposition
+        final char[] stripped = AccentsTable.TABLE;
+        final char[] chars = input.toCharArray();
+        for (; i < length; i++) {
+            final char ch = chars[i];
+            if (ch >= stripped.length || stripped[ch] == AccentsTable.NONE) {
+                return stripAccentsNormalized(input);
+            }
+            chars[i] = stripped[ch];
+        }
+        return new String(chars);
+    }
+
+    private static String stripAccentsNormalized(final String input) {
         final StringBuilder decomposed = new StringBuilder(Normalizer.normalize(input, Normalizer.Form.NFD));
         convertRemainingAccentCharacters(decomposed);
         // Note that this doesn't correctly remove ligatures...
-        return pattern.matcher(decomposed).replaceAll(StringUtils.EMPTY);
+        return AccentsTable.COMBINING_MARKS.matcher(decomposed).replaceAll(StringUtils.EMPTY);
+    }
+
+    /**
+     * <p>Results of {@link #stripAccents(String)} for single Latin characters, computed once using {@link Normalizer}.</p>
+     */
+    private static final class AccentsTable {
+        private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");//$NON-NLS-1$
+        /**
+         * Marks characters that are not stripped to single character.
+         */
+        private static final char    NONE            = '\uFFFF';
+        /**
+         * Covers Latin-1 Supplement, Latin Extended-A and Latin Extended-B blocks, that don't contain any combining marks.
+         */
+        private static final char[]  TABLE           = new char[0x250];
+
+        static {
+            for (int i = 0; i < TABLE.length; i++) {
+                final String stripped = stripAccentsNormalized(String.valueOf((char) i));
+                TABLE[i] = stripped.length() == 1 ? stripped.charAt(0) : NONE;
+            }
+        }
     }
 
     private static void convertRemainingAccentCharacters(final StringBuilder decomposed) {
@@ -1103,6 +1164,56 @@ public class StringUtils {
         }
     }
 
+    /**
+     * <p>Returns hash code of CharSequence that is consistent with {@link #equalsIgnoreCase(CharSequence, CharSequence)}:
+     * CharSequences equal ignoring case have the same hash code.</p>
+     *
+     * <p>Each character is folded using {@code Character.toLowerCase(Character.toUpperCase(c))}, the same way as
+     * {@link String#equalsIgnoreCase(String)} compares characters, so it does not depend on default locale and it does not
+     * allocate any objects. ASCII characters are folded without {@link Character} lookups.</p>
+     *
+     * <pre>
+     * StringUtils.hashCodeIgnoreCase(null)  = 0
+     * StringUtils.hashCodeIgnoreCase("")    = 0
+     * StringUtils.hashCodeIgnoreCase("abc") = "abc".hashCode()
+     * StringUtils.hashCodeIgnoreCase("ABC") = "abc".hashCode()
+     * </pre>
+     *
+     * @param cs the CharSequence to hash, may be null
+     *
+     * @return case insensitive hash code, or {@code 0} for null input
+     */
+    public static int hashCodeIgnoreCase(final CharSequence cs) {
+        if (cs == null) {
+            return 0;
+        }
+        int hash = 0;
+        final int length = cs.length();
+        for (int i = 0; i < length; i++) {
+            char c = cs.charAt(i);
+            if (c < 0x80) {
+                if ((c >= 'A') && (c <= 'Z')) {
+                    c += 'a' - 'A';
+                }
+                hash = (31 * hash) + c;
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && ((i + 1) < length) && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                // newer Java versions compare supplementary characters as whole code points.
+                final int codePoint = Character.toLowerCase(Character.toUpperCase(Character.toCodePoint(c, cs.charAt(++ i))));
+                if (Character.isBmpCodePoint(codePoint)) {
+                    hash = (31 * hash) + codePoint;
+                }
+                else {
+                    hash = (31 * ((31 * hash) + Character.highSurrogate(codePoint))) + Character.lowSurrogate(codePoint);
+                }
+                continue;
+            }
+            hash = (31 * hash) + Character.toLowerCase(Character.toUpperCase(c));
+        }
+        return hash;
+    }
+
     // Compare
     //-----------------------------------------------------------------------
 
@@ -2376,6 +2487,9 @@ public class StringUtils {
         if (isEmpty(cs) || ArrayUtils.isEmpty(searchCharSequences)) {
             return false;
         }
+        if ((searchCharSequences.length * (long) cs.length()) >= COMPILED_SEARCH_THRESHOLD) {
+            return StringMatcher.compile(searchCharSequences).contains(cs);
+        }
         for (final CharSequence searchCharSequence: searchCharSequences) {
             if (contains(cs, searchCharSequence)) {
                 return true;
@@ -2527,6 +2641,10 @@ public class StringUtils {
         if (valid.length == 0) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.all(latin1, Latin1.set(valid), true);
+        }
         return indexOfAnyBut(cs, valid) == INDEX_NOT_FOUND;
     }
 
@@ -2594,6 +2712,10 @@ public class StringUtils {
         if (cs == null || searchChars == null) {
             return true;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.all(latin1, Latin1.set(searchChars), false);
+        }
         final int csLen = cs.length();
         final int csLast = csLen - 1;
         final int searchLen = searchChars.length;
@@ -2686,9 +2808,12 @@ public class StringUtils {
      * @since 3.0 Changed signature from indexOfAny(String, String[]) to indexOfAny(CharSequence, CharSequence...)
      */
     public static int indexOfAny(final CharSequence str, final CharSequence... searchStrs) {
-        if (str == null || searchStrs == null) {
+        if (str == null || searchStrs == null || searchStrs.length == 0) {
             return INDEX_NOT_FOUND;
         }
+        if ((searchStrs.length * (long) str.length()) >= COMPILED_SEARCH_THRESHOLD) {
+            return StringMatcher.compile(searchStrs).indexOf(str);
+        }
 
         // String's can't have a MAX_VALUEth index.
         int ret = Integer.MAX_VALUE;
@@ -3565,69 +3690,11 @@ public class StringUtils {
         if (str == null) {
             return null;
         }
-
-        final int len = str.length();
-
-        if (len == 0) {
-            return ArrayUtils.EMPTY_STRINGS;
-        }
-
-        if (separator == null || EMPTY.equals(separator)) {
-            // Split on whitespace.
-            return splitWorker(str, null, max, preserveAllTokens);
-        }
-
-        final int separatorLength = separator.length();
-
-        final ArrayList<String> substrings = new ArrayList<>();
-        int numberOfSubstrings = 0;
-        int beg = 0;
-        int end = 0;
-        while (end < len) {
-            end = str.indexOf(separator, beg);
-
-            if (end > - 1) {
-                if (end > beg) {
-                    numberOfSubstrings += 1;
-
-                    if (numberOfSubstrings == max) {
-                        end = len;
-                        substrings.add(str.substring(beg));
-                    }
-                    else {
-                        // The following is OK, because String.substring( beg, end ) excludes
-                        // the character at the position 'end'.
-                        substrings.add(str.substring(beg, end));
-
-                        // Set the starting point for the next search.
-                        // The following is equivalent to beg = end + (separatorLength - 1) + 1,
-                        // which is the right calculation:
-                        beg = end + separatorLength;
-                    }
-                }
-                else {
-                    // We found a consecutive occurrence of the separator, so skip it.
-                    if (preserveAllTokens) {
-                        numberOfSubstrings += 1;
-                        if (numberOfSubstrings == max) {
-                            end = len;
-                            substrings.add(str.substring(beg));
-                        }
-                        else {
-                            substrings.add(EMPTY);
-                        }
-                    }
-                    beg = end + separatorLength;
-                }
-            }
-            else {
-                // String.substring( beg ) goes from 'beg' to the end of the String.
-                substrings.add(str.substring(beg));
-                end = len;
-            }
+        final Tokenizer tokenizer = Tokenizer.onString(separator).limit(max);
+        if (preserveAllTokens) {
+            tokenizer.preserveAllTokens();
         }
-
-        return substrings.toArray(new String[substrings.size()]);
+        return tokenizer.split(str);
     }
 
     // -----------------------------------------------------------------------
@@ -3714,37 +3781,14 @@ public class StringUtils {
      * @return an array of parsed Strings, {@code null} if null String input
      */
     private static String[] splitWorker(final String str, final char separatorChar, final boolean preserveAllTokens) {
-        // Performance tuned for 2.0 (JDK1.4)
-
         if (str == null) {
             return null;
         }
-        final int len = str.length();
-        if (len == 0) {
-            return ArrayUtils.EMPTY_STRINGS;
+        final Tokenizer tokenizer = Tokenizer.on(separatorChar);
+        if (preserveAllTokens) {
+            tokenizer.preserveAllTokens();
         }
-        final List<String> list = new ArrayList<>();
-        int i = 0, start = 0;
-        boolean match = false;
-        boolean lastMatch = false;
-        while (i < len) {
-            if (str.charAt(i) == separatorChar) {
-                if (match || preserveAllTokens) {
-                    list.add(str.substring(start, i));
-                    match = false;
-                    lastMatch = true;
-                }
-                start = ++ i;
-                continue;
-            }
-            lastMatch = false;
-            match = true;
-            i++;
-        }
-        if (match || preserveAllTokens && lastMatch) {
-            list.add(str.substring(start, i));
-        }
-        return list.toArray(new String[list.size()]);
+        return tokenizer.split(str);
     }
 
     /**
@@ -3844,90 +3888,14 @@ public class StringUtils {
      * @return an array of parsed Strings, {@code null} if null String input
      */
     private static String[] splitWorker(final String str, final String separatorChars, final int max, final boolean preserveAllTokens) {
-        // Performance tuned for 2.0 (JDK1.4)
-        // Direct code is quicker than StringTokenizer.
-        // Also, StringTokenizer uses isSpace() not isWhitespace()
-
         if (str == null) {
             return null;
         }
-        final int len = str.length();
-        if (len == 0) {
-            return ArrayUtils.EMPTY_STRINGS;
-        }
-        final List<String> list = new ArrayList<>();
-        int sizePlus1 = 1;
-        int i = 0, start = 0;
-        boolean match = false;
-        boolean lastMatch = false;
-        if (separatorChars == null) {
-            // Null separator means use whitespace
-            while (i < len) {
-                if (Character.isWhitespace(str.charAt(i))) {
-                    if (match || preserveAllTokens) {
-                        lastMatch = true;
-                        if (sizePlus1++ == max) {
-                            i = len;
-                            lastMatch = false;
-                        }
-                        list.add(str.substring(start, i));
-                        match = false;
-                    }
-                    start = ++ i;
-                    continue;
-                }
-                lastMatch = false;
-                match = true;
-                i++;
-            }
-        }
-        else if (separatorChars.length() == 1) {
-            // Optimise 1 character case
-            final char sep = separatorChars.charAt(0);
-            while (i < len) {
-                if (str.charAt(i) == sep) {
-                    if (match || preserveAllTokens) {
-                        lastMatch = true;
-                        if (sizePlus1++ == max) {
-                            i = len;
-                            lastMatch = false;
-                        }
-                        list.add(str.substring(start, i));
-                        match = false;
-                    }
-                    start = ++ i;
-                    continue;
-                }
-                lastMatch = false;
-                match = true;
-                i++;
-            }
+        final Tokenizer tokenizer = Tokenizer.onAnyOf(separatorChars).limit(max);
+        if (preserveAllTokens) {
+            tokenizer.preserveAllTokens();
         }
-        else {
-            // standard case
-            while (i < len) {
-                if (separatorChars.indexOf(str.charAt(i)) >= 0) {
-                    if (match || preserveAllTokens) {
-                        lastMatch = true;
-                        if (sizePlus1++ == max) {
-                            i = len;
-                            lastMatch = false;
-                        }
-                        list.add(str.substring(start, i));
-                        match = false;
-                    }
-                    start = ++ i;
-                    continue;
-                }
-                lastMatch = false;
-                match = true;
-                i++;
-            }
-        }
-        if (match || preserveAllTokens && lastMatch) {
-            list.add(str.substring(start, i));
-        }
-        return list.toArray(new String[list.size()]);
+        return tokenizer.split(str);
     }
 
     /**
@@ -4361,7 +4329,7 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(joinCapacity(array, 1, startIndex, endIndex));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -4370,7 +4338,7 @@ public class StringUtils {
                 buf.append(array[i]);
             }
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4410,14 +4378,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4457,14 +4425,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4504,14 +4472,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4551,14 +4519,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4598,14 +4566,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4645,14 +4613,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4692,14 +4660,14 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(noOfItems * 16);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
             }
             buf.append(array[i]);
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
 
@@ -4779,14 +4747,12 @@ public class StringUtils {
             separator = EMPTY;
         }
 
-        // endIndex - startIndex > 0:   Len = NofStrings *(len(firstString) + len(separator))
-        //           (Assuming that all Strings are roughly equally long)
         final int noOfItems = endIndex - startIndex;
         if (noOfItems <= 0) {
             return EMPTY;
         }
 
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = StringBuilderPool.borrow(joinCapacity(array, separator.length(), startIndex, endIndex));
 
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
@@ -4796,7 +4762,7 @@ public class StringUtils {
                 buf.append(array[i]);
             }
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4830,7 +4796,7 @@ public class StringUtils {
         }
 
         // two or more elements
-        final StringBuilder buf = new StringBuilder(256); // Java default is 16, probably too small
+        final StringBuilder buf = StringBuilderPool.borrow(256);
         if (first != null) {
             buf.append(first);
         }
@@ -4843,7 +4809,7 @@ public class StringUtils {
             }
         }
 
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4875,7 +4841,7 @@ public class StringUtils {
         }
 
         // two or more elements
-        final StringBuilder buf = new StringBuilder(256); // Java default is 16, probably too small
+        final StringBuilder buf = StringBuilderPool.borrow(256);
         if (first != null) {
             buf.append(first);
         }
@@ -4889,7 +4855,7 @@ public class StringUtils {
                 buf.append(obj);
             }
         }
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -4938,6 +4904,685 @@ public class StringUtils {
         return join(iterable.iterator(), separator);
     }
 
+    /**
+     * <p>Returns initial capacity of buffer for joining given array range, exact for {@code String[]} arrays.</p>
+     */
+    private static int joinCapacity(final Object[] array, final int separatorLength, final int startIndex, final int endIndex) {
+        if (array instanceof String[]) {
+            return (int) Math.min(Integer.MAX_VALUE - 8, joinedLength((String[]) array, separatorLength, startIndex, endIndex));
+        }
+        return (endIndex - startIndex) * 16;
+    }
+
+    /**
+     * <p>Returns exact length of String joined from given array range, null elements are counted as empty Strings.</p>
+     */
+    private static long joinedLength(final String[] array, final int separatorLength, final int startIndex, final int endIndex) {
+        long length = (long) separatorLength * (endIndex - startIndex - 1);
+        for (int i = startIndex; i < endIndex; i++) {
+            final String str = array[i];
+            if (str != null) {
+                length += str.length();
+            }
+        }
+        return length;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Object[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Object[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        if (array instanceof String[]) {
+            output.ensureCapacity(joinedLength((String[]) array, 1, startIndex, endIndex));
+        }
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Object[], String)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator to use, null treated as ""
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final String separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Object[], String, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator to use, null treated as ""
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final String separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        if (array instanceof String[]) {
+            output.ensureCapacity(joinedLength((String[]) array, (separator == null) ? 0 : separator.length(), startIndex, endIndex));
+        }
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if ((i > startIndex) && (separator != null)) {
+                    output.append((CharSequence) separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(long[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final long[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(long[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final long[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(int[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final int[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(int[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final int[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(short[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final short[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(short[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final short[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append((int) array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(byte[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final byte[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(byte[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final byte[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append((int) array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(char[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final char[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(char[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final char[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(float[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final float[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(float[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final float[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(double[], char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final double[] array, final char separator) {
+        if (array == null) {
+            return appendable;
+        }
+        return joinTo(appendable, array, separator, 0, array.length);
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(double[], char, int, int)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param array the array of values to join together, may be null
+     * @param separator the separator character to use
+     * @param startIndex the first index to start joining from
+     * @param endIndex the index to stop joining from (exclusive)
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final double[] array, final char separator, final int startIndex,
+            final int endIndex) {
+        if ((array == null) || (endIndex <= startIndex)) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    output.append(separator);
+                }
+                output.append(array[i]);
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterator} to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Iterator, char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param iterator the {@code Iterator} of values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterator<?> iterator, final char separator) {
+        if (iterator == null) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            boolean first = true;
+            while (iterator.hasNext()) {
+                if (! first) {
+                    output.append(separator);
+                }
+                first = false;
+                output.append(iterator.next());
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterator} to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Iterator, String)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param iterator the {@code Iterator} of values to join together, may be null
+     * @param separator the separator to use, null treated as ""
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterator<?> iterator, final String separator) {
+        if (iterator == null) {
+            return appendable;
+        }
+        final AppendableOutput output = new AppendableOutput(appendable);
+        try {
+            boolean first = true;
+            while (iterator.hasNext()) {
+                if (! first) {
+                    if (separator != null) {
+                        output.append((CharSequence) separator);
+                    }
+                }
+                first = false;
+                output.append(iterator.next());
+            }
+        }
+        catch (final IOException e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterable} to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Iterable, char)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param iterable the {@code Iterable} providing the values to join together, may be null
+     * @param separator the separator character to use
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterable<?> iterable, final char separator) {
+        if (iterable == null) {
+            return appendable;
+        }
+        return joinTo(appendable, iterable.iterator(), separator);
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterable} to given {@code Appendable}, separated by the provided separator.</p>
+     *
+     * <p>Output is the same as of {@link #join(Iterable, String)}, but it is written directly to given {@code Appendable}
+     * without creating intermediate Strings. Nothing is appended for null input.</p>
+     *
+     * @param <A> the type of appendable
+     * @param appendable the appendable to append to
+     * @param iterable the {@code Iterable} providing the values to join together, may be null
+     * @param separator the separator to use, null treated as ""
+     *
+     * @return given appendable
+     *
+     * @throws IOException (thrown without declaring it) if appendable throws it
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterable<?> iterable, final String separator) {
+        if (iterable == null) {
+            return appendable;
+        }
+        return joinTo(appendable, iterable.iterator(), separator);
+    }
+
     /**
      * <p>Joins the elements of the provided varargs into a
      * single String containing the provided elements.</p>
@@ -4967,7 +5612,7 @@ public class StringUtils {
 
         final String sanitizedSeparator = Objects.requireNonNullElse(separator, StringUtils.EMPTY);
 
-        final StringBuilder result = new StringBuilder();
+        final StringBuilder result = StringBuilderPool.borrow();
 
         final Iterator<Object> iterator = Arrays.asList(objects).iterator();
         while (iterator.hasNext()) {
@@ -4979,7 +5624,7 @@ public class StringUtils {
             }
         }
 
-        return result.toString();
+        return StringBuilderPool.toStringAndRecycle(result);
     }
 
     // Delete
@@ -5471,7 +6116,7 @@ public class StringUtils {
         if (source == null || regex == null || replacement == null) {
             return source;
         }
-        return Pattern.compile(regex, Pattern.DOTALL).matcher(source).replaceAll(replacement);
+        return PatternCache.compile(regex, Pattern.DOTALL).matcher(source).replaceAll(replacement);
     }
 
     /**
@@ -5559,7 +6204,7 @@ public class StringUtils {
         if (text == null || regex == null || replacement == null) {
             return text;
         }
-        return text.replaceAll(regex, replacement);
+        return PatternCache.compile(regex).matcher(text).replaceAll(replacement);
     }
 
     /**
@@ -5611,7 +6256,7 @@ public class StringUtils {
         if (text == null || regex == null || replacement == null) {
             return text;
         }
-        return text.replaceFirst(regex, replacement);
+        return PatternCache.compile(regex).matcher(text).replaceFirst(replacement);
     }
 
     /**
@@ -5756,7 +6401,7 @@ public class StringUtils {
         int increase = replacement.length() - replLength;
         increase = increase < 0 ? 0 : increase;
         increase *= max < 0 ? 16 : max > 64 ? 64 : max;
-        final StringBuilder buf = new StringBuilder(text.length() + increase);
+        final StringBuilder buf = StringBuilderPool.borrow(text.length() + increase);
         while (end != INDEX_NOT_FOUND) {
             buf.append(text, start, end).append(replacement);
             start = end + replLength;
@@ -5766,7 +6411,7 @@ public class StringUtils {
             end = searchText.indexOf(searchString, start);
         }
         buf.append(text, start, text.length());
-        return buf.toString();
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -5940,9 +6585,6 @@ public class StringUtils {
     private static String replaceEach(
             final String text, final String[] searchList, final String[] replacementList, final boolean repeat, final int timeToLive) {
 
-        // mchyzer Performance note: This creates very few new objects (one major goal)
-        // let me know if there are performance requests, we can create a harness to measure
-
         if (text == null || text.isEmpty() || searchList == null ||
                     searchList.length == 0 || replacementList == null || replacementList.length == 0) {
             return text;
@@ -5954,6 +6596,12 @@ public class StringUtils {
                                                     "output of one loop is the input of another");
         }
 
+        if ((searchList.length * (long) text.length()) >= COMPILED_SEARCH_THRESHOLD) {
+            // single pass over text for all search strings, see StringReplacer
+            final StringReplacer replacer = StringReplacer.compile(searchList, replacementList);
+            return repeat ? replacer.replaceRepeatedly(text, timeToLive) : replacer.replace(text);
+        }
+
         final int searchLength = searchList.length;
         final int replacementLength = replacementList.length;
 
@@ -6147,7 +6795,7 @@ public class StringUtils {
         boolean modified = false;
         final int replaceCharsLength = replaceChars.length();
         final int strLength = str.length();
-        final StringBuilder buf = new StringBuilder(strLength);
+        final StringBuilder buf = StringBuilderPool.borrow(strLength);
         for (int i = 0; i < strLength; i++) {
             final char ch = str.charAt(i);
             final int index = searchChars.indexOf(ch);
@@ -6162,8 +6810,9 @@ public class StringUtils {
             }
         }
         if (modified) {
-            return buf.toString();
+            return StringBuilderPool.toStringAndRecycle(buf);
         }
+        StringBuilderPool.recycle(buf);
         return str;
     }
 
@@ -6421,11 +7070,11 @@ public class StringUtils {
                 }
                 return new String(output2);
             default:
-                final StringBuilder buf = new StringBuilder(outputLength);
+                final StringBuilder buf = StringBuilderPool.borrow(outputLength);
                 for (int i = 0; i < repeat; i++) {
                     buf.append(str);
                 }
-                return buf.toString();
+                return StringBuilderPool.toStringAndRecycle(buf);
         }
     }
 
@@ -6813,9 +7462,15 @@ public class StringUtils {
         if (pads <= 0) {
             return str;
         }
-        str = leftPad(str, strLen + pads / 2, padChar);
-        str = rightPad(str, size, padChar);
-        return str;
+        final StringBuilder buf = StringBuilderPool.borrow(size);
+        for (int i = pads / 2; i > 0; i--) {
+            buf.append(padChar);
+        }
+        buf.append(str);
+        for (int i = pads - pads / 2; i > 0; i--) {
+            buf.append(padChar);
+        }
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -6858,9 +7513,21 @@ public class StringUtils {
         if (pads <= 0) {
             return str;
         }
-        str = leftPad(str, strLen + pads / 2, padStr);
-        str = rightPad(str, size, padStr);
-        return str;
+        // the same as leftPad followed by rightPad, but without intermediate String
+        final StringBuilder buf = StringBuilderPool.borrow(size);
+        appendPadding(buf, padStr, pads / 2);
+        buf.append(str);
+        appendPadding(buf, padStr, pads - pads / 2);
+        return StringBuilderPool.toStringAndRecycle(buf);
+    }
+
+    private static void appendPadding(final StringBuilder buf, final String padStr, final int pads) {
+        final int padLen = padStr.length();
+        int i = 0;
+        for (; i + padLen <= pads; i += padLen) {
+            buf.append(padStr);
+        }
+        buf.append(padStr, 0, pads - i);
     }
 
     // Case conversion
@@ -7223,6 +7890,10 @@ public class StringUtils {
         if (isEmpty(cs)) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isAlpha(latin1);
+        }
         final int sz = cs.length();
         for (int i = 0; i < sz; i++) {
             if (! Character.isLetter(cs.charAt(i))) {
@@ -7297,6 +7968,10 @@ public class StringUtils {
         if (isEmpty(cs)) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isAlphanumeric(latin1);
+        }
         final int sz = cs.length();
         for (int i = 0; i < sz; i++) {
             if (! Character.isLetterOrDigit(cs.charAt(i))) {
@@ -7375,6 +8050,10 @@ public class StringUtils {
         if (cs == null) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isAsciiPrintable(latin1);
+        }
         final int sz = cs.length();
         for (int i = 0; i < sz; i++) {
             char c = cs.charAt(i);
@@ -7422,6 +8101,10 @@ public class StringUtils {
         if (isEmpty(cs)) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isNumeric(latin1);
+        }
         final int sz = cs.length();
         for (int i = 0; i < sz; i++) {
             if (! Character.isDigit(cs.charAt(i))) {
@@ -7539,6 +8222,10 @@ public class StringUtils {
         if (cs == null) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isWhitespace(latin1);
+        }
         final int sz = cs.length();
         for (int i = 0; i < sz; i++) {
             if (! Character.isWhitespace(cs.charAt(i))) {
@@ -7650,6 +8337,10 @@ public class StringUtils {
         if (isEmpty(cs) || cs.length() == 1) {
             return false;
         }
+        final byte[] latin1 = Latin1.bytes(cs);
+        if (latin1 != null) {
+            return Latin1.isMixedCase(latin1);
+        }
         boolean containsUppercase = false;
         boolean containsLowercase = false;
         final int sz = cs.length();
@@ -7977,7 +8668,9 @@ public class StringUtils {
             offset = str.length() - (maxWidth - abbrevMarkerLength);
         }
         if (offset <= abbrevMarkerLength + 1) {
-            return str.substring(0, maxWidth - abbrevMarkerLength) + abbrevMarker;
+            final StringBuilder buf = StringBuilderPool.borrow(maxWidth);
+            buf.append(str, 0, maxWidth - abbrevMarkerLength).append(abbrevMarker);
+            return StringBuilderPool.toStringAndRecycle(buf);
         }
         if (maxWidth < minAbbrevWidthOffset) {
             throw new IllegalArgumentException(String.format("Minimum abbreviation width with offset is %d", minAbbrevWidthOffset));
@@ -7985,7 +8678,9 @@ public class StringUtils {
         if (offset + maxWidth - abbrevMarkerLength < str.length()) {
             return abbrevMarker + abbreviate(str.substring(offset), abbrevMarker, maxWidth - abbrevMarkerLength);
         }
-        return abbrevMarker + str.substring(str.length() - (maxWidth - abbrevMarkerLength));
+        final StringBuilder buf = StringBuilderPool.borrow(maxWidth);
+        buf.append(abbrevMarker).append(str, str.length() - (maxWidth - abbrevMarkerLength), str.length());
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     /**
@@ -8032,9 +8727,9 @@ public class StringUtils {
         final int startOffset = targetSting / 2 + targetSting % 2;
         final int endOffset = str.length() - targetSting / 2;
 
-        return str.substring(0, startOffset) +
-                       middle +
-                       str.substring(endOffset);
+        final StringBuilder buf = StringBuilderPool.borrow(length);
+        buf.append(str, 0, startOffset).append(middle).append(str, endOffset, str.length());
+        return StringBuilderPool.toStringAndRecycle(buf);
     }
 
     // Difference
@@ -8290,9 +8985,8 @@ public class StringUtils {
      * another, where each change is a single character modification (deletion,
      * insertion or substitution).</p>
      *
-     * <p>The implementation uses a single-dimensional array of length s.length() + 1. See
-     * <a href="http://blog.softwx.net/2014/12/optimizing-levenshtein-algorithm-in-c.html">
-     * http://blog.softwx.net/2014/12/optimizing-levenshtein-algorithm-in-c.html</a> for details.</p>
+     * <p>The implementation uses bit-parallel {@link LevenshteinMatcher}, with shorter String used as pattern.
+     * Use {@link LevenshteinMatcher} directly when comparing one String with many others.</p>
      *
      * <pre>
      * StringUtils.getLevenshteinDistance(null, *)             = IllegalArgumentException
@@ -8325,55 +9019,11 @@ public class StringUtils {
         if (s == null || t == null) {
             throw new IllegalArgumentException("Strings must not be null");
         }
-
-        int n = s.length();
-        int m = t.length();
-
-        if (n == 0) {
-            return m;
-        }
-        else if (m == 0) {
-            return n;
-        }
-
-        if (n > m) {
-            // swap the input strings to consume less memory
-            final CharSequence tmp = s;
-            s = t;
-            t = tmp;
-            n = m;
-            m = t.length();
-        }
-
-        final int p[] = new int[n + 1];
-        // indexes into strings s and t
-        int i; // iterates through s
-        int j; // iterates through t
-        int upper_left;
-        int upper;
-
-        char t_j; // jth character of t
-        int cost;
-
-        for (i = 0; i <= n; i++) {
-            p[i] = i;
+        // shorter string is used as pattern to use less blocks.
+        if (s.length() > t.length()) {
+            return levenshteinMatcher(t).distance(s);
         }
-
-        for (j = 1; j <= m; j++) {
-            upper_left = p[0];
-            t_j = t.charAt(j - 1);
-            p[0] = j;
-
-            for (i = 1; i <= n; i++) {
-                upper = p[i];
-                cost = s.charAt(i - 1) == t_j ? 0 : 1;
-                // minimum of cell to the left+1, to the top+1, diagonally left and up +cost
-                p[i] = Math.min(Math.min(p[i - 1] + 1, p[i] + 1), upper_left + cost);
-                upper_left = upper;
-            }
-        }
-
-        return p[n];
+        return levenshteinMatcher(s).distance(t);
     }
 
     /**
@@ -8384,9 +9034,8 @@ public class StringUtils {
      * another, where each change is a single character modification (deletion,
      * insertion or substitution).</p>
      *
-     * <p>This implementation follows from Algorithms on Strings, Trees and Sequences by Dan Gusfield
-     * and Chas Emerick's implementation of the Levenshtein distance algorithm from
-     * <a href="http://www.merriampark.com/ld.htm">http://www.merriampark.com/ld.htm</a></p>
+     * <p>The implementation uses bit-parallel {@link LevenshteinMatcher}, that stops as soon as
+     * the distance can't be less than or equal to the threshold.</p>
      *
      * <pre>
      * StringUtils.getLevenshteinDistance(null, *, *)             = IllegalArgumentException
@@ -8421,132 +9070,21 @@ public class StringUtils {
         if (threshold < 0) {
             throw new IllegalArgumentException("Threshold must not be negative");
         }
-
-        /*
-        This implementation only computes the distance if it's less than or equal to the
-        threshold value, returning -1 if it's greater.  The advantage is performance: unbounded
-        distance is O(nm), but a bound of k allows us to reduce it to O(km) time by only
-        computing a diagonal stripe of width 2k + 1 of the cost table.
-        It is also possible to use this to compute the unbounded Levenshtein distance by starting
-        the threshold at 1 and doubling each time until the distance is found; this is O(dm), where
-        d is the distance.
-
-        One subtlety comes from needing to ignore entries on the border of our stripe
-        eg.
-        p[] = |#|#|#|*
-        d[] =  *|#|#|#|
-        We must ignore the entry to the left of the leftmost member
-        We must ignore the entry above the rightmost member
-
-        Another subtlety comes from our stripe running off the matrix if the strings aren't
-        of the same size.  Since string s is always swapped to be the shorter of the two,
-        the stripe will always run off to the upper right instead of the lower left of the matrix.
-
-        As a concrete example, suppose s is of length 5, t is of length 7, and our threshold is 1.
-        In this case we're going to walk a stripe of length 3.  The matrix would look like so:
-
-           1 2 3 4 5
-        1 |#|#| | | |
-        2 |#|#|#| | |
-        3 | |#|#|#| |
-        4 | | |#|#|#|
-        5 | | | |#|#|
-        6 | | | | |#|
-        7 | | | | | |
-
-        Note how the stripe leads off the table as there is no possible way to turn a string of length 5
-        into one of length 7 in edit distance of 1.
-
-        Additionally, this implementation decreases memory usage by using two
-        single-dimensional arrays and swapping them back and forth instead of allocating
-        an entire n by m matrix.  This requires a few minor changes, such as immediately returning
-        when it's detected that the stripe has run off the matrix and initially filling the arrays with
-        large values so that entries we don't compute are ignored.
-
-        See Algorithms on Strings, Trees and Sequences by Dan Gusfield for some discussion.
-         */
-
-        int n = s.length(); // length of s
-        int m = t.length(); // length of t
-
-        // if one string is empty, the edit distance is necessarily the length of the other
-        if (n == 0) {
-            return m <= threshold ? m : - 1;
-        }
-        else if (m == 0) {
-            return n <= threshold ? n : - 1;
-        }
-        else if (Math.abs(n - m) > threshold) {
+        if (Math.abs(s.length() - t.length()) > threshold) {
             // no need to calculate the distance if the length difference is greater than the threshold
             return - 1;
         }
-
-        if (n > m) {
-            // swap the two strings to consume less memory
-            final CharSequence tmp = s;
-            s = t;
-            t = tmp;
-            n = m;
-            m = t.length();
-        }
-
-        int p[] = new int[n + 1]; // 'previous' cost array, horizontally
-        int d[] = new int[n + 1]; // cost array, horizontally
-        int _d[]; // placeholder to assist in swapping p and d
-
-        // fill in starting table values
-        final int boundary = Math.min(n, threshold) + 1;
-        for (int i = 0; i < boundary; i++) {
-            p[i] = i;
-        }
-        // these fills ensure that the value above the rightmost entry of our
-        // stripe will be ignored in following loop iterations
-        Arrays.fill(p, boundary, p.length, Integer.MAX_VALUE);
-        Arrays.fill(d, Integer.MAX_VALUE);
-
-        // iterates through t
-        for (int j = 1; j <= m; j++) {
-            final char t_j = t.charAt(j - 1); // jth character of t
-            d[0] = j;
-
-            // compute stripe indices, constrain to array size
-            final int min = Math.max(1, j - threshold);
-            final int max = j > Integer.MAX_VALUE - threshold ? n : Math.min(n, j + threshold);
-
-            // the stripe may lead off of the table if s and t are of different sizes
-            if (min > max) {
-                return - 1;
-            }
-
-            // ignore entry left of leftmost
-            if (min > 1) {
-                d[min - 1] = Integer.MAX_VALUE;
-            }
-
-            // iterates through [min, max] in s
-            for (int i = min; i <= max; i++) {
-                if (s.charAt(i - 1) == t_j) {
-                    // diagonally left and up
-                    d[i] = p[i - 1];
-                }
-                else {
-                    // 1 + minimum of cell to the left, to the top, diagonally left and up
-                    d[i] = 1 + Math.min(Math.min(d[i - 1], p[i]), p[i - 1]);
-                }
-            }
-
-            // copy current distance counts to 'previous row' distance counts
-            _d = p;
-            p = d;
-            d = _d;
+        if (s.length() > t.length()) {
+            return levenshteinMatcher(t).distance(s, threshold);
         }
+        return levenshteinMatcher(s).distance(t, threshold);
+    }
 
-        // if p[n] is greater than the threshold, there's no guarantee on it being the correct
-        // distance
-        if (p[n] <= threshold) {
-            return p[n];
+    private static LevenshteinMatcher levenshteinMatcher(CharSequence pattern) {
+        if (pattern.length() > LEVENSHTEIN_MATCHER_LIMIT) {
+            return LevenshteinMatcher.of(pattern);
         }
-        return - 1;
+        return LEVENSHTEIN_MATCHER.get().reset(pattern);
     }
 
     /**
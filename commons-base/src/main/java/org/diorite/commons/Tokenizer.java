@@ -0,0 +1,394 @@
+package org.diorite.commons;
+
+import org.diorite.commons.array.ArrayUtils;
+
+import javax.annotation.Nullable;
+import java.nio.CharBuffer;
+
+/**
+ * Streaming tokenizer over any {@link CharSequence}, that reports boundaries of tokens without copying them. <br>
+ * Tokenizer is reusable cursor: {@link #reset(CharSequence)} it with text, then call {@link #next()} until it returns false, and read
+ * current token using {@link #start()}/{@link #end()}, {@link #view()} or {@link #token()} (only this one copies token). <br>
+ * Tokens are the same as returned by {@link StringUtils#split(String, String, int)},
+ * {@link StringUtils#splitPreserveAllTokens(String, String, int)} and {@link StringUtils#splitByWholeSeparator(String, String, int)}
+ * family of methods, that are implemented using this class. <br>
+ * Tokenizer is not thread safe.
+ */
+public final class Tokenizer {
+    private static final int WHITESPACE = 0;
+    private static final int CHAR       = 1;
+    private static final int CHARS      = 2;
+    private static final int WHOLE      = 3;
+
+    private final int     mode;
+    private final char    separatorChar;
+    private final String  separator;
+    private       boolean preserveAllTokens;
+    private       int     max = - 1;
+
+    // cursor state
+    @Nullable
+    private CharSequence text;
+    @Nullable
+    private CharBuffer   buffer;
+    private int          length;
+    private int          index;
+    private int          start;
+    private int          count;
+    private boolean      match;
+    private boolean      lastMatch;
+    private boolean      done;
+    private int          tokenStart;
+    private int          tokenEnd;
+
+    private Tokenizer(int mode, char separatorChar, String separator) {
+        this.mode = mode;
+        this.separatorChar = separatorChar;
+        this.separator = separator;
+    }
+
+    /**
+     * Creates tokenizer that splits text on whitespace, as defined by {@link Character#isWhitespace(char)}.
+     *
+     * @return new tokenizer.
+     */
+    public static Tokenizer onWhitespace() {
+        return new Tokenizer(WHITESPACE, ' ', "");
+    }
+
+    /**
+     * Creates tokenizer that splits text on given character.
+     *
+     * @param separator the character used as the delimiter.
+     *
+     * @return new tokenizer.
+     */
+    public static Tokenizer on(char separator) {
+        return new Tokenizer(CHAR, separator, String.valueOf(separator));
+    }
+
+    /**
+     * Creates tokenizer that splits text on any of given characters.
+     *
+     * @param separatorChars the characters used as the delimiters, null splits on whitespace.
+     *
+     * @return new tokenizer.
+     */
+    public static Tokenizer onAnyOf(@Nullable String separatorChars) {
+        if (separatorChars == null) {
+            return onWhitespace();
+        }
+        if (separatorChars.length() == 1) {
+            return on(separatorChars.charAt(0));
+        }
+        return new Tokenizer(CHARS, ' ', separatorChars);
+    }
+
+    /**
+     * Creates tokenizer that splits text on given whole separator string.
+     *
+     * @param separator the string used as the delimiter, null or empty splits on whitespace.
+     *
+     * @return new tokenizer.
+     */
+    public static Tokenizer onString(@Nullable String separator) {
+        if ((separator == null) || separator.isEmpty()) {
+            return onWhitespace();
+        }
+        return new Tokenizer(WHOLE, ' ', separator);
+    }
+
+    /**
+     * Preserve empty tokens created by adjacent separators.
+     *
+     * @return this tokenizer.
+     */
+    public Tokenizer preserveAllTokens() {
+        this.preserveAllTokens = true;
+        return this;
+    }
+
+    /**
+     * Set maximum number of tokens, last token will contain rest of text, zero or negative value means no limit.
+     *
+     * @param max maximum number of tokens.
+     *
+     * @return this tokenizer.
+     */
+    public Tokenizer limit(int max) {
+        this.max = max;
+        return this;
+    }
+
+    /**
+     * Starts tokenizing given text, from its beginning.
+     *
+     * @param text text to tokenize.
+     *
+     * @return this tokenizer.
+     */
+    public Tokenizer reset(CharSequence text) {
+        this.text = text;
+        this.buffer = null;
+        this.length = text.length();
+        this.index = 0;
+        this.start = 0;
+        this.count = (this.mode == WHOLE) ? 0 : 1;
+        this.match = false;
+        this.lastMatch = false;
+        this.done = this.length == 0;
+        this.tokenStart = 0;
+        this.tokenEnd = 0;
+        return this;
+    }
+
+    /**
+     * Moves to next token.
+     *
+     * @return true if there was next token, false if end of text was reached.
+     *
+     * @throws IllegalStateException if tokenizer was not reset with any text.
+     */
+    public boolean next() throws IllegalStateException {
+        if (this.text == null) {
+            throw new IllegalStateException("Tokenizer must be reset with text first.");
+        }
+        if (this.done) {
+            return false;
+        }
+        return (this.mode == WHOLE) ? this.nextWhole(this.text) : this.nextChars(this.text);
+    }
+
+    private boolean nextChars(CharSequence text) {
+        int length = this.length;
+        int i = this.index;
+        while (i < length) {
+            if (this.isSeparator(text.charAt(i))) {
+                if (this.match || this.preserveAllTokens) {
+                    this.lastMatch = true;
+                    this.tokenStart = this.start;
+                    if (this.count++ == this.max) {
+                        i = length;
+                        this.lastMatch = false;
+                    }
+                    this.tokenEnd = i;
+                    this.match = false;
+                    this.start = this.index = ++ i;
+                    return true;
+                }
+                this.start = ++ i;
+                continue;
+            }
+            this.lastMatch = false;
+            this.match = true;
+            i++;
+        }
+        this.index = i;
+        this.done = true;
+        if (this.match || (this.preserveAllTokens && this.lastMatch)) {
+            this.tokenStart = this.start;
+            this.tokenEnd = i;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isSeparator(char c) {
+        switch (this.mode) {
+            case CHAR:
+                return c == this.separatorChar;
+            case CHARS:
+                return this.separator.indexOf(c) >= 0;
+            default:
+                return Character.isWhitespace(c);
+        }
+    }
+
+    private boolean nextWhole(CharSequence text) {
+        int separatorLength = this.separator.length();
+        while (true) {
+            int beg = this.start;
+            int end = CharSequenceUtils.indexOf(text, this.separator, beg);
+            if (end == - 1) {
+                return this.last(beg);
+            }
+            if ((end > beg) || this.preserveAllTokens) {
+                if (++ this.count == this.max) {
+                    return this.last(beg);
+                }
+                this.tokenStart = beg;
+                this.tokenEnd = end;
+                this.start = end + separatorLength;
+                return true;
+            }
+            // consecutive separators, skip empty token
+            this.start = end + separatorLength;
+        }
+    }
+
+    private boolean last(int start) {
+        this.tokenStart = start;
+        this.tokenEnd = this.length;
+        this.done = true;
+        return true;
+    }
+
+    /**
+     * Returns start index (inclusive) of current token.
+     *
+     * @return start index of current token.
+     */
+    public int start() {
+        return this.tokenStart;
+    }
+
+    /**
+     * Returns end index (exclusive) of current token.
+     *
+     * @return end index of current token.
+     */
+    public int end() {
+        return this.tokenEnd;
+    }
+
+    /**
+     * Returns length of current token.
+     *
+     * @return length of current token.
+     */
+    public int length() {
+        return this.tokenEnd - this.tokenStart;
+    }
+
+    /**
+     * Returns current token as new string.
+     *
+     * @return current token.
+     */
+    public String token() {
+        CharSequence text = this.text();
+        if (text instanceof String) {
+            return ((String) text).substring(this.tokenStart, this.tokenEnd);
+        }
+        return text.subSequence(this.tokenStart, this.tokenEnd).toString();
+    }
+
+    /**
+     * Returns read-only view of current token, without copying it. <br>
+     * The same buffer instance is reused for all tokens of the same text, so it is only valid until next call to {@link #next()}.
+     *
+     * @return view of current token.
+     */
+    public CharBuffer view() {
+        CharBuffer buffer = this.buffer;
+        if (buffer == null) {
+            this.buffer = buffer = CharBuffer.wrap(this.text());
+        }
+        buffer.limit(this.tokenEnd).position(this.tokenStart);
+        return buffer;
+    }
+
+    /**
+     * Returns current token as {@link CharSlice} over tokenized text, without copying it.
+     *
+     * @return current token as slice.
+     */
+    public CharSlice slice() {
+        return CharSlice.of(this.text(), this.tokenStart, this.tokenEnd);
+    }
+
+    /**
+     * Returns true if current token is equal to given string.
+     *
+     * @param other string to compare with.
+     *
+     * @return true if current token is equal to given string.
+     */
+    public boolean tokenEquals(CharSequence other) {
+        return (other.length() == this.length()) &&
+               CharSequenceUtils.regionMatches(this.text(), false, this.tokenStart, other, 0, other.length());
+    }
+
+    /**
+     * Returns true if current token is equal to given string, ignoring case.
+     *
+     * @param other string to compare with.
+     *
+     * @return true if current token is equal to given string, ignoring case.
+     */
+    public boolean tokenEqualsIgnoreCase(CharSequence other) {
+        return (other.length() == this.length()) &&
+               CharSequenceUtils.regionMatches(this.text(), true, this.tokenStart, other, 0, other.length());
+    }
+
+    private CharSequence text() {
+        if (this.text == null) {
+            throw new IllegalStateException("Tokenizer must be reset with text first.");
+        }
+        return this.text;
+    }
+
+    /**
+     * Reports boundaries of all tokens of given text to given consumer.
+     *
+     * @param text text to tokenize.
+     * @param consumer consumer of tokens.
+     */
+    public void forEach(CharSequence text, TokenConsumer consumer) {
+        this.reset(text);
+        while (this.next()) {
+            consumer.accept(text, this.tokenStart, this.tokenEnd);
+        }
+    }
+
+    /**
+     * Counts tokens of given text.
+     *
+     * @param text text to tokenize.
+     *
+     * @return number of tokens.
+     */
+    public int count(CharSequence text) {
+        this.reset(text);
+        int count = 0;
+        while (this.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Splits given text to array of tokens, array is allocated with exact size.
+     *
+     * @param text text to split.
+     *
+     * @return an array of tokens.
+     */
+    public String[] split(String text) {
+        int count = this.count(text);
+        if (count == 0) {
+            return ArrayUtils.EMPTY_STRINGS;
+        }
+        String[] tokens = new String[count];
+        this.reset(text);
+        for (int i = 0; this.next(); i++) {
+            tokens[i] = text.substring(this.tokenStart, this.tokenEnd);
+        }
+        return tokens;
+    }
+
+    /**
+     * Consumer of token boundaries.
+     */
+    @FunctionalInterface
+    public interface TokenConsumer {
+        /**
+         * Accepts single token.
+         *
+         * @param text tokenized text.
+         * @param start start index (inclusive) of token.
+         * @param end end index (exclusive) of token.
+         */
+        void accept(CharSequence text, int start, int end);
+    }
+}
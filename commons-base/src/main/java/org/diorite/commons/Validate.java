@@ -9,13 +9,13 @@ public final class Validate {
     private Validate() {}
 
     public static void isTrue(boolean condition, String errorMessage) {
-        if (condition) {
+        if (! condition) {
             throw new IllegalStateException(errorMessage);
         }
     }
 
     public static void isTrue(boolean condition, Supplier<String> errorMessage) {
-        if (condition) {
+        if (! condition) {
             throw new IllegalStateException(errorMessage.get());
         }
     }
@@ -24,28 +24,45 @@
 
 package org.diorite.commons.array;
 
+import org.diorite.commons.ClassCache;
+
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
+/**
+ * Conversions between arrays of primitives and boxed primitives. <br>
+ * Primitive conversions are public and statically dispatched, so they are much cheaper than generic
+ * {@link ArrayUtils#convert(Class, Object)}, and each of them also has version that writes into given destination array instead of
+ * allocating new one. Loops are kept simple, so JIT can vectorize them. <br>
+ * Narrowing conversions to integral types are also available in two range checked versions: {@code Exact} versions throw
+ * {@link ArithmeticException} if any value is out of target range, and {@code Saturated} versions clamp such values to nearest
+ * value of target type.
+ */
 @SuppressWarnings("Duplicates")
-final class ArrayConverters {
+public final class ArrayConverters {
     private ArrayConverters() {}
 
-    private static final Map<ArrayConverterPair, MethodHandle> methods = new HashMap<>();
+    private static final Map<Class<?>, Map<Class<?>, MethodHandle>> methods = new HashMap<>(32);
+
+    /**
+     * Converters from given source array type, looked up without allocating any key.
+     */
+    private static final ClassCache<Map<Class<?>, MethodHandle>> converters =
+            ClassCache.create("ArrayConverters.converters", type -> methods.getOrDefault(type, Map.of()));
 
     static {
         Lookup lookup = MethodHandles.lookup();
-        Predicate<String> pattern = Pattern.compile("to[A-Za-z]+Array").asPredicate();
+        Pattern pattern = Pattern.compile("to[A-Za-z]+Array");
         for (Method method : ArrayConverters.class.getDeclaredMethods()) {
-            if (! pattern.test(method.getName()) || ! method.getReturnType().isArray() ||
+            if (! pattern.matcher(method.getName()).matches() || ! method.getReturnType().isArray() ||
                         (method.getParameterCount() != 1) || ! method.getParameterTypes()[0].isArray()) {
                 continue;
             }
@@ -59,13 +76,13 @@ final class ArrayConverters {
             catch (IllegalAccessException e) {
                 throw new AssertionError(e);
             }
-            methods.put(new ArrayConverterPair<>(from, to), methodHandle);
+            methods.computeIfAbsent(from, k -> new IdentityHashMap<>(16)).put(to, methodHandle);
         }
     }
 
     @SuppressWarnings("unchecked")
     static <F, T> T convert(Class<T> to, F array) {
-        MethodHandle methodHandle = methods.get(new ArrayConverterPair<>(array.getClass(), to));
+        MethodHandle methodHandle = converters.get(array.getClass()).get(to);
         if (methodHandle == null) {
             throw new IllegalStateException("Unsupported conversion: " + array.getClass() + " -> " + to);
         }
@@ -77,480 +94,3482 @@ final class ArrayConverters {
         }
     }
 
-    static final class ArrayConverterPair<F, T> {
-        private final Class<F> from;
-        private final Class<T> to;
-
-        ArrayConverterPair(Class<F> from, Class<T> to) {
-            this.from = from;
-            this.to = to;
+    /**
+     * Converts given byte array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(byte[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(byte[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
+        return dest;
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if ((o == null) || (this.getClass() != o.getClass())) {
-                return false;
-            }
-            ArrayConverterPair<?, ?> that = (ArrayConverterPair<?, ?>) o;
-            return Objects.equals(this.from, that.from) &&
-                           Objects.equals(this.to, that.to);
+    /**
+     * Converts given short array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(short[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given short array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(short[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
+        return dest;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.from, this.to);
+    /**
+     * Converts given char array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(char[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given char array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(char[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(byte[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given int array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(int[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given int array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(int[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(short[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given long array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(long[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given long array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(long[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(char[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given float array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(float[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given float array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(float[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(int[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given double array to new boolean array, each value is converted to true if it is greater than 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static boolean[] toBooleanArray(double[] array) {
+        return toBooleanArray(array, new boolean[array.length]);
+    }
+
+    /**
+     * Converts given double array into given boolean array, each value is converted to true if it is greater than 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static boolean[] toBooleanArray(double[] array, boolean[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] > 0;
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(long[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given boolean array to new byte array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(boolean[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given byte array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(boolean[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? (byte) 1 : (byte) 0;
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(float[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given short array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(short[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given short array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(short[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static boolean[] toBooleanArray(double[] array) {
-        boolean[] result = new boolean[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] > 0;
+    /**
+     * Converts given char array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(char[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given char array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(char[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(boolean[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? (byte) 1 : (byte) 0;
+    /**
+     * Converts given int array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(int[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given int array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(int[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(short[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given long array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(long[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given long array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(long[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(char[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given float array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(float[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given float array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(float[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(int[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given double array to new byte array, each value is converted using {@code (byte)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArray(double[] array) {
+        return toByteArray(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given double array into given byte array, each value is converted using {@code (byte)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArray(double[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(long[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given boolean array to new short array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(boolean[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given short array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(boolean[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? (short) 1 : (short) 0;
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(float[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given byte array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(byte[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(byte[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static byte[] toByteArray(double[] array) {
-        byte[] result = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (byte) array[i];
+    /**
+     * Converts given char array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(char[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given char array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(char[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(boolean[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? (short) 1 : (short) 0;
+    /**
+     * Converts given int array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(int[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given int array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(int[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(byte[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given long array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(long[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given long array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(long[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(char[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given float array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(float[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given float array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(float[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(int[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given double array to new short array, each value is converted using {@code (short)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArray(double[] array) {
+        return toShortArray(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given double array into given short array, each value is converted using {@code (short)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArray(double[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(long[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given boolean array to new char array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(boolean[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given char array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(boolean[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? (char) 1 : (char) 0;
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(float[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given short array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(short[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given short array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(short[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static short[] toShortArray(double[] array) {
-        short[] result = new short[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (short) array[i];
+    /**
+     * Converts given byte array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(byte[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(byte[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(boolean[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? (char) 1 : (char) 0;
+    /**
+     * Converts given int array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(int[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given int array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(int[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(short[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given long array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(long[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given long array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(long[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(byte[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given float array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(float[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given float array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(float[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(int[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given double array to new char array, each value is converted using {@code (char)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArray(double[] array) {
+        return toCharArray(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given double array into given char array, each value is converted using {@code (char)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArray(double[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(long[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given boolean array to new int array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(boolean[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given int array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(boolean[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? 1 : 0;
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(float[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given short array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(short[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given short array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(short[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static char[] toCharArray(double[] array) {
-        char[] result = new char[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (char) array[i];
+    /**
+     * Converts given char array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(char[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given char array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(char[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(boolean[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? 1 : 0;
+    /**
+     * Converts given byte array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(byte[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(byte[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(short[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given long array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(long[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given long array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(long[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(char[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given float array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(float[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given float array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(float[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(byte[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given double array to new int array, each value is converted using {@code (int)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArray(double[] array) {
+        return toIntArray(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given double array into given int array, each value is converted using {@code (int)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArray(double[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(long[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given boolean array to new long array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(boolean[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given long array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(boolean[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? 1 : 0;
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(float[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given short array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(short[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given short array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(short[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static int[] toIntArray(double[] array) {
-        int[] result = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (int) array[i];
+    /**
+     * Converts given char array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(char[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given char array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(char[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(boolean[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? 1 : 0;
+    /**
+     * Converts given int array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(int[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given int array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(int[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(short[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given byte array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(byte[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(byte[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(char[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given float array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(float[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given float array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(float[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(int[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given double array to new long array, each value is converted using {@code (long)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArray(double[] array) {
+        return toLongArray(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given double array into given long array, each value is converted using {@code (long)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArray(double[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(byte[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given boolean array to new float array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(boolean[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given float array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(boolean[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? 1 : 0;
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(float[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given short array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(short[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given short array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(short[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static long[] toLongArray(double[] array) {
-        long[] result = new long[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (long) array[i];
+    /**
+     * Converts given char array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(char[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given char array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(char[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(boolean[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? 1 : 0;
+    /**
+     * Converts given int array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(int[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given int array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(int[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(short[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given long array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(long[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given long array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(long[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(char[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given byte array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(byte[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(byte[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(int[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given double array to new float array, each value is converted using {@code (float)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static float[] toFloatArray(double[] array) {
+        return toFloatArray(array, new float[array.length]);
+    }
+
+    /**
+     * Converts given double array into given float array, each value is converted using {@code (float)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static float[] toFloatArray(double[] array, float[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (float) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(long[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given boolean array to new double array, true is converted to 1 and false to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(boolean[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given boolean array into given double array, true is converted to 1 and false to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(boolean[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = array[i] ? 1 : 0;
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(byte[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given short array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(short[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given short array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(short[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static float[] toFloatArray(double[] array) {
-        float[] result = new float[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (float) array[i];
+    /**
+     * Converts given char array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(char[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given char array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(char[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(boolean[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = array[i] ? 1 : 0;
+    /**
+     * Converts given int array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(int[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given int array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(int[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(short[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /**
+     * Converts given long array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(long[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given long array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(long[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(char[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /**
+     * Converts given float array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(float[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given float array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(float[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(int[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /**
+     * Converts given byte array to new double array, each value is converted using {@code (double)} cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static double[] toDoubleArray(byte[] array) {
+        return toDoubleArray(array, new double[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given double array, each value is converted using {@code (double)} cast. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static double[] toDoubleArray(byte[] array, double[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (double) array[i];
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(long[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /*
+     * Range checked narrowing versions
+     */
+
+    /**
+     * Converts given short array to new byte array, throwing exception if any value is out of byte range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(short[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given short array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(short[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (byte) value;
+            outOfRange |= (value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE)) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(float[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /**
+     * Converts given short array to new byte array, values out of byte range are clamped to nearest byte value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(short[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given short array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(short[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given char array to new byte array, throwing exception if any value is out of byte range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(char[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given char array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(char[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (byte) value;
+            outOfRange |= (value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE)) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
         }
-        return result;
+        return dest;
     }
 
-    private static double[] toDoubleArray(byte[] array) {
-        double[] result = new double[array.length];
-        for (int i = 0; i < array.length; i++) {
-            result[i] = (double) array[i];
+    /**
+     * Converts given char array to new byte array, values out of byte range are clamped to nearest byte value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(char[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given char array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(char[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new byte array, throwing exception if any value is out of byte range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(int[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given int array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(int[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (byte) value;
+            outOfRange |= (value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE)) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
         }
-        return result;
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new byte array, values out of byte range are clamped to nearest byte value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(int[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given int array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(int[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new byte array, throwing exception if any value is out of byte range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(long[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given long array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(long[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            long value = array[i];
+            dest[i] = (byte) value;
+            outOfRange |= (value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                long value = array[i];
+                if ((value < Byte.MIN_VALUE) | (value > Byte.MAX_VALUE)) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new byte array, values out of byte range are clamped to nearest byte value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(long[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given long array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(long[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new byte array, throwing exception if any value is out of byte range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(float[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given float array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(float[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            float value = array[i];
+            dest[i] = (byte) (int) value;
+            outOfRange |= (! (value > -129.0)) | (! (value < 128.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                float value = array[i];
+                if ((! (value > -129.0)) | (! (value < 128.0))) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new byte array, values out of byte range are clamped to nearest byte value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(float[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given float array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(float[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new byte array, throwing exception if any value is out of byte range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(double[] array) {
+        return toByteArrayExact(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given double array into given byte array, throwing exception if any value is out of byte range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of byte range.
+     */
+    public static byte[] toByteArrayExact(double[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            double value = array[i];
+            dest[i] = (byte) (int) value;
+            outOfRange |= (! (value > -129.0)) | (! (value < 128.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                double value = array[i];
+                if ((! (value > -129.0)) | (! (value < 128.0))) {
+                    throw outOfRange(i, value, "byte");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new byte array, values out of byte range are clamped to nearest byte value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static byte[] toByteArraySaturated(double[] array) {
+        return toByteArraySaturated(array, new byte[array.length]);
+    }
+
+    /**
+     * Converts given double array into given byte array, values out of byte range are clamped to nearest byte value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static byte[] toByteArraySaturated(double[] array, byte[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given char array to new short array, throwing exception if any value is out of short range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(char[] array) {
+        return toShortArrayExact(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given char array into given short array, throwing exception if any value is out of short range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(char[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (short) value;
+            outOfRange |= (value < Short.MIN_VALUE) | (value > Short.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Short.MIN_VALUE) | (value > Short.MAX_VALUE)) {
+                    throw outOfRange(i, value, "short");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given char array to new short array, values out of short range are clamped to nearest short value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArraySaturated(char[] array) {
+        return toShortArraySaturated(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given char array into given short array, values out of short range are clamped to nearest short value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArraySaturated(char[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new short array, throwing exception if any value is out of short range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(int[] array) {
+        return toShortArrayExact(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given int array into given short array, throwing exception if any value is out of short range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(int[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (short) value;
+            outOfRange |= (value < Short.MIN_VALUE) | (value > Short.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Short.MIN_VALUE) | (value > Short.MAX_VALUE)) {
+                    throw outOfRange(i, value, "short");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new short array, values out of short range are clamped to nearest short value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArraySaturated(int[] array) {
+        return toShortArraySaturated(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given int array into given short array, values out of short range are clamped to nearest short value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArraySaturated(int[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new short array, throwing exception if any value is out of short range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(long[] array) {
+        return toShortArrayExact(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given long array into given short array, throwing exception if any value is out of short range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(long[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            long value = array[i];
+            dest[i] = (short) value;
+            outOfRange |= (value < Short.MIN_VALUE) | (value > Short.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                long value = array[i];
+                if ((value < Short.MIN_VALUE) | (value > Short.MAX_VALUE)) {
+                    throw outOfRange(i, value, "short");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new short array, values out of short range are clamped to nearest short value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArraySaturated(long[] array) {
+        return toShortArraySaturated(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given long array into given short array, values out of short range are clamped to nearest short value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArraySaturated(long[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new short array, throwing exception if any value is out of short range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(float[] array) {
+        return toShortArrayExact(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given float array into given short array, throwing exception if any value is out of short range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(float[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            float value = array[i];
+            dest[i] = (short) (int) value;
+            outOfRange |= (! (value > -32769.0)) | (! (value < 32768.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                float value = array[i];
+                if ((! (value > -32769.0)) | (! (value < 32768.0))) {
+                    throw outOfRange(i, value, "short");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new short array, values out of short range are clamped to nearest short value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArraySaturated(float[] array) {
+        return toShortArraySaturated(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given float array into given short array, values out of short range are clamped to nearest short value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArraySaturated(float[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new short array, throwing exception if any value is out of short range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(double[] array) {
+        return toShortArrayExact(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given double array into given short array, throwing exception if any value is out of short range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of short range.
+     */
+    public static short[] toShortArrayExact(double[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            double value = array[i];
+            dest[i] = (short) (int) value;
+            outOfRange |= (! (value > -32769.0)) | (! (value < 32768.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                double value = array[i];
+                if ((! (value > -32769.0)) | (! (value < 32768.0))) {
+                    throw outOfRange(i, value, "short");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new short array, values out of short range are clamped to nearest short value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static short[] toShortArraySaturated(double[] array) {
+        return toShortArraySaturated(array, new short[array.length]);
+    }
+
+    /**
+     * Converts given double array into given short array, values out of short range are clamped to nearest short value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static short[] toShortArraySaturated(double[] array, short[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given byte array to new char array, throwing exception if any value is out of char range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(byte[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given char array, throwing exception if any value is out of char range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(byte[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (char) value;
+            outOfRange |= (value < Character.MIN_VALUE) | (value > Character.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Character.MIN_VALUE) | (value > Character.MAX_VALUE)) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given byte array to new char array, values out of char range are clamped to nearest char value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(byte[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given byte array into given char array, values out of char range are clamped to nearest char value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(byte[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given short array to new char array, throwing exception if any value is out of char range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(short[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given short array into given char array, throwing exception if any value is out of char range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(short[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (char) value;
+            outOfRange |= (value < Character.MIN_VALUE) | (value > Character.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Character.MIN_VALUE) | (value > Character.MAX_VALUE)) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given short array to new char array, values out of char range are clamped to nearest char value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(short[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given short array into given char array, values out of char range are clamped to nearest char value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(short[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new char array, throwing exception if any value is out of char range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(int[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given int array into given char array, throwing exception if any value is out of char range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(int[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            int value = array[i];
+            dest[i] = (char) value;
+            outOfRange |= (value < Character.MIN_VALUE) | (value > Character.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                int value = array[i];
+                if ((value < Character.MIN_VALUE) | (value > Character.MAX_VALUE)) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given int array to new char array, values out of char range are clamped to nearest char value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(int[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given int array into given char array, values out of char range are clamped to nearest char value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(int[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new char array, throwing exception if any value is out of char range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(long[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given long array into given char array, throwing exception if any value is out of char range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(long[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            long value = array[i];
+            dest[i] = (char) value;
+            outOfRange |= (value < Character.MIN_VALUE) | (value > Character.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                long value = array[i];
+                if ((value < Character.MIN_VALUE) | (value > Character.MAX_VALUE)) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new char array, values out of char range are clamped to nearest char value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(long[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given long array into given char array, values out of char range are clamped to nearest char value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(long[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new char array, throwing exception if any value is out of char range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(float[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given float array into given char array, throwing exception if any value is out of char range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(float[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            float value = array[i];
+            dest[i] = (char) (int) value;
+            outOfRange |= (! (value > -1.0)) | (! (value < 65536.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                float value = array[i];
+                if ((! (value > -1.0)) | (! (value < 65536.0))) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new char array, values out of char range are clamped to nearest char value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(float[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given float array into given char array, values out of char range are clamped to nearest char value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(float[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new char array, throwing exception if any value is out of char range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(double[] array) {
+        return toCharArrayExact(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given double array into given char array, throwing exception if any value is out of char range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of char range.
+     */
+    public static char[] toCharArrayExact(double[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            double value = array[i];
+            dest[i] = (char) (int) value;
+            outOfRange |= (! (value > -1.0)) | (! (value < 65536.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                double value = array[i];
+                if ((! (value > -1.0)) | (! (value < 65536.0))) {
+                    throw outOfRange(i, value, "char");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new char array, values out of char range are clamped to nearest char value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static char[] toCharArraySaturated(double[] array) {
+        return toCharArraySaturated(array, new char[array.length]);
+    }
+
+    /**
+     * Converts given double array into given char array, values out of char range are clamped to nearest char value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static char[] toCharArraySaturated(double[] array, char[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (char) Math.max(Character.MIN_VALUE, Math.min(Character.MAX_VALUE, (int) array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new int array, throwing exception if any value is out of int range.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(long[] array) {
+        return toIntArrayExact(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given long array into given int array, throwing exception if any value is out of int range. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(long[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            long value = array[i];
+            dest[i] = (int) value;
+            outOfRange |= (value < Integer.MIN_VALUE) | (value > Integer.MAX_VALUE);
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                long value = array[i];
+                if ((value < Integer.MIN_VALUE) | (value > Integer.MAX_VALUE)) {
+                    throw outOfRange(i, value, "int");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given long array to new int array, values out of int range are clamped to nearest int value.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArraySaturated(long[] array) {
+        return toIntArraySaturated(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given long array into given int array, values out of int range are clamped to nearest int value. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArraySaturated(long[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, array[i]));
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new int array, throwing exception if any value is out of int range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(float[] array) {
+        return toIntArrayExact(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given float array into given int array, throwing exception if any value is out of int range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(float[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            float value = array[i];
+            dest[i] = (int) value;
+            outOfRange |= (! (value > -2147483649.0)) | (! (value < 2147483648.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                float value = array[i];
+                if ((! (value > -2147483649.0)) | (! (value < 2147483648.0))) {
+                    throw outOfRange(i, value, "int");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new int array, values out of int range are clamped to nearest int value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArraySaturated(float[] array) {
+        return toIntArraySaturated(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given float array into given int array, values out of int range are clamped to nearest int value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArraySaturated(float[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new int array, throwing exception if any value is out of int range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(double[] array) {
+        return toIntArrayExact(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given double array into given int array, throwing exception if any value is out of int range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of int range.
+     */
+    public static int[] toIntArrayExact(double[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            double value = array[i];
+            dest[i] = (int) value;
+            outOfRange |= (! (value > -2147483649.0)) | (! (value < 2147483648.0));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                double value = array[i];
+                if ((! (value > -2147483649.0)) | (! (value < 2147483648.0))) {
+                    throw outOfRange(i, value, "int");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new int array, values out of int range are clamped to nearest int value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static int[] toIntArraySaturated(double[] array) {
+        return toIntArraySaturated(array, new int[array.length]);
+    }
+
+    /**
+     * Converts given double array into given int array, values out of int range are clamped to nearest int value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static int[] toIntArraySaturated(double[] array, int[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (int) array[i];
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new long array, throwing exception if any value is out of long range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of long range.
+     */
+    public static long[] toLongArrayExact(float[] array) {
+        return toLongArrayExact(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given float array into given long array, throwing exception if any value is out of long range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of long range.
+     */
+    public static long[] toLongArrayExact(float[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            float value = array[i];
+            dest[i] = (long) value;
+            outOfRange |= (! (value >= -0x1p63)) | (! (value < 0x1p63));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                float value = array[i];
+                if ((! (value >= -0x1p63)) | (! (value < 0x1p63))) {
+                    throw outOfRange(i, value, "long");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given float array to new long array, values out of long range are clamped to nearest long value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArraySaturated(float[] array) {
+        return toLongArraySaturated(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given float array into given long array, values out of long range are clamped to nearest long value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArraySaturated(float[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new long array, throwing exception if any value is out of long range. <br>
+     * Fractional part is discarded, as by cast.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     *
+     * @throws ArithmeticException if any value is out of long range.
+     */
+    public static long[] toLongArrayExact(double[] array) {
+        return toLongArrayExact(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given double array into given long array, throwing exception if any value is out of long range. <br>
+     * Fractional part is discarded, as by cast. <br>
+     * Only first {@code array.length} elements of destination array are modified, and they might be modified even if exception
+     * is thrown.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     * @throws ArithmeticException if any value is out of long range.
+     */
+    public static long[] toLongArrayExact(double[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        boolean outOfRange = false;
+        for (int i = 0; i < length; i++) {
+            double value = array[i];
+            dest[i] = (long) value;
+            outOfRange |= (! (value >= -0x1p63)) | (! (value < 0x1p63));
+        }
+        if (outOfRange) {
+            for (int i = 0; i < length; i++) {
+                double value = array[i];
+                if ((! (value >= -0x1p63)) | (! (value < 0x1p63))) {
+                    throw outOfRange(i, value, "long");
+                }
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Converts given double array to new long array, values out of long range are clamped to nearest long value. <br>
+     * NaN is converted to 0.
+     *
+     * @param array source array.
+     *
+     * @return converted array.
+     */
+    public static long[] toLongArraySaturated(double[] array) {
+        return toLongArraySaturated(array, new long[array.length]);
+    }
+
+    /**
+     * Converts given double array into given long array, values out of long range are clamped to nearest long value. <br>
+     * NaN is converted to 0. <br>
+     * Only first {@code array.length} elements of destination array are modified.
+     *
+     * @param array source array.
+     * @param dest destination array, must be at least as long as source array.
+     *
+     * @return destination array.
+     *
+     * @throws IndexOutOfBoundsException if destination array is shorter than source array.
+     */
+    public static long[] toLongArraySaturated(double[] array, long[] dest) {
+        int length = array.length;
+        Objects.checkFromIndexSize(0, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[i] = (long) array[i];
+        }
+        return dest;
+    }
+
+    private static ArithmeticException outOfRange(int index, Object value, String type) {
+        return new ArithmeticException("Value " + value + " at index " + index + " is out of " + type + " range.");
     }
 
     /*
@@ -1,11 +1,14 @@
 package org.diorite.commons.array;
 
+import org.diorite.commons.ClassCache;
+
 import java.lang.reflect.Array;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 final class ArrayCreator {
-    private static final Map<Class<?>, Object> arrayMaps = new ConcurrentHashMap<>(20);
+    /**
+     * Empty arrays, always keyed by component type.
+     */
+    private static final ClassCache<Object> emptyArrays = ClassCache.create("ArrayCreator.emptyArrays", type -> Array.newInstance(type, 0));
 
     private ArrayCreator() {}
 
@@ -14,13 +17,7 @@ final class ArrayCreator {
         if (clazz.isPrimitive()) {
             throw new IllegalArgumentException("Can't create array of primitive type: " + clazz);
         }
-        Object o = arrayMaps.get(clazz);
-        if (o != null) {
-            return (T[]) o;
-        }
-        T[] array = (T[]) Array.newInstance(clazz, 0);
-        arrayMaps.put(clazz, array);
-        return array;
+        return (T[]) emptyArrays.get(clazz);
     }
 
     @SuppressWarnings("unchecked")
@@ -28,23 +25,11 @@ final class ArrayCreator {
         if (array.length != 0) {
             return array;
         }
-        Class<?> componentType = array.getClass().getComponentType();
-        Object o = arrayMaps.get(componentType);
-        if (o != null) {
-            return (T[]) o;
-        }
-        arrayMaps.put(componentType, array);
-        return array;
+        return (T[]) emptyArrays.get(array.getClass().getComponentType());
     }
 
     static Object getEmptyArray(Class<?> clazz) {
-        Object o = arrayMaps.get(clazz);
-        if (o != null) {
-            return o;
-        }
-        Object array = Array.newInstance(clazz, 0);
-        arrayMaps.put(clazz, array);
-        return array;
+        return emptyArrays.get(clazz);
     }
 
     @SuppressWarnings("unchecked")
@@ -52,13 +37,7 @@ final class ArrayCreator {
         if (! clazz.isArray()) {
             throw new IllegalArgumentException("Class must be array type: " + clazz);
         }
-        Object o = arrayMaps.get(clazz);
-        if (o != null) {
-            return (T) o;
-        }
-        T array = (T) Array.newInstance(clazz.getComponentType(), 0);
-        arrayMaps.put(clazz, array);
-        return array;
+        return (T) emptyArrays.get(clazz.getComponentType());
     }
 
     @SuppressWarnings("unchecked")
@@ -387,7 +387,8 @@ public final class ArrayUtils {
      * int[] to Integer[] <br>
      * float[] to int[] <br>
      * Boolean[] to double[] <br>
-     * Character[] to Boolean[]
+     * Character[] to Boolean[] <br>
+     * Conversions between primitive arrays are faster when called directly from {@link ArrayConverters}, without dynamic lookup.
      *
      * @param to type of output array, must be primitive or primitive boxed array type.
      * @param array source array, must be primitive or primitive boxed array type.
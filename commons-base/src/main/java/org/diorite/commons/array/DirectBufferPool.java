@@ -0,0 +1,100 @@
+package org.diorite.commons.array;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of small direct buffers used by {@link DirectNibbleArray}. <br>
+ * Buffers are carved from slabs of {@link #SLAB_SIZE} bytes, so small arrays do not need own native allocation and cleaner, and
+ * allocation can only hit direct memory limit (and trigger {@link System#gc()}) once per slab. Buffers are rounded up to power of
+ * two size, and released buffers are kept for reuse by arrays of the same size class, up to {@link #MAX_FREE} bytes in total.
+ * Buffers released above that limit are dropped, and slab is freed by garbage collector once none of its buffers is reachable.
+ */
+final class DirectBufferPool {
+    /**
+     * Largest pooled buffer, larger buffers are allocated separately.
+     */
+    static final int MAX_POOLED = 64 << 10;
+    static final int SLAB_SIZE  = 1 << 20;
+    /**
+     * Max amount of bytes kept in released buffers.
+     */
+    static final int MAX_FREE   = 4 << 20;
+
+    private static final int MIN_SHIFT = 6;
+    private static final int MAX_SHIFT = Integer.numberOfTrailingZeros(MAX_POOLED);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Queue<ByteBuffer>[] free = new Queue[(MAX_SHIFT - MIN_SHIFT) + 1];
+
+    static {
+        for (int i = 0; i < free.length; i++) {
+            free[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    private static final AtomicInteger freeBytes = new AtomicInteger();
+
+    @Nullable
+    private static ByteBuffer slab;
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Returns pooled buffer of at least given size, with given amount of bytes set to 0.
+     */
+    static ByteBuffer allocate(int bytes) {
+        if (bytes > MAX_POOLED) {
+            throw new IllegalArgumentException("expected at most " + MAX_POOLED + " bytes, not " + bytes);
+        }
+        int shift = sizeShift(bytes);
+        ByteBuffer buffer = free[shift - MIN_SHIFT].poll();
+        if (buffer == null) {
+            return carve(1 << shift);
+        }
+        freeBytes.addAndGet(- buffer.capacity());
+        int i = 0;
+        for (; (i + 8) <= bytes; i += 8) {
+            buffer.putLong(i, 0L);
+        }
+        for (; i < bytes; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns buffer obtained from {@link #allocate(int)} to the pool, it must not be used after this call.
+     */
+    static void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (freeBytes.addAndGet(capacity) > MAX_FREE) {
+            freeBytes.addAndGet(- capacity);
+            return;
+        }
+        free[Integer.numberOfTrailingZeros(capacity) - MIN_SHIFT].add(buffer);
+    }
+
+    private static synchronized ByteBuffer carve(int capacity) {
+        ByteBuffer slab = DirectBufferPool.slab;
+        if ((slab == null) || (slab.remaining() < capacity)) {
+            // rest of previous slab is smaller than requested buffer, and capacities are multiples of 64, so buffers stay aligned
+            slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+            DirectBufferPool.slab = slab;
+        }
+        int position = slab.position();
+        slab.limit(position + capacity);
+        ByteBuffer buffer = slab.slice().order(ByteOrder.LITTLE_ENDIAN);
+        slab.limit(slab.capacity()).position(position + capacity);
+        return buffer;
+    }
+
+    private static int sizeShift(int bytes) {
+        return Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(bytes - 1));
+    }
+}
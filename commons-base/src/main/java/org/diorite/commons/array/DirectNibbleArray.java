@@ -0,0 +1,298 @@
+package org.diorite.commons.array;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * An array of nibbles (4-bit values) stored outside of java heap, in a direct {@link ByteBuffer}, with the same layout and
+ * operations as {@link NibbleArray}. <br>
+ * Large amounts of these arrays do not increase GC pauses, and they can be written to and read from channels without additional
+ * copies. <br>
+ * Arrays of up to 64 KiB use pooled memory carved from larger slabs, it can be returned to the pool by {@link #release()} (or by
+ * using array in try-with-resources block), and array can't be used after that. Memory of larger arrays has own buffer, freed
+ * when the buffer and all its views are garbage collected.
+ */
+@SuppressWarnings("MagicNumber")
+public final class DirectNibbleArray extends NibbleArrayAbstract implements AutoCloseable {
+    @Nullable
+    private ByteBuffer buffer;
+    /**
+     * Pooled memory of this array, null for wrapped and large buffers.
+     */
+    @Nullable
+    private ByteBuffer memory;
+
+    /**
+     * Construct a new DirectNibbleArray with the given size in nibbles, all nibbles are set to 0.
+     *
+     * @param size The number of nibbles in the array.
+     *
+     * @throws IllegalArgumentException If size is not positive and even.
+     */
+    public DirectNibbleArray(int size) {
+        super(size);
+        if ((size <= 0) || ((size % 2) != 0)) {
+            throw new IllegalArgumentException("size must be positive even number, not " + size);
+        }
+        int bytes = size / 2;
+        if (bytes <= DirectBufferPool.MAX_POOLED) {
+            this.memory = DirectBufferPool.allocate(bytes);
+            this.buffer = this.memory.duplicate().limit(bytes).slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+        else {
+            this.buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Construct a new DirectNibbleArray using remaining bytes of the given buffer, no copy is created. <br>
+     * Memory of wrapped buffer is never released by this array, so it can be used to allocate arrays from own buffers.
+     *
+     * @param buffer The buffer to use.
+     */
+    public DirectNibbleArray(ByteBuffer buffer) {
+        super(2 * buffer.remaining());
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates off-heap copy of the given nibble array.
+     *
+     * @param array The array to copy.
+     *
+     * @return The copy of array.
+     */
+    public static DirectNibbleArray copyOf(NibbleArrayAbstract array) {
+        DirectNibbleArray copy = new DirectNibbleArray(array.size);
+        copy.copyBytes(array, 0, 0, array.byteSize());
+        return copy;
+    }
+
+    /**
+     * Creates on-heap copy of this array.
+     *
+     * @return The copy of this array.
+     */
+    public NibbleArray toHeap() {
+        NibbleArray copy = new NibbleArray(this.size);
+        if (this.isUniform()) {
+            copy.fill(this.get(0));
+        }
+        else {
+            copy.copyFrom(this, 0, 0, this.size);
+        }
+        return copy;
+    }
+
+    ByteBuffer buffer() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("Array was already released.");
+        }
+        return buffer;
+    }
+
+    @Override
+    long getWord(int byteIndex) {
+        return this.buffer().getLong(byteIndex);
+    }
+
+    @Override
+    void setWord(int byteIndex, long word) {
+        this.buffer().putLong(byteIndex, word);
+    }
+
+    @Override
+    byte getByte(int byteIndex) {
+        return this.buffer().get(byteIndex);
+    }
+
+    @Override
+    void setByte(int byteIndex, byte value) {
+        this.buffer().put(byteIndex, value);
+    }
+
+    @Override
+    public byte get(int index) {
+        byte val = this.buffer().get(index >> 1);
+        if ((index & 1) == 0) {
+            return (byte) (val & 0x0f);
+        }
+        else {
+            return (byte) ((val & 0xf0) >> 4);
+        }
+    }
+
+    @Override
+    public void set(int index, byte value) {
+        value &= 0xf;
+        ByteBuffer buffer = this.buffer();
+        int half = index >> 1;
+        byte previous = buffer.get(half);
+        if ((index & 1) == 0) {
+            buffer.put(half, (byte) ((previous & 0xf0) | value));
+        }
+        else {
+            buffer.put(half, (byte) ((previous & 0x0f) | (value << 4)));
+        }
+    }
+
+    @Override
+    void copyBytes(NibbleArrayAbstract source, int srcByte, int destByte, int bytes) {
+        ByteBuffer to = this.buffer().duplicate();
+        to.position(destByte);
+        if ((source instanceof NibbleArray) && (((NibbleArray) source).data != null)) {
+            to.put(((NibbleArray) source).data, srcByte, bytes);
+            return;
+        }
+        if ((source instanceof DirectNibbleArray) && (source != this)) {
+            ByteBuffer from = ((DirectNibbleArray) source).buffer().duplicate();
+            from.limit(srcByte + bytes).position(srcByte);
+            to.put(from);
+            return;
+        }
+        super.copyBytes(source, srcByte, destByte, bytes);
+    }
+
+    /**
+     * Returns little-endian view of memory of this array, modifying the buffer will modify this array. <br>
+     * Buffer of pooled array must not be used after this array is released, as released memory may be reused by other arrays.
+     *
+     * @return buffer backed by memory of this array.
+     */
+    public ByteBuffer asByteBuffer() {
+        return this.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes all bytes of this array to the given channel, without copying them to java heap.
+     *
+     * @param channel The channel to write to.
+     *
+     * @return The number of written bytes.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public int writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = this.buffer().duplicate();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return buffer.capacity();
+    }
+
+    /**
+     * Writes all bytes of this array to the given file channel, starting at the given file position, without copying them to java
+     * heap. Position of channel is not changed.
+     *
+     * @param channel The channel to write to.
+     * @param position The file position at which the transfer is to begin.
+     *
+     * @return The number of written bytes.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public int writeTo(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = this.buffer().duplicate();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        return buffer.capacity();
+    }
+
+    /**
+     * Reads all bytes of this array from the given channel, without copying them through java heap.
+     *
+     * @param channel The channel to read from.
+     *
+     * @throws EOFException If channel reached end of stream before whole array was read.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void readFrom(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = this.buffer().duplicate();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Expected " + buffer.capacity() + " bytes, but only " + buffer.position() + " were available.");
+            }
+        }
+    }
+
+    /**
+     * Reads all bytes of this array from the given file channel, starting at the given file position, without copying them through
+     * java heap. Position of channel is not changed.
+     *
+     * @param channel The channel to read from.
+     * @param position The file position at which the transfer is to begin.
+     *
+     * @throws EOFException If file ended before whole array was read.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void readFrom(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = this.buffer().duplicate();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Expected " + buffer.capacity() + " bytes, but only " + buffer.position() + " were available.");
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of this array which will not reflect changes, snapshot is also stored off-heap.
+     *
+     * @return The snapshot array.
+     */
+    @Override
+    public DirectNibbleArray snapshot() {
+        return copyOf(this);
+    }
+
+    /**
+     * Returns true if this array was released.
+     *
+     * @return True if this array was released.
+     */
+    public boolean isReleased() {
+        return this.buffer == null;
+    }
+
+    /**
+     * Releases memory of this array, array can't be used after this call, and views returned by {@link #asByteBuffer()} must not be
+     * used anymore. <br>
+     * Pooled memory is returned to the pool, other buffers are only dereferenced and freed by garbage collector once they and their
+     * views are unreachable. Releasing array twice has no effect.
+     */
+    public void release() {
+        ByteBuffer memory = this.memory;
+        this.buffer = null;
+        this.memory = null;
+        if (memory != null) {
+            DirectBufferPool.release(memory);
+        }
+    }
+
+    /**
+     * Releases memory of this array, same as {@link #release()}.
+     */
+    @Override
+    public void close() {
+        this.release();
+    }
+
+    @Override
+    public String toString() {
+        if (this.buffer == null) {
+            return this.getClass().getSimpleName() + "{released}";
+        }
+        byte[] bytes = new byte[this.byteSize()];
+        this.buffer.duplicate().clear().get(bytes);
+        return this.getClass().getSimpleName() + "{" +
+                       "data=" + Arrays.toString(bytes) + "}";
+    }
+}
@@ -26,7 +26,10 @@ package org.diorite.commons.array;
 
 import org.diorite.commons.Validate;
 
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * An array of nibbles (4-bit values) stored efficiently as a byte array of
@@ -34,61 +37,170 @@ import java.util.Arrays;
  * and the odd indices in the most significant bits.
  * <br>
  * For example, [1 5 8 15] is stored as [0x51 0xf8].
+ * <br>
+ * Array that stores the same value in every nibble (like newly created
+ * array) does not allocate its data until first {@link #set(int, byte)} of
+ * different value. Snapshots share data with the original array, and the
+ * data is copied by the side that is modified first.
+ *
+ * @see DirectNibbleArray
  */
 @SuppressWarnings("MagicNumber")
-public class NibbleArray {
+public class NibbleArray extends NibbleArrayAbstract {
+    /**
+     * Raw data, or null if every nibble is equal to {@link #uniform}.
+     */
+    @Nullable
+    protected byte[] data;
 
-    protected final byte[] data;
+    private byte    uniform;
+    private boolean shared;
+    private boolean escaped;
 
     /**
-     * Construct a new NibbleArray with the given size in nibbles.
+     * Construct a new NibbleArray with the given size in nibbles. Data is
+     * not allocated until first non-zero value is set.
      *
      * @param size The number of nibbles in the array.
      *
      * @throws IllegalArgumentException If size is not positive and even.
      */
     public NibbleArray(int size) {
+        this(size, (byte) 0);
+    }
+
+    /**
+     * Construct a new NibbleArray with the given size in nibbles, with all
+     * nibbles set to the given value. Data is not allocated until first
+     * different value is set.
+     *
+     * @param size The number of nibbles in the array.
+     * @param value The value of all nibbles.
+     *
+     * @throws IllegalArgumentException If size is not positive and even.
+     */
+    public NibbleArray(int size, byte value) {
+        super(size);
         Validate.isTrue((size > 0) && ((size % 2) == 0), () -> "size must be positive even number, not " + size);
-        this.data = new byte[size / 2];
+        this.uniform = (byte) (value & 0xf);
     }
 
     /**
      * Construct a new NibbleArray using the given underlying bytes. No copy
-     * is created.
+     * is created, so the caller can still modify the array, and
+     * {@link #snapshot()} of it has to copy the data.
      *
      * @param data The raw data to use.
      */
     public NibbleArray(byte[] data) {
+        super(2 * data.length);
         this.data = data;
+        this.escaped = true;
+    }
+
+    private NibbleArray(NibbleArray source) {
+        super(source.size);
+        this.uniform = source.uniform;
+        if ((source.data != null) && source.escaped) {
+            this.data = source.data.clone();
+        }
+        else {
+            this.data = source.data;
+            this.shared = source.data != null;
+            source.shared = this.shared;
+        }
     }
 
     /**
-     * Get the size in nibbles.
+     * Returns true if this array does not store its data, as all nibbles
+     * have the same value.
      *
-     * @return The size in nibbles.
+     * @return True if data of this array is not allocated.
      */
-    public int size() {
-        return 2 * this.data.length;
+    public boolean isCompact() {
+        return this.data == null;
     }
 
     /**
-     * Get the size in bytes, one-half the size in nibbles.
+     * Releases data of this array if all nibbles have the same value, so
+     * it uses as little memory as newly created array.
      *
-     * @return The size in bytes.
+     * @return True if data was released or was not allocated.
      */
-    public int byteSize() {
-        return this.data.length;
+    public boolean compact() {
+        if (this.data == null) {
+            return true;
+        }
+        if (! this.isUniform()) {
+            return false;
+        }
+        this.uniform = (byte) (this.data[0] & 0xf);
+        this.data = null;
+        this.shared = false;
+        this.escaped = false;
+        return true;
     }
 
     /**
-     * Get the nibble at the given index.
-     *
-     * @param index The nibble index.
-     *
-     * @return The value of the nibble at that index.
+     * Returns data that can be modified, allocating it or copying it from
+     * shared snapshot if needed.
+     */
+    byte[] writableData() {
+        byte[] data = this.data;
+        if (data == null) {
+            data = new byte[this.size >> 1];
+            if (this.uniform != 0) {
+                Arrays.fill(data, (byte) ((this.uniform << 4) | this.uniform));
+            }
+            this.data = data;
+        }
+        else if (this.shared) {
+            data = data.clone();
+            this.data = data;
+            this.shared = false;
+        }
+        return data;
+    }
+
+    @Override
+    long getWord(int byteIndex) {
+        byte[] data = this.data;
+        if (data == null) {
+            return this.uniform * NIBBLE_ONES;
+        }
+        return (long) LONGS.get(data, byteIndex);
+    }
+
+    /**
+     * Bulk operations call {@link #writableData()} before first write, so data is already allocated and not shared.
      */
+    @Override
+    void setWord(int byteIndex, long word) {
+        LONGS.set(this.data, byteIndex, word);
+    }
+
+    @Override
+    byte getByte(int byteIndex) {
+        byte[] data = this.data;
+        if (data == null) {
+            return (byte) ((this.uniform << 4) | this.uniform);
+        }
+        return data[byteIndex];
+    }
+
+    @Override
+    void setByte(int byteIndex, byte value) {
+        this.writableData()[byteIndex] = value;
+    }
+
+    @Override
     public byte get(int index) {
-        byte val = this.data[index / 2];
+        byte[] data = this.data;
+        if (data == null) {
+            Objects.checkIndex(index, this.size);
+            return this.uniform;
+        }
+        byte val = data[index / 2];
         if ((index % 2) == 0) {
             return (byte) (val & 0x0f);
         }
@@ -97,42 +209,178 @@ public class NibbleArray {
         }
     }
 
-    /**
-     * Set the nibble at the given index to the given value.
-     *
-     * @param index The nibble index.
-     * @param value The new value to store.
-     */
+    @Override
     public void set(int index, byte value) {
         value &= 0xf;
+        if (((this.data == null) || this.shared) && (this.get(index) == value)) {
+            return;
+        }
+        byte[] data = this.writableData();
         int half = index / 2;
-        byte previous = this.data[half];
+        byte previous = data[half];
         if ((index % 2) == 0) {
-            this.data[half] = (byte) ((previous & 0xf0) | value);
+            data[half] = (byte) ((previous & 0xf0) | value);
         }
         else {
-            this.data[half] = (byte) ((previous & 0x0f) | (value << 4));
+            data[half] = (byte) ((previous & 0x0f) | (value << 4));
         }
     }
 
     /**
-     * Fill the nibble array with the specified value.
+     * Fill the nibble array with the specified value. Data shared with
+     * snapshot is released instead of being copied.
      *
      * @param value The value nibble to fill with.
      */
+    @Override
     public void fill(byte value) {
         value &= 0xf;
+        if ((this.data == null) || this.shared) {
+            this.data = null;
+            this.shared = false;
+            this.escaped = false;
+            this.uniform = value;
+            return;
+        }
         Arrays.fill(this.data, (byte) ((value << 4) | value));
     }
 
+    @Override
+    public void getRange(int index, byte[] dest, int destPos, int length) {
+        if (this.data == null) {
+            Objects.checkFromIndexSize(index, length, this.size);
+            Objects.checkFromIndexSize(destPos, length, dest.length);
+            Arrays.fill(dest, destPos, destPos + length, this.uniform);
+            return;
+        }
+        super.getRange(index, dest, destPos, length);
+    }
+
+    @Override
+    public void setRange(int index, byte[] source, int sourcePos, int length) {
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(sourcePos, length, source.length);
+        if (length == 0) {
+            return;
+        }
+        this.writableData();
+        super.setRange(index, source, sourcePos, length);
+    }
+
+    @Override
+    public void addSaturating(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (this.data == null) {
+            delta = Math.max(- 15, Math.min(15, delta));
+            this.uniform = (byte) Math.max(0, Math.min(15, this.uniform + delta));
+            return;
+        }
+        this.writableData();
+        super.addSaturating(delta);
+    }
+
+    @Override
+    public void max(NibbleArrayAbstract other) {
+        if ((other instanceof NibbleArray) && (other.size == this.size)) {
+            NibbleArray nibbles = (NibbleArray) other;
+            if (nibbles.data == null) {
+                if (nibbles.uniform == 0) {
+                    return;
+                }
+                if ((this.data == null) || (nibbles.uniform == 15)) {
+                    this.fill((byte) Math.max(this.uniform, nibbles.uniform));
+                    return;
+                }
+            }
+        }
+        if (other.size == this.size) {
+            this.writableData();
+        }
+        super.max(other);
+    }
+
+    @Override
+    public int count(byte value) {
+        if (this.data == null) {
+            return ((value & 0xf) == this.uniform) ? this.size : 0;
+        }
+        return super.count(value);
+    }
+
+    @Override
+    public boolean isUniform() {
+        return (this.data == null) || super.isUniform();
+    }
+
+    @Override
+    public void copyFrom(NibbleArrayAbstract other, int srcPos, int destPos, int length) {
+        Objects.checkFromIndexSize(srcPos, length, other.size);
+        Objects.checkFromIndexSize(destPos, length, this.size);
+        if (length == 0) {
+            return;
+        }
+        if ((other instanceof NibbleArray) && (((NibbleArray) other).data == null)) {
+            this.fillRange(destPos, length, ((NibbleArray) other).uniform);
+            return;
+        }
+        this.writableData();
+        super.copyFrom(other, srcPos, destPos, length);
+    }
+
+    @Override
+    boolean sharesData(NibbleArrayAbstract other) {
+        return (other == this) || ((other instanceof NibbleArray) && (this.data != null) && (((NibbleArray) other).data == this.data));
+    }
+
+    @Override
+    void copyBytes(NibbleArrayAbstract source, int srcByte, int destByte, int bytes) {
+        byte[] data = this.writableData();
+        if ((source instanceof NibbleArray) && (((NibbleArray) source).data != null)) {
+            System.arraycopy(((NibbleArray) source).data, srcByte, data, destByte, bytes);
+            return;
+        }
+        if (source instanceof DirectNibbleArray) {
+            ByteBuffer buffer = ((DirectNibbleArray) source).buffer().duplicate();
+            buffer.position(srcByte);
+            buffer.get(data, destByte, bytes);
+            return;
+        }
+        super.copyBytes(source, srcByte, destByte, bytes);
+    }
+
+    private void fillRange(int index, int length, byte value) {
+        if ((this.data == null) && (this.uniform == value)) {
+            return;
+        }
+        byte[] data = this.writableData();
+        int head = index & 1;
+        int bytes = (length - head) >> 1;
+        Arrays.fill(data, (index + head) >> 1, ((index + head) >> 1) + bytes, (byte) ((value << 4) | value));
+        if (head != 0) {
+            this.set(index, value);
+        }
+        if ((length - head - (bytes << 1)) != 0) {
+            this.set((index + length) - 1, value);
+        }
+    }
+
     /**
      * Get the raw bytes of this nibble array. Modifying the returned array
-     * will modify the internal representation of this nibble array.
+     * will modify the internal representation of this nibble array, until
+     * {@link #compact()}, {@link #fill(byte)} or {@link #setRawData(byte[])}
+     * replaces it.
+     * Data is allocated, or copied if it is shared with snapshot. Once raw
+     * bytes are exposed, {@link #snapshot()} copies them, as writes to
+     * returned array can not be tracked.
      *
      * @return The raw bytes.
      */
     public byte[] getRawData() {
-        return this.data;
+        byte[] data = this.writableData();
+        this.escaped = true;
+        return data;
     }
 
     /**
@@ -143,22 +391,39 @@ public class NibbleArray {
      * @throws IllegalArgumentException If source is not the correct length.
      */
     public void setRawData(byte[] source) {
-        Validate.isTrue(source.length == this.data.length,
-                () -> "expected byte array of length " + this.data.length + ", not " + source.length);
+        Validate.isTrue(source.length == this.byteSize(),
+                () -> "expected byte array of length " + this.byteSize() + ", not " + source.length);
+        if ((this.data == null) || this.shared) {
+            this.data = source.clone();
+            this.shared = false;
+            this.escaped = false;
+            return;
+        }
         System.arraycopy(source, 0, this.data, 0, source.length);
     }
 
     /**
      * Take a snapshot of this NibbleArray which will not reflect changes.
+     * <br>
+     * Data is not copied, instead it is shared until first modification of
+     * either array, so snapshot of array that is never modified again is
+     * almost free. Data exposed by {@link #getRawData()} or passed to
+     * {@link #NibbleArray(byte[])} is copied, as it can be modified outside
+     * of this array.
      *
      * @return The snapshot NibbleArray.
      */
+    @Override
     public NibbleArray snapshot() {
-        return new NibbleArray(this.data.clone());
+        return new NibbleArray(this);
     }
 
     @Override
     public String toString() {
+        if (this.data == null) {
+            return this.getClass().getSimpleName() + "{" +
+                           "size=" + this.size + ", value=" + this.uniform + "}";
+        }
         return this.getClass().getSimpleName() + "{" +
                        "data=" + Arrays.toString(this.data) + "}";
     }
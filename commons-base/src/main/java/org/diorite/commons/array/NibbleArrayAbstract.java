@@ -0,0 +1,413 @@
+package org.diorite.commons.array;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Base of arrays of nibbles (4-bit values) stored as bytes of half the size, with even indices in the least significant nibble and odd
+ * indices in the most significant bits, implemented by {@link NibbleArray} on heap and {@link DirectNibbleArray} off heap. <br>
+ * Bulk operations are implemented once, on little-endian longs of 16 nibbles, so nibble {@code i} of each long is stored in its bits
+ * {@code 4i} to {@code 4i + 3}. Operations taking other array accept any nibble array, so on-heap and off-heap arrays can be mixed.
+ */
+@SuppressWarnings("MagicNumber")
+public abstract class NibbleArrayAbstract {
+    static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    static final long LANE_CARRY  = 0x1010101010101010L;
+    static final long NIBBLE_ONES = 0x1111111111111111L;
+    static final long BYTE_ONES   = 0x0101010101010101L;
+
+    final int size;
+
+    NibbleArrayAbstract(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Get the size in nibbles.
+     *
+     * @return The size in nibbles.
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the size in bytes, one-half the size in nibbles.
+     *
+     * @return The size in bytes.
+     */
+    public final int byteSize() {
+        return this.size >> 1;
+    }
+
+    /**
+     * Get the nibble at the given index.
+     *
+     * @param index The nibble index.
+     *
+     * @return The value of the nibble at that index.
+     */
+    public abstract byte get(int index);
+
+    /**
+     * Set the nibble at the given index to the given value.
+     *
+     * @param index The nibble index.
+     * @param value The new value to store.
+     */
+    public abstract void set(int index, byte value);
+
+    /**
+     * Take a snapshot of this array which will not reflect changes.
+     *
+     * @return The snapshot array.
+     */
+    public abstract NibbleArrayAbstract snapshot();
+
+    /**
+     * Returns little-endian long starting at the given byte, the array must contain 8 bytes from that index.
+     */
+    abstract long getWord(int byteIndex);
+
+    /**
+     * Stores little-endian long starting at the given byte, the array must contain 8 bytes from that index.
+     */
+    abstract void setWord(int byteIndex, long word);
+
+    abstract byte getByte(int byteIndex);
+
+    abstract void setByte(int byteIndex, byte value);
+
+    /**
+     * Fill the nibble array with the specified value.
+     *
+     * @param value The value nibble to fill with.
+     */
+    public void fill(byte value) {
+        value &= 0xf;
+        long pattern = value * NIBBLE_ONES;
+        int bytes = this.byteSize();
+        int i = 0;
+        for (; (i + 8) <= bytes; i += 8) {
+            this.setWord(i, pattern);
+        }
+        for (; i < bytes; i++) {
+            this.setByte(i, (byte) pattern);
+        }
+    }
+
+    /**
+     * Copies nibbles starting at the given index into the given array, one nibble per byte.
+     *
+     * @param index The index of first nibble to copy.
+     * @param dest The array to fill with nibbles.
+     *
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public final void getRange(int index, byte[] dest) {
+        this.getRange(index, dest, 0, dest.length);
+    }
+
+    /**
+     * Copies nibbles starting at the given index into the given array, one nibble per byte.
+     *
+     * @param index The index of first nibble to copy.
+     * @param dest The array to copy nibbles to.
+     * @param destPos The starting position in the destination array.
+     * @param length The number of nibbles to copy.
+     *
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public void getRange(int index, byte[] dest, int destPos, int length) {
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(destPos, length, dest.length);
+        int i = 0;
+        if (((index & 1) != 0) && (length > 0)) {
+            dest[destPos] = this.get(index);
+            i = 1;
+        }
+        for (; (i + 16) <= length; i += 16) {
+            long word = this.getWord((index + i) >> 1);
+            long even = word & LOW_NIBBLES;
+            long odd = (word >>> 4) & LOW_NIBBLES;
+            LONGS.set(dest, destPos + i, spread(even) | (spread(odd) << 8));
+            LONGS.set(dest, destPos + i + 8, spread(even >>> 32) | (spread(odd >>> 32) << 8));
+        }
+        for (; i < length; i++) {
+            dest[destPos + i] = this.get(index + i);
+        }
+    }
+
+    /**
+     * Sets nibbles starting at the given index to values from the given array, one nibble per byte.
+     *
+     * @param index The index of first nibble to set.
+     * @param source The array of values to set.
+     *
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public final void setRange(int index, byte[] source) {
+        this.setRange(index, source, 0, source.length);
+    }
+
+    /**
+     * Sets nibbles starting at the given index to values from the given array, one nibble per byte.
+     *
+     * @param index The index of first nibble to set.
+     * @param source The array of values to set.
+     * @param sourcePos The starting position in the source array.
+     * @param length The number of nibbles to set.
+     *
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public void setRange(int index, byte[] source, int sourcePos, int length) {
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(sourcePos, length, source.length);
+        int i = 0;
+        if (((index & 1) != 0) && (length > 0)) {
+            this.set(index, source[sourcePos]);
+            i = 1;
+        }
+        for (; (i + 16) <= length; i += 16) {
+            long first = (long) LONGS.get(source, sourcePos + i) & LOW_NIBBLES;
+            long second = (long) LONGS.get(source, sourcePos + i + 8) & LOW_NIBBLES;
+            long even = compact(first) | (compact(second) << 32);
+            long odd = compact(first >>> 8) | (compact(second >>> 8) << 32);
+            this.setWord((index + i) >> 1, even | (odd << 4));
+        }
+        for (; i < length; i++) {
+            this.set(index + i, source[sourcePos + i]);
+        }
+    }
+
+    /**
+     * Adds the given value to every nibble, clamping results to range from 0 to 15. Negative values can be used for saturating
+     * subtraction.
+     *
+     * @param delta The value to add.
+     */
+    public void addSaturating(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        delta = Math.max(- 15, Math.min(15, delta));
+        int words = this.byteSize() >> 3;
+        for (int i = 0; i < words; i++) {
+            long word = this.getWord(i << 3);
+            long even = addSaturating(word & LOW_NIBBLES, delta);
+            long odd = addSaturating((word >>> 4) & LOW_NIBBLES, delta);
+            this.setWord(i << 3, even | (odd << 4));
+        }
+        for (int i = words << 4; i < this.size; i++) {
+            this.set(i, (byte) Math.max(0, Math.min(15, this.get(i) + delta)));
+        }
+    }
+
+    /**
+     * Sets every nibble of this array to the larger of its value and the value at the same index in the given array.
+     *
+     * @param other The array to merge with.
+     *
+     * @throws IllegalArgumentException If arrays have different sizes.
+     */
+    public void max(NibbleArrayAbstract other) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("expected nibble array of size " + this.size + ", not " + other.size);
+        }
+        int words = this.byteSize() >> 3;
+        for (int i = 0; i < words; i++) {
+            long a = this.getWord(i << 3);
+            long b = other.getWord(i << 3);
+            long even = max(a & LOW_NIBBLES, b & LOW_NIBBLES);
+            long odd = max((a >>> 4) & LOW_NIBBLES, (b >>> 4) & LOW_NIBBLES);
+            this.setWord(i << 3, even | (odd << 4));
+        }
+        for (int i = words << 4; i < this.size; i++) {
+            this.set(i, (byte) Math.max(this.get(i), other.get(i)));
+        }
+    }
+
+    /**
+     * Counts nibbles equal to the given value.
+     *
+     * @param value The value to count.
+     *
+     * @return The number of nibbles equal to the given value.
+     */
+    public int count(byte value) {
+        value &= 0xf;
+        long pattern = value * NIBBLE_ONES;
+        int words = this.byteSize() >> 3;
+        int different = 0;
+        for (int i = 0; i < words; i++) {
+            long diff = this.getWord(i << 3) ^ pattern;
+            diff |= diff >>> 1;
+            diff |= diff >>> 2;
+            different += Long.bitCount(diff & NIBBLE_ONES);
+        }
+        int count = (words << 4) - different;
+        for (int i = words << 4; i < this.size; i++) {
+            if (this.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if all nibbles of this array have the same value.
+     *
+     * @return True if all nibbles have the same value.
+     */
+    public boolean isUniform() {
+        int bytes = this.byteSize();
+        if (bytes == 0) {
+            return true;
+        }
+        int first = this.getByte(0) & 0xf;
+        long pattern = first * NIBBLE_ONES;
+        int i = 0;
+        for (; (i + 8) <= bytes; i += 8) {
+            if (this.getWord(i) != pattern) {
+                return false;
+            }
+        }
+        for (; i < bytes; i++) {
+            if (this.getByte(i) != (byte) pattern) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies nibbles from the given array into this array. Arrays may be the same, and ranges may overlap.
+     *
+     * @param other The array to copy from.
+     * @param srcPos The starting index in the source array.
+     * @param destPos The starting index in this array.
+     * @param length The number of nibbles to copy.
+     *
+     * @throws IndexOutOfBoundsException If the ranges are out of bounds.
+     */
+    public void copyFrom(NibbleArrayAbstract other, int srcPos, int destPos, int length) {
+        Objects.checkFromIndexSize(srcPos, length, other.size);
+        Objects.checkFromIndexSize(destPos, length, this.size);
+        if (length == 0) {
+            return;
+        }
+        if (((srcPos ^ destPos) & 1) == 0) {
+            // same alignment, whole bytes can be copied, edge nibbles are read first as they may be overwritten
+            int head = srcPos & 1;
+            int bytes = (length - head) >> 1;
+            int tail = length - head - (bytes << 1);
+            byte headValue = other.get(srcPos);
+            byte tailValue = other.get((srcPos + length) - 1);
+            this.copyBytes(other, (srcPos + head) >> 1, (destPos + head) >> 1, bytes);
+            if (head != 0) {
+                this.set(destPos, headValue);
+            }
+            if (tail != 0) {
+                this.set((destPos + length) - 1, tailValue);
+            }
+            return;
+        }
+        if (this.sharesData(other) && (srcPos < (destPos + length)) && (destPos < (srcPos + length))) {
+            byte[] values = new byte[length];
+            other.getRange(srcPos, values, 0, length);
+            this.setRange(destPos, values, 0, length);
+            return;
+        }
+        // source is misaligned by single nibble, so each word is built from 16.5 source bytes
+        int i = 0;
+        if ((destPos & 1) != 0) {
+            this.set(destPos, other.get(srcPos));
+            i = 1;
+        }
+        int sourceBytes = other.byteSize();
+        for (; ((i + 16) <= length) && ((((srcPos + i) >> 1) + 9) <= sourceBytes); i += 16) {
+            int sourceByte = (srcPos + i) >> 1;
+            long word = (other.getWord(sourceByte) >>> 4) | ((long) other.getByte(sourceByte + 8) << 60);
+            this.setWord((destPos + i) >> 1, word);
+        }
+        for (; i < length; i++) {
+            this.set(destPos + i, other.get(srcPos + i));
+        }
+    }
+
+    /**
+     * Returns true if this array and the given array may use the same memory.
+     */
+    boolean sharesData(NibbleArrayAbstract other) {
+        return other == this;
+    }
+
+    /**
+     * Copies whole bytes from the given array, ranges may overlap.
+     */
+    void copyBytes(NibbleArrayAbstract source, int srcByte, int destByte, int bytes) {
+        if (this.sharesData(source) && (srcByte < destByte)) {
+            int i = bytes;
+            for (; i >= 8; i -= 8) {
+                this.setWord((destByte + i) - 8, source.getWord((srcByte + i) - 8));
+            }
+            for (; i > 0; i--) {
+                this.setByte((destByte + i) - 1, source.getByte((srcByte + i) - 1));
+            }
+            return;
+        }
+        int i = 0;
+        for (; (i + 8) <= bytes; i += 8) {
+            this.setWord(destByte + i, source.getWord(srcByte + i));
+        }
+        for (; i < bytes; i++) {
+            this.setByte(destByte + i, source.getByte(srcByte + i));
+        }
+    }
+
+    /**
+     * Moves 4 lowest bytes to even bytes of result.
+     */
+    static long spread(long value) {
+        value &= 0xFFFFFFFFL;
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        return (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+    }
+
+    /**
+     * Moves even bytes to 4 lowest bytes of result, reverse of {@link #spread(long)}.
+     */
+    static long compact(long value) {
+        value &= 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (value | (value >>> 16)) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Adds delta to each byte lane holding value from 0 to 15. Lanes have 4 spare bits, so carry (or borrow) stays in bit 4 of its own
+     * lane.
+     */
+    static long addSaturating(long lanes, int delta) {
+        if (delta > 0) {
+            long sum = lanes + (delta * BYTE_ONES);
+            long overflow = ((sum & LANE_CARRY) >>> 4) * 0x0F;
+            return (sum | overflow) & LOW_NIBBLES;
+        }
+        long difference = (lanes | LANE_CARRY) - (- delta * BYTE_ONES);
+        long valid = ((difference & LANE_CARRY) >>> 4) * 0x0F;
+        return difference & valid;
+    }
+
+    /**
+     * Returns lane-wise maximum of byte lanes holding values from 0 to 15.
+     */
+    static long max(long a, long b) {
+        // bit 4 of lane stays set only if a >= b
+        long greaterOrEqual = ((((a | LANE_CARRY) - b) & LANE_CARRY) >>> 4) * 0x0F;
+        return (a & greaterOrEqual) | (b & ~ greaterOrEqual);
+    }
+}
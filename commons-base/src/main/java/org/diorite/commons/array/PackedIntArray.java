@@ -0,0 +1,423 @@
+package org.diorite.commons.array;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An array of unsigned values of any width from 1 to 32 bits, packed into 64-bit words. <br>
+ * Words are stored in little-endian order in a byte array, so raw data can be exported without copying using {@link #getRawData()}
+ * or {@link #asByteBuffer()}. <br>
+ * Two layouts are supported:
+ * <ul>
+ * <li>spanning (default), where values are stored one after another and single value may be split between two words, so no bits
+ * are wasted,</li>
+ * <li>aligned, where each word stores {@code 64 / bits} values and remaining bits of word are unused, so value never spans two
+ * words.</li>
+ * </ul>
+ * Get and set does not branch on value position: value that does not span words reads and writes its next word with empty mask.
+ */
+@SuppressWarnings("MagicNumber")
+public class PackedIntArray {
+    private static final VarHandle WORDS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    protected final byte[]  data;
+    protected final int     size;
+    protected final int     bits;
+    protected final boolean aligned;
+    protected final long    mask;
+    protected final int     valuesPerWord;
+    protected final int     lastWord;
+
+    /**
+     * Construct a new spanning PackedIntArray with the given size and bits per value.
+     *
+     * @param size number of values in the array.
+     * @param bits number of bits per value, from 1 to 32.
+     *
+     * @throws IllegalArgumentException if size is negative or bits are out of range.
+     */
+    public PackedIntArray(int size, int bits) {
+        this(size, bits, false);
+    }
+
+    /**
+     * Construct a new PackedIntArray with the given size, bits per value and layout.
+     *
+     * @param size number of values in the array.
+     * @param bits number of bits per value, from 1 to 32.
+     * @param aligned if values should never span two words.
+     *
+     * @throws IllegalArgumentException if size is negative or bits are out of range.
+     */
+    public PackedIntArray(int size, int bits, boolean aligned) {
+        this(size, bits, aligned, new byte[byteSize(size, bits, aligned)]);
+    }
+
+    /**
+     * Construct a new PackedIntArray using the given underlying bytes, no copy is created.
+     *
+     * @param size number of values in the array.
+     * @param bits number of bits per value, from 1 to 32.
+     * @param aligned if values should never span two words.
+     * @param data raw data, must have exactly {@link #byteSize(int, int, boolean)} bytes.
+     *
+     * @throws IllegalArgumentException if size is negative, bits are out of range or data has invalid length.
+     */
+    public PackedIntArray(int size, int bits, boolean aligned, byte[] data) {
+        int byteSize = byteSize(size, bits, aligned);
+        if (data.length != byteSize) {
+            throw new IllegalArgumentException("expected byte array of length " + byteSize + ", not " + data.length);
+        }
+        this.data = data;
+        this.size = size;
+        this.bits = bits;
+        this.aligned = aligned;
+        this.mask = (1L << bits) - 1;
+        this.valuesPerWord = 64 / bits;
+        this.lastWord = Math.max((byteSize >> 3) - 1, 0);
+    }
+
+    /**
+     * Returns size in bytes of array with given size, bits per value and layout.
+     *
+     * @param size number of values in the array.
+     * @param bits number of bits per value.
+     * @param aligned if values should never span two words.
+     *
+     * @return size in bytes.
+     *
+     * @throws IllegalArgumentException if size is negative or bits are out of range.
+     */
+    public static int byteSize(int size, int bits, boolean aligned) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size can't be negative: " + size);
+        }
+        if ((bits < 1) || (bits > 32)) {
+            throw new IllegalArgumentException("bits must be in range from 1 to 32, not " + bits);
+        }
+        long words;
+        if (aligned) {
+            int valuesPerWord = 64 / bits;
+            words = (size + valuesPerWord - 1) / valuesPerWord;
+        }
+        else {
+            words = (((long) size * bits) + 63) >>> 6;
+        }
+        if (words > (Integer.MAX_VALUE >> 3)) {
+            throw new IllegalArgumentException("array is too large: " + size + " values of " + bits + " bits");
+        }
+        return (int) (words << 3);
+    }
+
+    /**
+     * Returns minimal number of bits needed to store given value.
+     *
+     * @param maxValue maximum value that needs to be stored, must not be negative.
+     *
+     * @return number of bits needed, at least 1.
+     */
+    public static int bitsFor(int maxValue) {
+        return Math.max(32 - Integer.numberOfLeadingZeros(maxValue), 1);
+    }
+
+    /**
+     * Get the number of values in this array.
+     *
+     * @return number of values.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of bits used by each value.
+     *
+     * @return bits per value.
+     */
+    public int getBitsPerValue() {
+        return this.bits;
+    }
+
+    /**
+     * Returns true if values never span two words.
+     *
+     * @return true if this array uses aligned layout.
+     */
+    public boolean isAligned() {
+        return this.aligned;
+    }
+
+    /**
+     * Get the maximum value that can be stored in this array, for 32 bits per value it is -1 as values are unsigned.
+     *
+     * @return maximum value.
+     */
+    public int getMaxValue() {
+        return (int) this.mask;
+    }
+
+    /**
+     * Get the size in bytes.
+     *
+     * @return size in bytes.
+     */
+    public int byteSize() {
+        return this.data.length;
+    }
+
+    private long word(int word) {
+        return (long) WORDS.get(this.data, word << 3);
+    }
+
+    private void word(int word, long value) {
+        WORDS.set(this.data, word << 3, value);
+    }
+
+    private long bitIndex(int index) {
+        Objects.checkIndex(index, this.size);
+        if (this.aligned) {
+            int word = index / this.valuesPerWord;
+            return ((long) word << 6) + ((index - (word * this.valuesPerWord)) * this.bits);
+        }
+        return (long) index * this.bits;
+    }
+
+    /**
+     * Get the value at the given index.
+     *
+     * @param index value index.
+     *
+     * @return value at that index.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public int get(int index) {
+        long bitIndex = this.bitIndex(index);
+        int word = (int) (bitIndex >>> 6);
+        int shift = (int) bitIndex & 63;
+        long low = this.word(word) >>> shift;
+        // shifted in two steps, so shift by 64 clears value instead of being ignored
+        long high = (this.word(Math.min(word + 1, this.lastWord)) << 1) << (63 - shift);
+        return (int) ((low | high) & this.mask);
+    }
+
+    /**
+     * Set the value at the given index, only lowest {@link #getBitsPerValue()} bits of value are stored.
+     *
+     * @param index value index.
+     * @param value new value.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public void set(int index, int value) {
+        long bitIndex = this.bitIndex(index);
+        int word = (int) (bitIndex >>> 6);
+        int shift = (int) bitIndex & 63;
+        long mask = this.mask;
+        long masked = value & mask;
+        this.word(word, (this.word(word) & ~ (mask << shift)) | (masked << shift));
+        int next = Math.min(word + 1, this.lastWord);
+        long highMask = (mask >>> 1) >>> (63 - shift);
+        this.word(next, (this.word(next) & ~ highMask) | ((masked >>> 1) >>> (63 - shift)));
+    }
+
+    /**
+     * Set the value at the given index and returns previous value.
+     *
+     * @param index value index.
+     * @param value new value.
+     *
+     * @return previous value.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds.
+     */
+    public int getAndSet(int index, int value) {
+        int previous = this.get(index);
+        this.set(index, value);
+        return previous;
+    }
+
+    /**
+     * Fill the array with the specified value.
+     *
+     * @param value value to fill with.
+     */
+    public void fill(int value) {
+        long masked = value & this.mask;
+        if ((masked == 0) || (this.size == 0)) {
+            Arrays.fill(this.data, (byte) 0);
+            return;
+        }
+        // values repeat the same pattern every period words
+        int periodWords = this.aligned ? 1 : (this.bits / gcd(this.bits, 64));
+        int periodValues = this.aligned ? this.valuesPerWord : ((periodWords * 64) / this.bits);
+        int count = Math.min(this.size, periodValues);
+        for (int i = 0; i < count; i++) {
+            this.set(i, value);
+        }
+        int periodBytes = periodWords << 3;
+        for (int filled = periodBytes; filled < this.data.length; filled <<= 1) {
+            System.arraycopy(this.data, 0, this.data, filled, Math.min(filled, this.data.length - filled));
+        }
+        this.clearTail();
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int tmp = a % b;
+            a = b;
+            b = tmp;
+        }
+        return a;
+    }
+
+    /**
+     * Clears unused bits after last value.
+     */
+    private void clearTail() {
+        if (this.size == 0) {
+            return;
+        }
+        long end = this.bitIndex(this.size - 1) + this.bits;
+        int word = (int) ((end - 1) >>> 6);
+        int used = (int) (((end - 1) & 63) + 1);
+        if (used < 64) {
+            this.word(word, this.word(word) & (- 1L >>> (64 - used)));
+        }
+    }
+
+    /**
+     * Copies values from this array to other array, arrays may use different number of bits and layout.
+     *
+     * @param srcPos starting position in this array.
+     * @param dest the destination array.
+     * @param destPos starting position in the destination array.
+     * @param length the number of values to copy.
+     *
+     * @throws IndexOutOfBoundsException if copying would cause access of data outside array bounds.
+     */
+    public void copyTo(int srcPos, PackedIntArray dest, int destPos, int length) {
+        Objects.checkFromIndexSize(srcPos, length, this.size);
+        Objects.checkFromIndexSize(destPos, length, dest.size);
+        if ((srcPos == 0) && (destPos == 0) && (length == this.size) && (length == dest.size) && (this.bits == dest.bits) &&
+            (this.aligned == dest.aligned)) {
+            System.arraycopy(this.data, 0, dest.data, 0, this.data.length);
+            return;
+        }
+        if ((dest == this) && (srcPos < destPos)) {
+            for (int i = length - 1; i >= 0; i--) {
+                dest.set(destPos + i, this.get(srcPos + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            dest.set(destPos + i, this.get(srcPos + i));
+        }
+    }
+
+    /**
+     * Creates copy of this array.
+     *
+     * @return copy of this array.
+     */
+    public PackedIntArray copy() {
+        return new PackedIntArray(this.size, this.bits, this.aligned, this.data.clone());
+    }
+
+    /**
+     * Creates copy of this array re-packed to given number of bits per value, using the same layout.
+     *
+     * @param bits new number of bits per value, from 1 to 32.
+     *
+     * @return re-packed copy of this array.
+     *
+     * @throws IllegalArgumentException if bits are out of range or some value does not fit in new number of bits.
+     */
+    public PackedIntArray resize(int bits) {
+        return this.resize(bits, this.aligned);
+    }
+
+    /**
+     * Creates copy of this array re-packed to given number of bits per value and layout.
+     *
+     * @param bits new number of bits per value, from 1 to 32.
+     * @param aligned if values should never span two words.
+     *
+     * @return re-packed copy of this array.
+     *
+     * @throws IllegalArgumentException if bits are out of range or some value does not fit in new number of bits.
+     */
+    public PackedIntArray resize(int bits, boolean aligned) {
+        PackedIntArray resized = new PackedIntArray(this.size, bits, aligned);
+        if ((bits == this.bits) && (aligned == this.aligned)) {
+            System.arraycopy(this.data, 0, resized.data, 0, this.data.length);
+            return resized;
+        }
+        long mask = resized.mask;
+        for (int i = 0; i < this.size; i++) {
+            int value = this.get(i);
+            if (Integer.toUnsignedLong(value) > mask) {
+                throw new IllegalArgumentException("value " + value + " at index " + i + " does not fit in " + bits + " bits");
+            }
+            resized.set(i, value);
+        }
+        return resized;
+    }
+
+    /**
+     * Returns all values as new int array.
+     *
+     * @return values of this array.
+     */
+    public int[] toIntArray() {
+        int[] values = new int[this.size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * Get the raw bytes of this array, containing little-endian 64-bit words. Modifying the returned array will modify the internal
+     * representation of this array.
+     *
+     * @return the raw bytes.
+     */
+    public byte[] getRawData() {
+        return this.data;
+    }
+
+    /**
+     * Returns little-endian byte buffer backed by raw data of this array, without copying it.
+     *
+     * @return buffer backed by raw data.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(this.data).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Copies into the raw bytes of this array from the given source.
+     *
+     * @param source the array to copy from.
+     *
+     * @throws IllegalArgumentException if source is not the correct length.
+     */
+    public void setRawData(byte[] source) {
+        if (source.length != this.data.length) {
+            throw new IllegalArgumentException("expected byte array of length " + this.data.length + ", not " + source.length);
+        }
+        System.arraycopy(source, 0, this.data, 0, source.length);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{" +
+               "size=" + this.size + ", bits=" + this.bits + ", aligned=" + this.aligned + ", values=" +
+               Arrays.toString(this.toIntArray()) + "}";
+    }
+}
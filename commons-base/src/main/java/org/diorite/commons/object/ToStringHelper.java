@@ -1,5 +1,6 @@
 package org.diorite.commons.object;
 
+import org.diorite.commons.StringBuilderPool;
 import org.diorite.commons.array.ArrayUtils;
 
 import javax.annotation.Nullable;
@@ -29,13 +30,32 @@ public class ToStringHelper {
         return object.toString();
     }
 
+    /**
+     * Starts building string of given object, using builder borrowed from {@link StringBuilderPool}, use {@link #finish(StringBuilder)}
+     * to get result and return builder to pool.
+     *
+     * @param object object to build string of.
+     *
+     * @return builder with name of class of object.
+     */
     public static StringBuilder start(Object object) {
-        StringBuilder stringBuilder = new StringBuilder(100);
+        StringBuilder stringBuilder = StringBuilderPool.borrow(100);
         Class<?> clazz = object.getClass();
         stringBuilder.append(clazz.getName().substring(clazz.getPackageName().length())).append('{');
         return stringBuilder;
     }
 
+    /**
+     * Returns built string and returns builder to {@link StringBuilderPool}, builder must not be used after this call.
+     *
+     * @param builder builder from {@link #start(Object)}.
+     *
+     * @return built string.
+     */
+    public static String finish(StringBuilder builder) {
+        return StringBuilderPool.toStringAndRecycle(builder);
+    }
+
     public static StringBuilder addMember(StringBuilder builder, String name, boolean value) {
         return addMember0(builder, name, false, String.valueOf(value));
     }
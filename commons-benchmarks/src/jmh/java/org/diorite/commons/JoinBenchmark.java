@@ -0,0 +1,69 @@
+package org.diorite.commons;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing joined CSV-like lines to {@link java.io.Writer} using {@link StringUtils#join(long[], char)} and
+ * {@link StringUtils#joinTo(Appendable, long[], char)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+    private long[]          numbers;
+    private String[]        strings;
+    private CharArrayWriter writer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.numbers = new long[256];
+        this.strings = new String[256];
+        for (int i = 0; i < this.numbers.length; i++) {
+            this.numbers[i] = random.nextInt(1_000_000);
+            this.strings[i] = Long.toString(this.numbers[i]);
+        }
+        this.writer = new CharArrayWriter(8192);
+    }
+
+    @Benchmark
+    public int joinNumbersThenWrite() throws IOException {
+        this.writer.reset();
+        this.writer.write(StringUtils.join(this.numbers, ','));
+        return this.writer.size();
+    }
+
+    @Benchmark
+    public int joinNumbersTo() {
+        this.writer.reset();
+        return StringUtils.joinTo(this.writer, this.numbers, ',').size();
+    }
+
+    @Benchmark
+    public String joinStrings() {
+        return StringUtils.join(this.strings, ',');
+    }
+
+    @Benchmark
+    public int joinStringsTo() {
+        this.writer.reset();
+        return StringUtils.joinTo(this.writer, this.strings, ',').size();
+    }
+}
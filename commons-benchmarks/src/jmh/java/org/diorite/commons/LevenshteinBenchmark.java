@@ -0,0 +1,93 @@
+package org.diorite.commons;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares searching for closest names in dictionary, like in command suggestions, using {@link StringUtils} distance methods and
+ * reused {@link LevenshteinMatcher}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevenshteinBenchmark {
+    @Param({"8", "32", "100"})
+    private int length;
+
+    private String       query;
+    private List<String> dictionary;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.dictionary = new ArrayList<>(4096);
+        for (int i = 0; i < 4096; i++) {
+            this.dictionary.add(randomString(random, this.length - 2 + random.nextInt(5)));
+        }
+        StringBuilder query = new StringBuilder(this.dictionary.get(1234));
+        query.setCharAt(query.length() / 2, '_');
+        this.query = query.toString();
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public int distanceStatic() {
+        int sum = 0;
+        for (String name : this.dictionary) {
+            sum += StringUtils.getLevenshteinDistance(this.query, name);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int distanceMatcher() {
+        LevenshteinMatcher matcher = LevenshteinMatcher.of(this.query);
+        int sum = 0;
+        for (String name : this.dictionary) {
+            sum += matcher.distance(name);
+        }
+        return sum;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public int thresholdStatic() {
+        int found = 0;
+        for (String name : this.dictionary) {
+            if (StringUtils.getLevenshteinDistance(this.query, name, 3) != - 1) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<String> closestMatcher() {
+        return LevenshteinMatcher.of(this.query).closest(this.dictionary, 5, 3);
+    }
+}
@@ -0,0 +1,130 @@
+package org.diorite.commons;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares character-class predicates of {@link StringUtils} with plain per-char loops over {@link Character} methods, for compact
+ * (Latin-1) and UTF-16 strings of different lengths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringPredicatesBenchmark {
+    private static final char[] VALID = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    @Param({"8", "64", "512", "4096"})
+    private int    length;
+    /**
+     * {@code ascii}, {@code latin1} (with some non-ASCII letters) or {@code utf16} (with single non-Latin-1 letter at the end).
+     */
+    @Param({"ascii", "latin1", "utf16"})
+    private String charset;
+
+    private String alpha;
+    private String numeric;
+    private String whitespace;
+    private String lowerCase;
+
+    @Setup
+    public void setup() {
+        StringBuilder alpha = new StringBuilder(this.length);
+        StringBuilder numeric = new StringBuilder(this.length);
+        StringBuilder whitespace = new StringBuilder(this.length);
+        for (int i = 0; i < this.length; i++) {
+            alpha.append((char) ('a' + (i % 26)));
+            numeric.append((char) ('0' + (i % 10)));
+            whitespace.append(((i % 3) == 0) ? '\t' : ' ');
+        }
+        if (this.charset.equals("latin1")) {
+            for (int i = 7; i < this.length; i += 16) {
+                alpha.setCharAt(i, (char) 0xE9);
+            }
+        }
+        else if (this.charset.equals("utf16")) {
+            alpha.setCharAt(this.length - 1, (char) 0x0105);
+            numeric.setCharAt(this.length - 1, (char) 0x0661);
+            whitespace.setCharAt(this.length - 1, (char) 0x2003);
+        }
+        this.alpha = alpha.toString();
+        this.numeric = numeric.toString();
+        this.whitespace = whitespace.toString();
+        this.lowerCase = this.alpha;
+    }
+
+    @Benchmark
+    public boolean isAlpha() {
+        return StringUtils.isAlpha(this.alpha);
+    }
+
+    @Benchmark
+    public boolean isAlphaPerChar() {
+        String text = this.alpha;
+        for (int i = 0; i < text.length(); i++) {
+            if (! Character.isLetter(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean isAlphanumeric() {
+        return StringUtils.isAlphanumeric(this.alpha);
+    }
+
+    @Benchmark
+    public boolean isNumeric() {
+        return StringUtils.isNumeric(this.numeric);
+    }
+
+    @Benchmark
+    public boolean isNumericPerChar() {
+        String text = this.numeric;
+        for (int i = 0; i < text.length(); i++) {
+            if (! Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean isWhitespace() {
+        return StringUtils.isWhitespace(this.whitespace);
+    }
+
+    @Benchmark
+    public boolean isAsciiPrintable() {
+        return StringUtils.isAsciiPrintable(this.alpha);
+    }
+
+    @Benchmark
+    public boolean isMixedCase() {
+        return StringUtils.isMixedCase(this.lowerCase);
+    }
+
+    @Benchmark
+    public boolean containsOnly() {
+        return StringUtils.containsOnly(this.alpha, VALID);
+    }
+
+    @Benchmark
+    public boolean containsNone() {
+        return StringUtils.containsNone(this.numeric, 'x', 'y', 'z');
+    }
+}
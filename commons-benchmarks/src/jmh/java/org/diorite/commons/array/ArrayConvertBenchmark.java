@@ -0,0 +1,89 @@
+package org.diorite.commons.array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generic {@link ArrayUtils#convert(Class, Object)} with statically dispatched conversions of {@link ArrayConverters},
+ * allocating and writing into reused destination array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayConvertBenchmark {
+    @Param({"16", "1024", "65536"})
+    private int length;
+
+    private long[]   longs;
+    private double[] doubles;
+    private int[]    ints;
+    private byte[]   bytes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.longs = new long[this.length];
+        this.doubles = new double[this.length];
+        for (int i = 0; i < this.length; i++) {
+            this.longs[i] = random.nextInt();
+            this.doubles[i] = random.nextGaussian() * 1000;
+        }
+        this.ints = new int[this.length];
+        this.bytes = new byte[this.length];
+    }
+
+    @Benchmark
+    public int[] longToIntGeneric() {
+        return ArrayUtils.convert(int[].class, this.longs);
+    }
+
+    @Benchmark
+    public int[] longToIntStatic() {
+        return ArrayConverters.toIntArray(this.longs);
+    }
+
+    @Benchmark
+    public int[] longToIntInto() {
+        return ArrayConverters.toIntArray(this.longs, this.ints);
+    }
+
+    @Benchmark
+    public int[] longToIntExactInto() {
+        return ArrayConverters.toIntArrayExact(this.longs, this.ints);
+    }
+
+    @Benchmark
+    public byte[] longToByteSaturatedInto() {
+        return ArrayConverters.toByteArraySaturated(this.longs, this.bytes);
+    }
+
+    @Benchmark
+    public int[] doubleToIntGeneric() {
+        return ArrayUtils.convert(int[].class, this.doubles);
+    }
+
+    @Benchmark
+    public int[] doubleToIntInto() {
+        return ArrayConverters.toIntArray(this.doubles, this.ints);
+    }
+
+    @Benchmark
+    public byte[] doubleToByteSaturatedInto() {
+        return ArrayConverters.toByteArraySaturated(this.doubles, this.bytes);
+    }
+}
@@ -0,0 +1,124 @@
+package org.diorite.commons.array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bulk operations of {@link NibbleArray} with equivalent loops over single nibbles, on 4096 nibbles like in chunk section
+ * light data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NibbleArrayBenchmark {
+    private static final int SIZE = 4096;
+
+    private NibbleArray light;
+    private NibbleArray other;
+    private byte[]      values;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.light = new NibbleArray(SIZE);
+        this.other = new NibbleArray(SIZE);
+        this.values = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.light.set(i, (byte) random.nextInt(16));
+            this.other.set(i, (byte) random.nextInt(16));
+        }
+    }
+
+    @Benchmark
+    public NibbleArray snapshot() {
+        return this.light.snapshot();
+    }
+
+    @Benchmark
+    public NibbleArray snapshotAndWrite() {
+        NibbleArray snapshot = this.light.snapshot();
+        this.light.set(0, (byte) (this.light.get(0) + 1));
+        return snapshot;
+    }
+
+    @Benchmark
+    public NibbleArray emptySnapshot() {
+        return new NibbleArray(SIZE).snapshot();
+    }
+
+    @Benchmark
+    public NibbleArray maxScalar() {
+        NibbleArray light = this.light;
+        for (int i = 0; i < SIZE; i++) {
+            light.set(i, (byte) Math.max(light.get(i), this.other.get(i)));
+        }
+        return light;
+    }
+
+    @Benchmark
+    public NibbleArray maxBulk() {
+        this.light.max(this.other);
+        return this.light;
+    }
+
+    @Benchmark
+    public NibbleArray decayScalar() {
+        NibbleArray light = this.light;
+        for (int i = 0; i < SIZE; i++) {
+            light.set(i, (byte) Math.max(light.get(i) - 1, 0));
+        }
+        light.max(this.other);
+        return light;
+    }
+
+    @Benchmark
+    public NibbleArray decayBulk() {
+        this.light.addSaturating(- 1);
+        this.light.max(this.other);
+        return this.light;
+    }
+
+    @Benchmark
+    public int countScalar() {
+        int count = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (this.light.get(i) == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countBulk() {
+        return this.light.count((byte) 0);
+    }
+
+    @Benchmark
+    public byte[] getRangeScalar() {
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = this.light.get(i);
+        }
+        return this.values;
+    }
+
+    @Benchmark
+    public byte[] getRangeBulk() {
+        this.light.getRange(0, this.values);
+        return this.values;
+    }
+}
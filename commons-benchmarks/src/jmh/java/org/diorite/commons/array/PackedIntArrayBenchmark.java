@@ -0,0 +1,91 @@
+package org.diorite.commons.array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing all values of {@link PackedIntArray} in spanning and aligned layouts, with {@link NibbleArray} as
+ * baseline for 4 bits per value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedIntArrayBenchmark {
+    private static final int SIZE = 4096;
+
+    @Param({"4", "5", "13"})
+    private int     bits;
+    @Param({"false", "true"})
+    private boolean aligned;
+
+    private int[]          values;
+    private PackedIntArray packed;
+    private NibbleArray    nibbles;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.values = new int[SIZE];
+        this.packed = new PackedIntArray(SIZE, this.bits, this.aligned);
+        this.nibbles = new NibbleArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = random.nextInt(1 << this.bits);
+            this.packed.set(i, this.values[i]);
+            this.nibbles.set(i, (byte) (this.values[i] & 15));
+        }
+    }
+
+    @Benchmark
+    public int packedGet() {
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += this.packed.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public PackedIntArray packedSet() {
+        for (int i = 0; i < SIZE; i++) {
+            this.packed.set(i, this.values[i]);
+        }
+        return this.packed;
+    }
+
+    @Benchmark
+    public int nibbleGet() {
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += this.nibbles.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public NibbleArray nibbleSet() {
+        for (int i = 0; i < SIZE; i++) {
+            this.nibbles.set(i, (byte) this.values[i]);
+        }
+        return this.nibbles;
+    }
+
+    @Benchmark
+    public PackedIntArray packedResize() {
+        return this.packed.resize(this.bits + 3);
+    }
+}
@@ -0,0 +1,34 @@
+package org.diorite.commons.reflect;
+
+/**
+ * Simple public bean used as target of reflection benchmarks, so all invocation strategies can access it without
+ * {@link ReflectedElement#ensureAccessible()}.
+ */
+public class BenchmarkBean {
+    public int    value;
+    public String name;
+
+    public BenchmarkBean() {
+    }
+
+    public BenchmarkBean(int value, String name) {
+        this.value = value;
+        this.name = name;
+    }
+
+    public int add(int a, int b) {
+        return this.value + a + b;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public static int sum(int a, int b) {
+        return a + b;
+    }
+}
@@ -0,0 +1,88 @@
+package org.diorite.commons.reflect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating objects using direct constructor call, {@link Constructor#newInstance(Object...)},
+ * {@link MethodHandle#invokeExact(Object...)}, {@link ConstructorInvoker} and {@link GeneratedConstructorInvoker}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructorInvokerBenchmark {
+    private static final MethodHandle CONSTRUCTOR_HANDLE;
+
+    static {
+        try {
+            CONSTRUCTOR_HANDLE =
+                    MethodHandles.publicLookup().unreflectConstructor(BenchmarkBean.class.getConstructor(int.class, String.class));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private int    value = 7;
+    private String name  = "bean";
+
+    private Constructor<BenchmarkBean>        constructor;
+    private MethodHandle                      constructorHandle;
+    private ConstructorInvoker<BenchmarkBean> invoker;
+    private ConstructorInvoker<BenchmarkBean> generatedInvoker;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.constructor = BenchmarkBean.class.getConstructor(int.class, String.class);
+        this.constructorHandle = MethodHandles.publicLookup().unreflectConstructor(this.constructor);
+        this.invoker = new ConstructorInvoker<>(this.constructor);
+        this.generatedInvoker = Objects.requireNonNull(InvokerGenerator.generate(this.constructor));
+    }
+
+    @Benchmark
+    public BenchmarkBean direct() {
+        return new BenchmarkBean(this.value, this.name);
+    }
+
+    @Benchmark
+    public BenchmarkBean reflection() throws ReflectiveOperationException {
+        return this.constructor.newInstance(this.value, this.name);
+    }
+
+    @Benchmark
+    public BenchmarkBean methodHandleConstant() throws Throwable {
+        return (BenchmarkBean) CONSTRUCTOR_HANDLE.invokeExact(this.value, this.name);
+    }
+
+    @Benchmark
+    public BenchmarkBean methodHandle() throws Throwable {
+        return (BenchmarkBean) this.constructorHandle.invokeExact(this.value, this.name);
+    }
+
+    @Benchmark
+    public BenchmarkBean invoker() {
+        return this.invoker.invokeWith(this.value, this.name);
+    }
+
+    @Benchmark
+    public BenchmarkBean generatedInvoker() {
+        return this.generatedInvoker.invokeWith(this.value, this.name);
+    }
+}
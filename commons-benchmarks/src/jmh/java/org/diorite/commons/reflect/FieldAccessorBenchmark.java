@@ -0,0 +1,168 @@
+package org.diorite.commons.reflect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares reading and writing primitive field using direct access, {@link Field}, {@link MethodHandle#invokeExact(Object...)},
+ * {@link FieldAccessor} (boxed and typed accessors), {@link GeneratedFieldAccessor} and functional views of generated accessor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessorBenchmark {
+    private static final MethodHandle GETTER_HANDLE;
+    private static final MethodHandle SETTER_HANDLE;
+
+    static {
+        try {
+            GETTER_HANDLE = MethodHandles.publicLookup().findGetter(BenchmarkBean.class, "value", int.class);
+            SETTER_HANDLE = MethodHandles.publicLookup().findSetter(BenchmarkBean.class, "value", int.class);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private int value = 42;
+
+    private BenchmarkBean          bean;
+    private Field                  field;
+    private MethodHandle           getterHandle;
+    private MethodHandle           setterHandle;
+    private FieldAccessor<Integer> accessor;
+    private FieldAccessor<Integer> generatedAccessor;
+    private ToIntFunction<Object>  intFunction;
+    private ObjIntConsumer<Object> intConsumer;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.bean = new BenchmarkBean(7, "bean");
+        this.field = BenchmarkBean.class.getField("value");
+        this.getterHandle = MethodHandles.publicLookup().unreflectGetter(this.field);
+        this.setterHandle = MethodHandles.publicLookup().unreflectSetter(this.field);
+        this.accessor = new FieldAccessor<>(this.field);
+        this.generatedAccessor = Objects.requireNonNull(InvokerGenerator.generate(this.field));
+        this.intFunction = this.generatedAccessor.asIntFunction();
+        this.intConsumer = this.generatedAccessor.asIntConsumer();
+    }
+
+    @Benchmark
+    public int getDirect() {
+        return this.bean.value;
+    }
+
+    @Benchmark
+    public Object getReflection() throws IllegalAccessException {
+        return this.field.get(this.bean);
+    }
+
+    @Benchmark
+    public int getReflectionInt() throws IllegalAccessException {
+        return this.field.getInt(this.bean);
+    }
+
+    @Benchmark
+    public int getMethodHandleConstant() throws Throwable {
+        return (int) GETTER_HANDLE.invokeExact(this.bean);
+    }
+
+    @Benchmark
+    public int getMethodHandle() throws Throwable {
+        return (int) this.getterHandle.invokeExact(this.bean);
+    }
+
+    @Benchmark
+    public Integer getAccessor() {
+        return this.accessor.get(this.bean);
+    }
+
+    @Benchmark
+    public int getAccessorInt() {
+        return this.accessor.getInt(this.bean);
+    }
+
+    @Benchmark
+    public Integer getGenerated() {
+        return this.generatedAccessor.get(this.bean);
+    }
+
+    @Benchmark
+    public int getGeneratedInt() {
+        return this.generatedAccessor.getInt(this.bean);
+    }
+
+    @Benchmark
+    public int getGeneratedFunction() {
+        return this.intFunction.applyAsInt(this.bean);
+    }
+
+    @Benchmark
+    public void setDirect() {
+        this.bean.value = this.value;
+    }
+
+    @Benchmark
+    public void setReflection() throws IllegalAccessException {
+        this.field.set(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setReflectionInt() throws IllegalAccessException {
+        this.field.setInt(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setMethodHandleConstant() throws Throwable {
+        SETTER_HANDLE.invokeExact(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setMethodHandle() throws Throwable {
+        this.setterHandle.invokeExact(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setAccessor() {
+        this.accessor.set(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setAccessorInt() {
+        this.accessor.setInt(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setGenerated() {
+        this.generatedAccessor.set(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setGeneratedInt() {
+        this.generatedAccessor.setInt(this.bean, this.value);
+    }
+
+    @Benchmark
+    public void setGeneratedConsumer() {
+        this.intConsumer.accept(this.bean, this.value);
+    }
+}
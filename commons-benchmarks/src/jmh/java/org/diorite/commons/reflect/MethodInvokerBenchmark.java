@@ -0,0 +1,115 @@
+package org.diorite.commons.reflect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares invocation of instance and static method using direct call, {@link Method#invoke(Object, Object...)},
+ * {@link MethodHandle#invokeExact(Object...)}, {@link MethodInvoker} and {@link GeneratedMethodInvoker}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodInvokerBenchmark {
+    private static final MethodHandle ADD_HANDLE;
+
+    static {
+        try {
+            ADD_HANDLE = MethodHandles.publicLookup().unreflect(BenchmarkBean.class.getMethod("add", int.class, int.class));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private int a = 3;
+    private int b = 4;
+
+    private BenchmarkBean          bean;
+    private Method                 add;
+    private Method                 sum;
+    private MethodHandle           addHandle;
+    private MethodInvoker<Integer> addInvoker;
+    private MethodInvoker<Integer> sumInvoker;
+    private MethodInvoker<Integer> generatedAddInvoker;
+    private MethodInvoker<Integer> generatedSumInvoker;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.bean = new BenchmarkBean(7, "bean");
+        this.add = BenchmarkBean.class.getMethod("add", int.class, int.class);
+        this.sum = BenchmarkBean.class.getMethod("sum", int.class, int.class);
+        this.addHandle = MethodHandles.publicLookup().unreflect(this.add);
+        this.addInvoker = new MethodInvoker<>(this.add);
+        this.sumInvoker = new MethodInvoker<>(this.sum);
+        this.generatedAddInvoker = Objects.requireNonNull(InvokerGenerator.generate(this.add));
+        this.generatedSumInvoker = Objects.requireNonNull(InvokerGenerator.generate(this.sum));
+    }
+
+    @Benchmark
+    public int direct() {
+        return this.bean.add(this.a, this.b);
+    }
+
+    @Benchmark
+    public Object reflection() throws ReflectiveOperationException {
+        return this.add.invoke(this.bean, this.a, this.b);
+    }
+
+    @Benchmark
+    public int methodHandleConstant() throws Throwable {
+        return (int) ADD_HANDLE.invokeExact(this.bean, this.a, this.b);
+    }
+
+    @Benchmark
+    public int methodHandle() throws Throwable {
+        return (int) this.addHandle.invokeExact(this.bean, this.a, this.b);
+    }
+
+    @Benchmark
+    public Integer invoker() {
+        return this.addInvoker.invoke(this.bean, this.a, this.b);
+    }
+
+    @Benchmark
+    public Integer generatedInvoker() {
+        return this.generatedAddInvoker.invoke(this.bean, this.a, this.b);
+    }
+
+    @Benchmark
+    public int directStatic() {
+        return BenchmarkBean.sum(this.a, this.b);
+    }
+
+    @Benchmark
+    public Object reflectionStatic() throws ReflectiveOperationException {
+        return this.sum.invoke(null, this.a, this.b);
+    }
+
+    @Benchmark
+    public Integer invokerStatic() {
+        return this.sumInvoker.invoke(null, this.a, this.b);
+    }
+
+    @Benchmark
+    public Integer generatedInvokerStatic() {
+        return this.generatedSumInvoker.invoke(null, this.a, this.b);
+    }
+}
@@ -0,0 +1,70 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.reflect.type.TypeMatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding members using {@link Class#getMethod(String, Class[])}, {@link MethodHandles.Lookup}, cached
+ * {@link MethodLookup}/{@link FieldLookup} queries and lookups with custom matchers, that are never cached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodLookupBenchmark {
+    private static final MethodType ADD_TYPE = MethodType.methodType(int.class, int.class, int.class);
+
+    @Benchmark
+    public Method getMethod() throws NoSuchMethodException {
+        return BenchmarkBean.class.getMethod("add", int.class, int.class);
+    }
+
+    @Benchmark
+    public MethodHandle findVirtual() throws ReflectiveOperationException {
+        return MethodHandles.publicLookup().findVirtual(BenchmarkBean.class, "add", ADD_TYPE);
+    }
+
+    @Benchmark
+    public ReflectedMethod<Object> methodLookup() {
+        return ReflectionUtils.methodLookupIn(BenchmarkBean.class).name("add").withParameters(int.class, int.class).findExact();
+    }
+
+    @Benchmark
+    public ReflectedMethod<Object> methodLookupUncached() {
+        return ReflectionUtils.methodLookupIn(BenchmarkBean.class).name("add")
+                              .withParameters(TypeMatcher.isClass(int.class), TypeMatcher.isClass(int.class)).findExact();
+    }
+
+    @Benchmark
+    public ReflectedMethod<BenchmarkBean> constructorLookup() {
+        return ReflectionUtils.constructorLookupIn(BenchmarkBean.class).withParameters(int.class, String.class).findExact();
+    }
+
+    @Benchmark
+    public Field getField() throws NoSuchFieldException {
+        return BenchmarkBean.class.getField("value");
+    }
+
+    @Benchmark
+    public ReflectedProperty<Object> fieldLookup() {
+        return ReflectionUtils.fieldLookupIn(BenchmarkBean.class).name("value").findExact();
+    }
+}
@@ -0,0 +1,74 @@
+package org.diorite.commons.reflect.type;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving types using {@link Class#forName(String)} with cached and not cached {@link TypeParser}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeParserBenchmark {
+    private String simpleType  = "java.lang.String";
+    private String genericType = "java.util.Map<? extends java.lang.String, java.lang.Number[][]>[]";
+    private String importType  = "List<String[]>";
+
+    private TypeParser parser;
+    private TypeParser cachedParser;
+
+    @Setup
+    public void setup() {
+        this.parser = TypeParser.builder().build();
+        this.cachedParser = TypeParser.builder().cached().build();
+    }
+
+    @Benchmark
+    public Class<?> forName() throws ClassNotFoundException {
+        return Class.forName(this.simpleType);
+    }
+
+    @Benchmark
+    public Type parseSimple() {
+        return this.parser.parse(this.simpleType);
+    }
+
+    @Benchmark
+    public Type parseSimpleCached() {
+        return this.cachedParser.parse(this.simpleType);
+    }
+
+    @Benchmark
+    public Type parseGeneric() {
+        return this.parser.parse(this.genericType);
+    }
+
+    @Benchmark
+    public Type parseGenericCached() {
+        return this.cachedParser.parse(this.genericType);
+    }
+
+    @Benchmark
+    public Type parseImported() {
+        return this.parser.parse(this.importType);
+    }
+
+    @Benchmark
+    public Type parseImportedCached() {
+        return this.cachedParser.parse(this.importType);
+    }
+}
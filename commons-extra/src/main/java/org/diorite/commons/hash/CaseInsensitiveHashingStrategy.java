@@ -24,10 +24,14 @@
 
 package org.diorite.commons.hash;
 
+import org.diorite.commons.StringUtils;
+
 import it.unimi.dsi.fastutil.Hash.Strategy;
 
 /**
- * Case insensitive hashing strategy.
+ * Case insensitive hashing strategy. <br>
+ * Strings are compared like in {@link String#equalsIgnoreCase(String)}, without using default locale, and both hashing and comparing
+ * work char by char, without allocating lower case copies of strings.
  */
 public class CaseInsensitiveHashingStrategy implements Strategy<String>
 {
@@ -46,12 +50,12 @@ public class CaseInsensitiveHashingStrategy implements Strategy<String>
     @Override
     public int hashCode(String s)
     {
-        return s.toLowerCase().hashCode();
+        return StringUtils.hashCodeIgnoreCase(s);
     }
 
     @Override
     public boolean equals(String s1, String s2)
     {
-        return (s1.equals(s2)) || (((s2 != null)) && (s1.toLowerCase().equals(s2.toLowerCase())));
+        return StringUtils.equalsIgnoreCase(s1, s2);
     }
 }
@@ -62,6 +62,6 @@ abstract class AbstractLazyValue implements Resettable {
 
     @Override
     public String toString() {
-        return ToStringHelper.addMember(ToStringHelper.start(this), "isCached", this.isCached).toString();
+        return ToStringHelper.finish(ToStringHelper.addMember(ToStringHelper.start(this), "isCached", this.isCached));
     }
 }
@@ -75,6 +75,6 @@ public abstract class DoubleLazyValueAbstract extends AbstractLazyValue {
     @Override
     public String toString() {
         StringBuilder builder = ToStringHelper.addMember(ToStringHelper.start(this), "cached", this.cached);
-        return ToStringHelper.addSuper(builder, super.getClass(), super.toString()).toString();
+        return ToStringHelper.finish(ToStringHelper.addSuper(builder, super.getClass(), super.toString()));
     }
 }
@@ -0,0 +1,175 @@
+package org.diorite.commons.map;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.diorite.commons.StringUtils;
+
+/**
+ * Case insensitive string key, with cached case folded form and hash code. <br>
+ * Keys are equal if their strings are equal ignoring case, using the same rules as
+ * {@link org.diorite.commons.hash.CaseInsensitiveHashingStrategy}, and {@link #hashCode()} of key is the same as hash code computed by
+ * that strategy, so keys can be used to search {@link CaseInsensitiveMap} without hashing the string again. <br>
+ * Keys created by {@link #intern(String)} are canonical: there is only one key for each case folded string as long as it is
+ * strongly reachable, so map lookups using them usually end on reference comparison.
+ */
+public final class CaseInsensitiveKey implements CharSequence, Comparable<CaseInsensitiveKey>
+{
+    private static final Map<CaseInsensitiveKey, WeakReference<CaseInsensitiveKey>> pool = new WeakHashMap<>(64);
+
+    private final String string;
+    private final String folded;
+    private final int    hash;
+
+    private CaseInsensitiveKey(String string)
+    {
+        this.string = string;
+        this.folded = fold(string);
+        this.hash = StringUtils.hashCodeIgnoreCase(string);
+    }
+
+    private static String fold(String string)
+    {
+        int length = string.length();
+        int i = 0;
+        // most keys are already lower case ASCII, then the same string is used.
+        while ((i < length) && (string.charAt(i) < 0x80) && ((string.charAt(i) < 'A') || (string.charAt(i) > 'Z')))
+        {
+            i++;
+        }
+        if (i == length)
+        {
+            return string;
+        }
+        StringBuilder builder = new StringBuilder(length).append(string, 0, i);
+        while (i < length)
+        {
+            int codePoint = string.codePointAt(i);
+            builder.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            i += Character.charCount(codePoint);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates new key for given string, without interning it.
+     *
+     * @param string string of key.
+     *
+     * @return new key.
+     */
+    public static CaseInsensitiveKey of(String string)
+    {
+        return new CaseInsensitiveKey(string);
+    }
+
+    /**
+     * Returns canonical key for given string. <br>
+     * If there is already key for string that is equal ignoring case, it is returned, so its {@link #toString()} may differ in case
+     * from given string. Pool holds keys weakly, unused keys are removed by garbage collector.
+     *
+     * @param string string of key.
+     *
+     * @return canonical key.
+     */
+    public static CaseInsensitiveKey intern(String string)
+    {
+        CaseInsensitiveKey key = new CaseInsensitiveKey(string);
+        synchronized (pool)
+        {
+            WeakReference<CaseInsensitiveKey> reference = pool.get(key);
+            if (reference != null)
+            {
+                CaseInsensitiveKey interned = reference.get();
+                if (interned != null)
+                {
+                    return interned;
+                }
+            }
+            pool.put(key, new WeakReference<>(key));
+            return key;
+        }
+    }
+
+    /**
+     * Returns case folded form of this key, each code point is folded using
+     * {@code Character.toLowerCase(Character.toUpperCase(codePoint))}.
+     *
+     * @return case folded form of this key.
+     */
+    public String getFolded()
+    {
+        return this.folded;
+    }
+
+    /**
+     * Returns true if given string is equal to this key ignoring case.
+     *
+     * @param string string to check.
+     *
+     * @return true if given string is equal to this key ignoring case.
+     */
+    public boolean matches(@Nullable String string)
+    {
+        //noinspection StringEquality
+        return (string == this.string) || ((string != null) && this.string.equalsIgnoreCase(string));
+    }
+
+    @Override
+    public int length()
+    {
+        return this.string.length();
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        return this.string.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return this.string.subSequence(start, end);
+    }
+
+    @Override
+    public int compareTo(CaseInsensitiveKey other)
+    {
+        return this.folded.compareTo(other.folded);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (! (object instanceof CaseInsensitiveKey))
+        {
+            return false;
+        }
+        CaseInsensitiveKey other = (CaseInsensitiveKey) object;
+        return (this.hash == other.hash) && this.folded.equals(other.folded);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hash;
+    }
+
+    /**
+     * Returns string of this key, in original case.
+     *
+     * @return string of this key.
+     */
+    @Override
+    public String toString()
+    {
+        return this.string;
+    }
+}
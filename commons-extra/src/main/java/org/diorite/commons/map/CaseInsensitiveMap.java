@@ -24,16 +24,22 @@
 
 package org.diorite.commons.map;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 
 import org.diorite.commons.hash.CaseInsensitiveHashingStrategy;
 
 import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
 
 /**
  * Case Insensitive string map.
+ * <br>
+ * Map can be also searched using {@link CaseInsensitiveKey} passed to {@link #get(Object)}, {@link #containsKey(Object)} or
+ * {@link #remove(Object)}, then cached hash of key is used, and keys that were put using the same interned key (see
+ * {@link #putKey(CaseInsensitiveKey, Object)}) are found by reference comparison.
  *
  * NOTE: requires fastutil library.
  *
@@ -159,4 +165,87 @@ public class CaseInsensitiveMap<V> extends Object2ObjectOpenCustomHashMap<String
     {
         super(k, v, CaseInsensitiveHashingStrategy.INSTANCE);
     }
+
+    /**
+     * Adds a pair to the map, string of key is used as key of map if there is no equal key yet.
+     *
+     * @param k
+     *         the key.
+     * @param v
+     *         the value.
+     *
+     * @return old value, or default return value if the key was not present.
+     */
+    public V putKey(CaseInsensitiveKey k, V v)
+    {
+        int pos = this.find(k);
+        if (pos == - 1)
+        {
+            return this.put(k.toString(), v);
+        }
+        V old = this.value[pos];
+        this.value[pos] = v;
+        return old;
+    }
+
+    @Override
+    public V get(@Nullable Object k)
+    {
+        if (k instanceof CaseInsensitiveKey)
+        {
+            int pos = this.find((CaseInsensitiveKey) k);
+            return (pos == - 1) ? this.defRetValue : this.value[pos];
+        }
+        return super.get(k);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object k)
+    {
+        if (k instanceof CaseInsensitiveKey)
+        {
+            return this.find((CaseInsensitiveKey) k) != - 1;
+        }
+        return super.containsKey(k);
+    }
+
+    @Override
+    public V remove(@Nullable Object k)
+    {
+        if (k instanceof CaseInsensitiveKey)
+        {
+            int pos = this.find((CaseInsensitiveKey) k);
+            if (pos == - 1)
+            {
+                return this.defRetValue;
+            }
+            Object[] key = this.key;
+            return super.remove(key[pos]);
+        }
+        return super.remove(k);
+    }
+
+    /**
+     * Probes the table like the map itself, but using cached hash of key.
+     */
+    private int find(@Nullable CaseInsensitiveKey k)
+    {
+        if (k == null)
+        {
+            return - 1;
+        }
+        // generic array of fastutil map is Object[] in runtime.
+        Object[] key = this.key;
+        int pos = HashCommon.mix(k.hashCode()) & this.mask;
+        Object curr;
+        while ((curr = key[pos]) != null)
+        {
+            if (k.matches((String) curr))
+            {
+                return pos;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return - 1;
+    }
 }
@@ -0,0 +1,104 @@
+package org.diorite.commons.reflect;
+
+import java.util.List;
+
+/**
+ * Copies all matching properties from one bean to another. <br>
+ * Properties are matched by name (ignoring case), value of source property must be assignable to target property, with autoboxing and
+ * primitive widening. Properties are read using getters or fields and written using setters or non-final fields. <br>
+ * Copier is resolved once and then, when possible, generated as single straight-line method that directly reads and writes each
+ * property, so copy does not use reflections at all. <br>
+ * Copy is shallow, referenced objects are not cloned.
+ *
+ * @param <A> type of source bean.
+ * @param <B> type of target bean.
+ *
+ * @see ReflectionUtils#beanCopier(Class, Class)
+ */
+public abstract class BeanCopier<A, B> {
+    /**
+     * Getters of properties that can't be accessed directly by generated code, indexed like {@link #getProperties()}.
+     */
+    protected final ReflectedGetter<?>[] getters;
+    /**
+     * Setters of properties that can't be accessed directly by generated code, indexed like {@link #getProperties()}.
+     */
+    protected final ReflectedSetter<?>[] setters;
+
+    private final Class<A>     sourceType;
+    private final Class<B>     targetType;
+    private final List<String> properties;
+
+    protected BeanCopier(Class<A> sourceType, Class<B> targetType, List<String> properties, ReflectedGetter<?>[] getters,
+                         ReflectedSetter<?>[] setters) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.properties = properties;
+        this.getters = getters;
+        this.setters = setters;
+    }
+
+    /**
+     * Copy all properties from source bean to target bean.
+     *
+     * @param source bean to copy properties from.
+     * @param target bean to copy properties to.
+     */
+    public abstract void copy(A source, B target);
+
+    /**
+     * Returns type of source beans.
+     *
+     * @return type of source beans.
+     */
+    public Class<A> getSourceType() {
+        return this.sourceType;
+    }
+
+    /**
+     * Returns type of target beans.
+     *
+     * @return type of target beans.
+     */
+    public Class<B> getTargetType() {
+        return this.targetType;
+    }
+
+    /**
+     * Returns names of copied properties (as used in target bean), in order of copying.
+     *
+     * @return names of copied properties.
+     */
+    public List<String> getProperties() {
+        return this.properties;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanCopier{" + this.sourceType.getName() + " -> " + this.targetType.getName() + ", properties=" + this.properties + "}";
+    }
+
+    /**
+     * Copier used when code can't be generated, copies each property using reflected getters and setters.
+     */
+    static final class ReflectiveBeanCopier<A, B> extends BeanCopier<A, B> {
+        private final Class<?>[] types;
+
+        ReflectiveBeanCopier(Class<A> sourceType, Class<B> targetType, List<String> properties, ReflectedGetter<?>[] getters,
+                             ReflectedSetter<?>[] setters, Class<?>[] types) {
+            super(sourceType, targetType, properties, getters, setters);
+            this.types = types;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void copy(A source, B target) {
+            ReflectedGetter<?>[] getters = this.getters;
+            ReflectedSetter<Object>[] setters = (ReflectedSetter<Object>[]) this.setters;
+            for (int i = 0; i < getters.length; i++) {
+                // source value might need primitive widening, like int to long.
+                setters[i].set(target, TypedHandles.widen(getters[i].get(source), this.types[i], setters[i]));
+            }
+        }
+    }
+}
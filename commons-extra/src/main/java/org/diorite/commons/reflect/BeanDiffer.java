@@ -0,0 +1,127 @@
+package org.diorite.commons.reflect;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares all readable properties of two beans of the same type. <br>
+ * Primitive values are compared like in their wrapper {@code equals} methods, objects using {@link Objects#equals(Object, Object)},
+ * and arrays using {@link Objects#deepEquals(Object, Object)}. <br>
+ * Differ is resolved once and then, when possible, generated as single straight-line method that directly reads and compares each
+ * property, so comparing does not use reflections at all.
+ *
+ * @param <T> type of bean.
+ *
+ * @see ReflectionUtils#beanDiffer(Class)
+ */
+public abstract class BeanDiffer<T> {
+    /**
+     * Getters of properties that can't be accessed directly by generated code, indexed like {@link #getProperties()}.
+     */
+    protected final ReflectedGetter<?>[] getters;
+
+    private final Class<T>     type;
+    private final List<String> properties;
+
+    protected BeanDiffer(Class<T> type, List<String> properties, ReflectedGetter<?>[] getters) {
+        this.type = type;
+        this.properties = properties;
+        this.getters = getters;
+    }
+
+    /**
+     * Compares properties of given beans.
+     *
+     * @param first first bean.
+     * @param second second bean.
+     * @param changed if not null, each differing property will be marked in this array, otherwise method returns on first
+     * difference.
+     *
+     * @return true if any property differs.
+     */
+    protected abstract boolean differs(T first, T second, @Nullable boolean[] changed);
+
+    /**
+     * Returns true if all properties of given beans are equal.
+     *
+     * @param first first bean.
+     * @param second second bean.
+     *
+     * @return true if all properties of given beans are equal.
+     */
+    public boolean isEqual(T first, T second) {
+        return ! this.differs(first, second, null);
+    }
+
+    /**
+     * Returns names of all properties that differ between given beans.
+     *
+     * @param first first bean.
+     * @param second second bean.
+     *
+     * @return names of differing properties, or empty list.
+     */
+    public List<String> diff(T first, T second) {
+        boolean[] changed = new boolean[this.properties.size()];
+        if (! this.differs(first, second, changed)) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(changed.length);
+        for (int i = 0; i < changed.length; i++) {
+            if (changed[i]) {
+                result.add(this.properties.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns type of compared beans.
+     *
+     * @return type of compared beans.
+     */
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns names of compared properties.
+     *
+     * @return names of compared properties.
+     */
+    public List<String> getProperties() {
+        return this.properties;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanDiffer{" + this.type.getName() + ", properties=" + this.properties + "}";
+    }
+
+    /**
+     * Differ used when code can't be generated, compares each property using reflected getters.
+     */
+    static final class ReflectiveBeanDiffer<T> extends BeanDiffer<T> {
+        ReflectiveBeanDiffer(Class<T> type, List<String> properties, ReflectedGetter<?>[] getters) {
+            super(type, properties, getters);
+        }
+
+        @Override
+        protected boolean differs(T first, T second, @Nullable boolean[] changed) {
+            boolean differs = false;
+            ReflectedGetter<?>[] getters = this.getters;
+            for (int i = 0; i < getters.length; i++) {
+                if (! Objects.deepEquals(getters[i].get(first), getters[i].get(second))) {
+                    if (changed == null) {
+                        return true;
+                    }
+                    changed[i] = true;
+                    differs = true;
+                }
+            }
+            return differs;
+        }
+    }
+}
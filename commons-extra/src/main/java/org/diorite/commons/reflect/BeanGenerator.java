@@ -0,0 +1,438 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ClassCache;
+import org.diorite.commons.reflect.BeanCopier.ReflectiveBeanCopier;
+import org.diorite.commons.reflect.BeanDiffer.ReflectiveBeanDiffer;
+import org.diorite.commons.reflect.PropertyTable.Property;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves and generates {@link BeanCopier} and {@link BeanDiffer} implementations. <br>
+ * Generated class is defined in package of source bean class, properties accessible from that package are read and written
+ * directly, remaining ones use reflected getters and setters (but still without boxing of primitive values).
+ *
+ * @see InvokerGenerator
+ */
+final class BeanGenerator implements Opcodes {
+    private BeanGenerator() {}
+
+    private static final String COPIER_BASE = Type.getInternalName(BeanCopier.class);
+    private static final String DIFFER_BASE = Type.getInternalName(BeanDiffer.class);
+    private static final String GETTER      = Type.getInternalName(ReflectedGetter.class);
+    private static final String SETTER      = Type.getInternalName(ReflectedSetter.class);
+
+    private static final String COPIER_CONSTRUCTOR =
+            "(Ljava/lang/Class;Ljava/lang/Class;Ljava/util/List;[L" + GETTER + ";[L" + SETTER + ";)V";
+    private static final String DIFFER_CONSTRUCTOR = "(Ljava/lang/Class;Ljava/util/List;[L" + GETTER + ";)V";
+
+    private static final ClassCache<Map<Class<?>, BeanCopier<?, ?>>> copiers =
+            ClassCache.create("BeanGenerator.copiers", type -> new ConcurrentHashMap<>(4));
+    private static final ClassCache<BeanDiffer<?>>                   differs =
+            ClassCache.create("BeanGenerator.differs", BeanGenerator::createDiffer);
+
+    /**
+     * Returns cached copier between given types, copiers are cached in {@link ClassCache} of source type.
+     *
+     * @param sourceType type of source beans.
+     * @param targetType type of target beans.
+     * @param <A> type of source beans.
+     * @param <B> type of target beans.
+     *
+     * @return copier between given types.
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B> BeanCopier<A, B> copier(Class<A> sourceType, Class<B> targetType) {
+        Map<Class<?>, BeanCopier<?, ?>> copiers = BeanGenerator.copiers.get(sourceType);
+        BeanCopier<A, B> copier = (BeanCopier<A, B>) copiers.get(targetType);
+        if (copier == null) {
+            copier = createCopier(sourceType, targetType);
+            BeanCopier<A, B> previous = (BeanCopier<A, B>) copiers.putIfAbsent(targetType, copier);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return copier;
+    }
+
+    /**
+     * Returns cached differ of given type.
+     *
+     * @param type type of beans.
+     * @param <T> type of beans.
+     *
+     * @return differ of given type.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BeanDiffer<T> differ(Class<T> type) {
+        return (BeanDiffer<T>) differs.get(type);
+    }
+
+    private static <A, B> BeanCopier<A, B> createCopier(Class<A> sourceType, Class<B> targetType) {
+        Map<String, Property> sourceProperties = new HashMap<>(20);
+        for (Property property: PropertyTable.of(sourceType).getProperties()) {
+            if (property.isReadable()) {
+                sourceProperties.put(PropertyTable.key(property.name), property);
+            }
+        }
+        List<Property> sources = new ArrayList<>(sourceProperties.size());
+        List<Property> targets = new ArrayList<>(sourceProperties.size());
+        List<String> names = new ArrayList<>(sourceProperties.size());
+        for (Property target: PropertyTable.of(targetType).getProperties()) {
+            Property source = sourceProperties.get(PropertyTable.key(target.name));
+            if ((source == null) || ! target.isWritable() || ! TypeUtils.isAssignable(source.type, target.getWriterType(), true)) {
+                continue;
+            }
+            sources.add(source);
+            targets.add(target);
+            names.add(target.name);
+        }
+        ReflectedGetter<?>[] getters = new ReflectedGetter<?>[sources.size()];
+        ReflectedSetter<?>[] setters = new ReflectedSetter<?>[targets.size()];
+        Class<?>[] types = new Class<?>[targets.size()];
+        for (int i = 0; i < getters.length; i++) {
+            getters[i] = sources.get(i).getter();
+            setters[i] = targets.get(i).setter();
+            types[i] = targets.get(i).getWriterType();
+        }
+        names = Collections.unmodifiableList(names);
+
+        if (canGenerate(sourceType, BeanCopier.class) && isVisible(sourceType, targetType) && isAccessible(sourceType, targetType)) {
+            BeanCopier<A, B> copier = generateCopier(sourceType, targetType, sources, targets, names, getters, setters);
+            if (copier != null) {
+                return copier;
+            }
+        }
+        for (int i = 0; i < getters.length; i++) {
+            ensureAccessible(getters[i], sources.get(i).reader);
+            ensureAccessible(setters[i], targets.get(i).writer);
+        }
+        return new ReflectiveBeanCopier<>(sourceType, targetType, names, getters, setters, types);
+    }
+
+    private static <T> BeanDiffer<T> createDiffer(Class<T> type) {
+        List<Property> properties = new ArrayList<>(20);
+        List<String> names = new ArrayList<>(20);
+        for (Property property: PropertyTable.of(type).getProperties()) {
+            if (property.isReadable()) {
+                properties.add(property);
+                names.add(property.name);
+            }
+        }
+        ReflectedGetter<?>[] getters = new ReflectedGetter<?>[properties.size()];
+        for (int i = 0; i < getters.length; i++) {
+            getters[i] = properties.get(i).getter();
+        }
+        names = Collections.unmodifiableList(names);
+
+        if (canGenerate(type, BeanDiffer.class)) {
+            BeanDiffer<T> differ = generateDiffer(type, properties, names, getters);
+            if (differ != null) {
+                return differ;
+            }
+        }
+        for (int i = 0; i < getters.length; i++) {
+            ensureAccessible(getters[i], properties.get(i).reader);
+        }
+        return new ReflectiveBeanDiffer<>(type, names, getters);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <A, B> BeanCopier<A, B> generateCopier(Class<A> sourceType, Class<B> targetType, List<Property> sources,
+                                                          List<Property> targets, List<String> names, ReflectedGetter<?>[] getters,
+                                                          ReflectedSetter<?>[] setters) {
+        String name = InvokerGenerator.className(sourceType);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, COPIER_BASE, null);
+        generateConstructor(cw, COPIER_BASE, COPIER_CONSTRUCTOR);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "copy", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        String sourceOwner = Type.getInternalName(sourceType);
+        String targetOwner = Type.getInternalName(targetType);
+        for (int i = 0; i < sources.size(); i++) {
+            Property source = sources.get(i);
+            Property target = targets.get(i);
+            Class<?> targetValueType = target.getWriterType();
+            if (isAccessible(sourceType, sourceType, source.reader) && isAccessible(sourceType, targetType, target.writer)) {
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitTypeInsn(CHECKCAST, targetOwner);
+                read(mv, sourceType, sourceOwner, source.reader, 1);
+                convert(mv, source.type, targetValueType);
+                write(mv, targetType, targetOwner, target.writer);
+                continue;
+            }
+            ensureAccessible(getters[i], source.reader);
+            ensureAccessible(setters[i], target.writer);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, COPIER_BASE, "setters", "[L" + SETTER + ";");
+            InvokerGenerator.pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, COPIER_BASE, "getters", "[L" + GETTER + ";");
+            InvokerGenerator.pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ALOAD, 1);
+            if (targetValueType.isPrimitive()) {
+                String descriptor = Type.getDescriptor(targetValueType);
+                String suffix = accessorSuffix(targetValueType);
+                mv.visitMethodInsn(INVOKEINTERFACE, GETTER, "get" + suffix, "(Ljava/lang/Object;)" + descriptor, true);
+                mv.visitMethodInsn(INVOKEINTERFACE, SETTER, "set" + suffix, "(Ljava/lang/Object;" + descriptor + ")V", true);
+            }
+            else {
+                mv.visitMethodInsn(INVOKEINTERFACE, GETTER, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+                mv.visitMethodInsn(INVOKEINTERFACE, SETTER, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", true);
+            }
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        Class<?>[] parameterTypes = {Class.class, Class.class, List.class, ReflectedGetter[].class, ReflectedSetter[].class};
+        return (BeanCopier<A, B>) instantiate(sourceType, cw.toByteArray(), parameterTypes, sourceType, targetType, names, getters,
+                                              setters);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <T> BeanDiffer<T> generateDiffer(Class<T> type, List<Property> properties, List<String> names,
+                                                    ReflectedGetter<?>[] getters) {
+        String name = InvokerGenerator.className(type);
+        ClassWriter cw = new FramesClassWriter();
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, DIFFER_BASE, null);
+        generateConstructor(cw, DIFFER_BASE, DIFFER_CONSTRUCTOR);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "differs", "(Ljava/lang/Object;Ljava/lang/Object;[Z)Z", null, null);
+        mv.visitCode();
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, 4);
+        String owner = Type.getInternalName(type);
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            Class<?> valueType = property.type;
+            if (isAccessible(type, type, property.reader)) {
+                read(mv, type, owner, property.reader, 1);
+                read(mv, type, owner, property.reader, 2);
+            }
+            else {
+                ensureAccessible(getters[i], property.reader);
+                readReflected(mv, i, valueType, 1);
+                readReflected(mv, i, valueType, 2);
+            }
+
+            Label equal = new Label();
+            switch (Type.getType(valueType).getSort()) {
+                case Type.BOOLEAN:
+                case Type.BYTE:
+                case Type.SHORT:
+                case Type.CHAR:
+                case Type.INT:
+                    mv.visitJumpInsn(IF_ICMPEQ, equal);
+                    break;
+                case Type.LONG:
+                    mv.visitInsn(LCMP);
+                    mv.visitJumpInsn(IFEQ, equal);
+                    break;
+                case Type.FLOAT:
+                    mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "compare", "(FF)I", false);
+                    mv.visitJumpInsn(IFEQ, equal);
+                    break;
+                case Type.DOUBLE:
+                    mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "compare", "(DD)I", false);
+                    mv.visitJumpInsn(IFEQ, equal);
+                    break;
+                default:
+                    String method = (valueType.isArray() || (valueType == Object.class)) ? "deepEquals" : "equals";
+                    mv.visitMethodInsn(INVOKESTATIC, "java/util/Objects", method, "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+                    mv.visitJumpInsn(IFNE, equal);
+                    break;
+            }
+            Label mark = new Label();
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitJumpInsn(IFNONNULL, mark);
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(IRETURN);
+            mv.visitLabel(mark);
+            mv.visitVarInsn(ALOAD, 3);
+            InvokerGenerator.pushInt(mv, i);
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(BASTORE);
+            mv.visitInsn(ICONST_1);
+            mv.visitVarInsn(ISTORE, 4);
+            mv.visitLabel(equal);
+        }
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        return (BeanDiffer<T>) instantiate(type, cw.toByteArray(), new Class<?>[]{Class.class, List.class, ReflectedGetter[].class}, type,
+                                           names, getters);
+    }
+
+    private static void generateConstructor(ClassWriter cw, String superName, String descriptor) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+        mv.visitCode();
+        int parameters = Type.getArgumentTypes(descriptor).length;
+        for (int i = 0; i <= parameters; i++) {
+            mv.visitVarInsn(ALOAD, i);
+        }
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", descriptor, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void read(MethodVisitor mv, Class<?> type, String owner, @Nullable Member reader, int local) {
+        mv.visitVarInsn(ALOAD, local);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        if (reader instanceof Method) {
+            Method method = (Method) reader;
+            mv.visitMethodInsn(type.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, owner, method.getName(),
+                               Type.getMethodDescriptor(method), type.isInterface());
+        }
+        else if (reader instanceof Field) {
+            Field field = (Field) reader;
+            mv.visitFieldInsn(GETFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+        }
+    }
+
+    private static void readReflected(MethodVisitor mv, int index, Class<?> valueType, int local) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, DIFFER_BASE, "getters", "[L" + GETTER + ";");
+        InvokerGenerator.pushInt(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ALOAD, local);
+        if (valueType.isPrimitive()) {
+            mv.visitMethodInsn(INVOKEINTERFACE, GETTER, "get" + accessorSuffix(valueType),
+                               "(Ljava/lang/Object;)" + Type.getDescriptor(valueType), true);
+        }
+        else {
+            mv.visitMethodInsn(INVOKEINTERFACE, GETTER, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+        }
+    }
+
+    private static void write(MethodVisitor mv, Class<?> type, String owner, @Nullable Member writer) {
+        if (writer instanceof Method) {
+            Method method = (Method) writer;
+            mv.visitMethodInsn(type.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, owner, method.getName(),
+                               Type.getMethodDescriptor(method), type.isInterface());
+        }
+        else if (writer instanceof Field) {
+            Field field = (Field) writer;
+            mv.visitFieldInsn(PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+        }
+    }
+
+    private static void convert(MethodVisitor mv, Class<?> from, Class<?> to) {
+        if (from.isPrimitive()) {
+            if (to.isPrimitive()) {
+                InvokerGenerator.widen(mv, from, to);
+            }
+            else {
+                InvokerGenerator.box(mv, from);
+            }
+        }
+        else if (to.isPrimitive()) {
+            Class<?> primitive = ReflectionUtils.getPrimitive(from);
+            InvokerGenerator.unbox(mv, primitive);
+            InvokerGenerator.widen(mv, primitive, to);
+        }
+    }
+
+    private static String accessorSuffix(Class<?> primitive) {
+        String name = primitive.getName();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void ensureAccessible(ReflectedElement<?> element, @Nullable Member member) {
+        if (! isPublic(member)) {
+            element.ensureAccessible();
+        }
+    }
+
+    private static boolean isPublic(@Nullable Member member) {
+        return (member != null) && Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(member.getDeclaringClass().getModifiers());
+    }
+
+    private static boolean canGenerate(Class<?> type, Class<?> baseClass) {
+        ClassLoader classLoader = type.getClassLoader();
+        return (classLoader != null) && isVisible(type, baseClass);
+    }
+
+    private static boolean isVisible(Class<?> from, Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, from.getClassLoader()) == type;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isAccessible(Class<?> from, Class<?> type) {
+        return InvokerGenerator.areAccessible(from, type);
+    }
+
+    private static boolean isAccessible(Class<?> from, Class<?> owner, @Nullable Member member) {
+        if ((member == null) || ! isAccessible(from, owner)) {
+            return false;
+        }
+        int modifiers = member.getModifiers();
+        if (Modifier.isPublic(modifiers)) {
+            return true;
+        }
+        if (Modifier.isPrivate(modifiers)) {
+            return false;
+        }
+        Class<?> declaringClass = member.getDeclaringClass();
+        return (declaringClass.getClassLoader() == from.getClassLoader()) && declaringClass.getPackageName().equals(from.getPackageName());
+    }
+
+    @Nullable
+    private static Object instantiate(Class<?> type, byte[] bytes, Class<?>[] parameterTypes, Object... arguments) {
+        try {
+            Class<?> generated = MethodHandles.privateLookupIn(type, MethodHandles.lookup()).defineClass(bytes);
+            return generated.getConstructor(parameterTypes).newInstance(arguments);
+        }
+        catch (Exception | LinkageError e) {
+            // class can't be defined in this package (like named modules), fallback to reflections.
+            return null;
+        }
+    }
+
+    /**
+     * Class writer computing stack map frames, generated methods only merge frames with the same local types, so common super class
+     * is never really needed.
+     */
+    private static final class FramesClassWriter extends ClassWriter {
+        private FramesClassWriter() {
+            super(ClassWriter.COMPUTE_FRAMES);
+        }
+
+        @Override
+        protected String getCommonSuperClass(String type1, String type2) {
+            return "java/lang/Object";
+        }
+    }
+}
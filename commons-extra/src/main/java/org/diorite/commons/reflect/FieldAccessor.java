@@ -43,7 +43,8 @@ import java.lang.reflect.Type;
  * @param <T> type of field.
  */
 class FieldAccessor<T> implements ReflectedProperty<T> {
-    protected final Field field;
+    protected final Field        field;
+    private final   TypedHandles typedHandles = new TypedHandles(this, this);
 
     /**
      * Construct new invoker for given constructor, it don't check its accessible status.
@@ -127,6 +128,86 @@ class FieldAccessor<T> implements ReflectedProperty<T> {
         throw new IllegalArgumentException("Expected object instance and none or one parameter.");
     }
 
+    @Override
+    public boolean getBoolean(@Nullable Object src) {
+        return this.typedHandles.getBoolean(src);
+    }
+
+    @Override
+    public byte getByte(@Nullable Object src) {
+        return this.typedHandles.getByte(src);
+    }
+
+    @Override
+    public short getShort(@Nullable Object src) {
+        return this.typedHandles.getShort(src);
+    }
+
+    @Override
+    public char getChar(@Nullable Object src) {
+        return this.typedHandles.getChar(src);
+    }
+
+    @Override
+    public int getInt(@Nullable Object src) {
+        return this.typedHandles.getInt(src);
+    }
+
+    @Override
+    public long getLong(@Nullable Object src) {
+        return this.typedHandles.getLong(src);
+    }
+
+    @Override
+    public float getFloat(@Nullable Object src) {
+        return this.typedHandles.getFloat(src);
+    }
+
+    @Override
+    public double getDouble(@Nullable Object src) {
+        return this.typedHandles.getDouble(src);
+    }
+
+    @Override
+    public void setBoolean(@Nullable Object src, boolean value) {
+        this.typedHandles.setBoolean(src, value);
+    }
+
+    @Override
+    public void setByte(@Nullable Object src, byte value) {
+        this.typedHandles.setByte(src, value);
+    }
+
+    @Override
+    public void setShort(@Nullable Object src, short value) {
+        this.typedHandles.setShort(src, value);
+    }
+
+    @Override
+    public void setChar(@Nullable Object src, char value) {
+        this.typedHandles.setChar(src, value);
+    }
+
+    @Override
+    public void setInt(@Nullable Object src, int value) {
+        this.typedHandles.setInt(src, value);
+    }
+
+    @Override
+    public void setLong(@Nullable Object src, long value) {
+        this.typedHandles.setLong(src, value);
+    }
+
+    @Override
+    public void setFloat(@Nullable Object src, float value) {
+        this.typedHandles.setFloat(src, value);
+    }
+
+    @Override
+    public void setDouble(@Nullable Object src, double value) {
+        this.typedHandles.setDouble(src, value);
+    }
+
     @Override
     public String getName() {
         return this.field.getName();
@@ -1,9 +1,12 @@
 package org.diorite.commons.reflect;
 
-import org.diorite.commons.function.predicate.IntPredicate;
+import org.diorite.commons.reflect.MemberIndex.Bucket;
+import org.diorite.commons.reflect.MemberIndex.Entry;
 import org.diorite.commons.reflect.type.TypeMatcher;
 import org.diorite.commons.reflect.type.TypeToken;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,75 +16,68 @@ public final class FieldLookup<T, R> extends MemberLookup<T, R, FieldLookup<T, R
     static final int SYNTHETIC = 0x00001000;
     static final int ENUM      = 0x00004000;
 
-    protected IntPredicate isVolatile  = modifier -> true;
-    protected IntPredicate isTransient = modifier -> true;
-    protected IntPredicate isSynthetic = modifier -> true;
-    protected IntPredicate isEnum      = modifier -> true;
-
     FieldLookup(Class<T> inClass) {
         super(inClass);
     }
 
     public <RR> FieldLookup<T, RR> typeExact(TypeToken<RR> returnType) {
-        return this.type(TypeMatcher.is(returnType));
+        return this.type0(TypeMatcher.is(returnType), matcherKey("is", returnType.getType()));
     }
 
     public <RR> FieldLookup<T, RR> type(Class<RR> returnType) {
-        return this.type(TypeMatcher.isClass(returnType));
+        return this.type0(TypeMatcher.isClass(returnType), matcherKey("isClass", returnType));
     }
 
     public <RR> FieldLookup<T, RR> typeAssignableTo(Class<RR> returnType) {
-        return this.type(TypeMatcher.assignable(TypeToken.get(returnType)));
+        return this.type0(TypeMatcher.assignable(TypeToken.get(returnType)), matcherKey("assignable", returnType));
     }
 
     public <RR> FieldLookup<T, RR> typeAssignableTo(TypeToken<RR> returnType) {
-        return this.type(TypeMatcher.assignable(returnType));
+        return this.type0(TypeMatcher.assignable(returnType), matcherKey("assignable", returnType.getType()));
     }
 
-    @SuppressWarnings("unchecked")
     public <RR> FieldLookup<T, RR> type(TypeMatcher<RR> typeMatcher) {
+        this.uncacheable();
+        return this.type0(typeMatcher, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <RR> FieldLookup<T, RR> type0(TypeMatcher<? extends RR> typeMatcher, @Nullable Object key) {
         this.resultType = typeMatcher;
+        this.resultTypeKey = key;
         return (FieldLookup<T, RR>) this;
     }
 
     public FieldLookup<T, R> isVolatile() {
-        this.isVolatile = Modifier::isVolatile;
-        return this.lookup();
+        return this.modifier(Modifier.VOLATILE, true);
     }
 
     public FieldLookup<T, R> notVolatile() {
-        this.isVolatile = IntPredicate.negated(Modifier::isVolatile);
-        return this.lookup();
+        return this.modifier(Modifier.VOLATILE, false);
     }
 
     public FieldLookup<T, R> isTransient() {
-        this.isTransient = Modifier::isTransient;
-        return this.lookup();
+        return this.modifier(Modifier.TRANSIENT, true);
     }
 
     public FieldLookup<T, R> notTransient() {
-        this.isTransient = IntPredicate.negated(Modifier::isTransient);
-        return this.lookup();
+        return this.modifier(Modifier.TRANSIENT, false);
     }
 
     public FieldLookup<T, R> isEnum() {
-        this.isEnum = FieldLookup::isEnum;
-        return this.lookup();
+        return this.modifier(ENUM, true);
     }
 
     public FieldLookup<T, R> notEnum() {
-        this.isEnum = IntPredicate.negated(FieldLookup::isEnum);
-        return this.lookup();
+        return this.modifier(ENUM, false);
     }
 
     public FieldLookup<T, R> isSynthetic() {
-        this.isSynthetic = FieldLookup::isTransient;
-        return this.lookup();
+        return this.modifier(SYNTHETIC, true);
     }
 
     public FieldLookup<T, R> notSynthetic() {
-        this.isTransient = IntPredicate.negated(FieldLookup::isTransient);
-        return this.lookup();
+        return this.modifier(SYNTHETIC, false);
     }
 
     public Optional<ReflectedProperty<R>> tryFindExact() {
@@ -101,18 +97,24 @@ public final class FieldLookup<T, R> extends MemberLookup<T, R, FieldLookup<T, R
     }
 
     private Optional<ReflectedProperty<R>> find0(boolean exact) {
-        List<? extends ReflectedProperty<R>> all = this.findAll0();
+        Optional<ReflectedProperty<R>> property = LookupCache.get(this.inClass, this.cacheKey(exact ? "findExact" : "findAny"),
+                                                                  () -> this.find1(exact));
+        if (this.ensureAccessible) {
+            property.ifPresent(ReflectedProperty::ensureAccessible);
+        }
+        return property;
+    }
+
+    private Optional<ReflectedProperty<R>> find1(boolean exact) {
+        // not using cached findAll0, as this is already a cache miss.
+        List<? extends ReflectedProperty<R>> all = this.collect();
         if (all.isEmpty()) {
             return Optional.empty();
         }
         if (exact && (all.size() > 1)) {
             throw new IllegalStateException("Matched more than one method: " + all);
         }
-        ReflectedProperty<R> property = all.get(0);
-        if (this.ensureAccessible) {
-            property.ensureAccessible();
-        }
-        return Optional.of(property);
+        return Optional.of(all.get(0));
     }
 
     public List<? extends ReflectedProperty<R>> findAll() {
@@ -124,16 +126,29 @@ public final class FieldLookup<T, R> extends MemberLookup<T, R, FieldLookup<T, R
     }
 
     public List<? extends ReflectedProperty<R>> findAll0() {
-        List<ReflectedProperty<R>> results = new ArrayList<>();
+        return LookupCache.get(this.inClass, this.cacheKey("findAll"), this::collect);
+    }
 
-        return results;
+    @Override
+    void appendKey(List<Object> key) {
+        key.add("fields");
     }
 
-    private static boolean isTransient(int modifiers) {
-        return (modifiers & SYNTHETIC) != 0;
+    private List<ReflectedProperty<R>> collect() {
+        MemberIndex index = this.inSupertypes ? MemberIndex.hierarchy(this.inClass) : MemberIndex.declared(this.inClass);
+        Bucket candidates = (this.exactName != null) ? index.fields(this.exactName) : index.fields();
+        List<ReflectedProperty<R>> results = new ArrayList<>(4);
+        for (Entry entry: candidates.select(this.requiredModifiers, this.forbiddenModifiers)) {
+            if (this.matches(entry)) {
+                results.add(entry.asProperty());
+            }
+        }
+        return this.select(results);
     }
 
-    private static boolean isEnum(int modifiers) {
-        return (modifiers & ENUM) != 0;
+    private boolean matches(Entry entry) {
+        Field field = (Field) entry.member;
+        return this.nameMatcher.test(field.getName()) && this.matchesMember(field) &&
+               this.resultType.test(field.getGenericType());
     }
 }
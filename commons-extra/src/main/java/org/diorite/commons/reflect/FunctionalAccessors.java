@@ -0,0 +1,275 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ExceptionUtils;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates functional interface views of {@link ReflectedGetter} and {@link ReflectedSetter}. <br>
+ * Getter and setter methods are bound using {@link LambdaMetafactory}, so JIT can inline them like normal lambdas, fields are accessed
+ * by classes generated by {@link InvokerGenerator}, and everything else (like private fields, or members of classes from named
+ * modules) uses exactly typed {@link MethodHandle}, so primitive views does not box values.
+ */
+final class FunctionalAccessors {
+    private FunctionalAccessors() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, T> function(ReflectedGetter<T> getter) {
+        return (Function<Object, T>) getter(getter, Function.class, "apply", Object.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Predicate<Object> predicate(ReflectedGetter<?> getter) {
+        return (Predicate<Object>) getter(getter, Predicate.class, "test", boolean.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ToIntFunction<Object> intFunction(ReflectedGetter<?> getter) {
+        return (ToIntFunction<Object>) getter(getter, ToIntFunction.class, "applyAsInt", int.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ToLongFunction<Object> longFunction(ReflectedGetter<?> getter) {
+        return (ToLongFunction<Object>) getter(getter, ToLongFunction.class, "applyAsLong", long.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ToDoubleFunction<Object> doubleFunction(ReflectedGetter<?> getter) {
+        return (ToDoubleFunction<Object>) getter(getter, ToDoubleFunction.class, "applyAsDouble", double.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> BiConsumer<Object, T> consumer(ReflectedSetter<T> setter) {
+        return (BiConsumer<Object, T>) setter(setter, BiConsumer.class, Object.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjIntConsumer<Object> intConsumer(ReflectedSetter<?> setter) {
+        return (ObjIntConsumer<Object>) setter(setter, ObjIntConsumer.class, int.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjLongConsumer<Object> longConsumer(ReflectedSetter<?> setter) {
+        return (ObjLongConsumer<Object>) setter(setter, ObjLongConsumer.class, long.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjDoubleConsumer<Object> doubleConsumer(ReflectedSetter<?> setter) {
+        return (ObjDoubleConsumer<Object>) setter(setter, ObjDoubleConsumer.class, double.class);
+    }
+
+    private static Object getter(ReflectedGetter<?> getter, Class<?> functionType, String methodName, Class<?> valueType) {
+        if (getter instanceof ReflectedPropertyImpl) {
+            ReflectedGetter<?> propertyGetter = ((ReflectedPropertyImpl<?>) getter).getReflectedGetter();
+            if (propertyGetter == null) {
+                throw new IllegalStateException("Getter not provided.");
+            }
+            getter = propertyGetter;
+        }
+        Class<?> type = getter.getType();
+        if (valueType.isPrimitive()) {
+            checkConversion(type, valueType, getter);
+        }
+        Member member = memberOf(getter);
+        Object function = null;
+        if (member instanceof Field) {
+            function = InvokerGenerator.generateFunction((Field) member, functionType, methodName, valueType, false);
+        }
+        else if ((member instanceof Method) && ! Modifier.isStatic(member.getModifiers())) {
+            Method method = (Method) member;
+            MethodType instantiatedType = MethodType.methodType(valueType.isPrimitive() ? valueType : ReflectionUtils.getWrapperClass(type),
+                                                                method.getDeclaringClass());
+            function = metafactory(method, functionType, methodName, MethodType.methodType(valueType, Object.class), instantiatedType);
+        }
+        if (function != null) {
+            return function;
+        }
+        return handleGetter(getter, valueType);
+    }
+
+    private static Object setter(ReflectedSetter<?> setter, Class<?> functionType, Class<?> valueType) {
+        if (setter instanceof ReflectedPropertyImpl) {
+            ReflectedSetter<?> propertySetter = ((ReflectedPropertyImpl<?>) setter).getReflectedSetter();
+            if (propertySetter == null) {
+                throw new IllegalStateException("Setter not provided.");
+            }
+            setter = propertySetter;
+        }
+        Member member = memberOf(setter);
+        Class<?> type = (member instanceof Method) ? ((Method) member).getParameterTypes()[0] : setter.getType();
+        if (valueType.isPrimitive()) {
+            checkConversion(valueType, type, setter);
+        }
+        Object function = null;
+        if (member instanceof Field) {
+            function = InvokerGenerator.generateFunction((Field) member, functionType, "accept", valueType, true);
+        }
+        else if ((member instanceof Method) && ! Modifier.isStatic(member.getModifiers())) {
+            Method method = (Method) member;
+            MethodType instantiatedType = MethodType.methodType(void.class, method.getDeclaringClass(),
+                                                                valueType.isPrimitive() ? valueType : ReflectionUtils.getWrapperClass(type));
+            function = metafactory(method, functionType, "accept", MethodType.methodType(void.class, Object.class, valueType),
+                                   instantiatedType);
+        }
+        if (function != null) {
+            return function;
+        }
+        return handleSetter(setter, valueType);
+    }
+
+    @Nullable
+    private static Member memberOf(ReflectedElement<?> element) {
+        if (element instanceof FieldAccessor) {
+            return ((FieldAccessor<?>) element).field;
+        }
+        if (element instanceof MethodInvokerReflectedGetter) {
+            return ((MethodInvokerReflectedGetter<?>) element).getMethodInvoker().getExecutable();
+        }
+        if (element instanceof MethodInvokerReflectedSetter) {
+            return ((MethodInvokerReflectedSetter<?>) element).getMethodInvoker().getExecutable();
+        }
+        return null;
+    }
+
+    private static void checkConversion(Class<?> from, Class<?> to, ReflectedElement<?> element) {
+        if (! TypeUtils.isAssignable(from, to, true)) {
+            throw new IllegalStateException("Can't convert " + from.getName() + " to " + to.getName() + " in " + element);
+        }
+    }
+
+    @Nullable
+    private static Object metafactory(Method method, Class<?> functionType, String methodName, MethodType samType,
+                                      MethodType instantiatedType) {
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionType), samType,
+                                                              lookup.unreflect(method), instantiatedType);
+            return callSite.getTarget().invoke();
+        }
+        catch (Throwable e) {
+            // method from class of named module, fallback to method handles.
+            return null;
+        }
+    }
+
+    private static Object handleGetter(ReflectedGetter<?> getter, Class<?> valueType) {
+        MethodHandle handle = getter.getGetter();
+        if (handle.type().parameterCount() == 0) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle exact = handle.asType(MethodType.methodType(valueType, Object.class));
+        if (valueType == int.class) {
+            return (ToIntFunction<Object>) src -> {
+                try {
+                    return (int) exact.invokeExact(src);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        if (valueType == long.class) {
+            return (ToLongFunction<Object>) src -> {
+                try {
+                    return (long) exact.invokeExact(src);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        if (valueType == double.class) {
+            return (ToDoubleFunction<Object>) src -> {
+                try {
+                    return (double) exact.invokeExact(src);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        if (valueType == boolean.class) {
+            return (Predicate<Object>) src -> {
+                try {
+                    return (boolean) exact.invokeExact(src);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        return (Function<Object, Object>) src -> {
+            try {
+                return (Object) exact.invokeExact(src);
+            }
+            catch (Throwable e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    private static Object handleSetter(ReflectedSetter<?> setter, Class<?> valueType) {
+        MethodHandle handle = setter.getSetter();
+        if (handle.type().parameterCount() == 1) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle exact = handle.asType(MethodType.methodType(void.class, Object.class, valueType));
+        if (valueType == int.class) {
+            return (ObjIntConsumer<Object>) (src, value) -> {
+                try {
+                    exact.invokeExact(src, value);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        if (valueType == long.class) {
+            return (ObjLongConsumer<Object>) (src, value) -> {
+                try {
+                    exact.invokeExact(src, value);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        if (valueType == double.class) {
+            return (ObjDoubleConsumer<Object>) (src, value) -> {
+                try {
+                    exact.invokeExact(src, value);
+                }
+                catch (Throwable e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            };
+        }
+        return (BiConsumer<Object, Object>) (src, value) -> {
+            try {
+                exact.invokeExact(src, value);
+            }
+            catch (Throwable e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+}
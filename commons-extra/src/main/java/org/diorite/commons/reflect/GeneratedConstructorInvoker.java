@@ -0,0 +1,55 @@
+package org.diorite.commons.reflect;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Constructor;
+
+/**
+ * Base class for constructor invokers generated at runtime by {@link InvokerGenerator}. <br>
+ * Generated classes are defined in package of constructor declaring class, so this class must be public, it should not be used
+ * directly.
+ *
+ * <br>
+ * Arguments of invalid types are rejected by generated code before constructor is called, such invocations are repeated using
+ * reflections, so they fail with the same exceptions as in {@link ConstructorInvoker}.
+ *
+ * @param <T> type of created object.
+ */
+@SuppressWarnings("unchecked")
+public abstract class GeneratedConstructorInvoker<T> extends ConstructorInvoker<T> {
+    private final int        parameterCount;
+    private final Class<?>[] parameterTypes;
+
+    protected GeneratedConstructorInvoker(Constructor<?> constructor) {
+        super(constructor);
+        this.parameterCount = constructor.getParameterCount();
+        this.parameterTypes = constructor.getParameterTypes();
+    }
+
+    @Nonnull
+    @Override
+    public final T invokeWith(Object... arguments) {
+        if (arguments.length != this.parameterCount) {
+            throw new RuntimeException("Cannot invoke constructor " + this.getExecutable(),
+                                       new IllegalArgumentException("Expected " + this.parameterCount + " arguments but found: " +
+                                                                    arguments.length));
+        }
+        try {
+            return (T) this.invoke0(arguments);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            if (InvokerGenerator.accepts(this.parameterTypes, arguments)) {
+                throw e;
+            }
+            return super.invokeWith(arguments);
+        }
+    }
+
+    /**
+     * Invoke constructor directly, without any validation.
+     *
+     * @param arguments arguments for constructor, array length must match parameter count.
+     *
+     * @return new object.
+     */
+    protected abstract Object invoke0(Object[] arguments);
+}
@@ -0,0 +1,66 @@
+package org.diorite.commons.reflect;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+
+/**
+ * Base class for field accessors generated at runtime by {@link InvokerGenerator}. <br>
+ * Generated classes are defined in package of field declaring class, so this class must be public, it should not be used directly.
+ * <br>
+ * Final fields can't be written by generated code, so setter of such fields still use reflections. Access with invalid target or
+ * value type is also repeated using reflections, so it fails with the same exceptions as in {@link FieldAccessor}.
+ *
+ * @param <T> type of field.
+ */
+public abstract class GeneratedFieldAccessor<T> extends FieldAccessor<T> {
+    private final boolean writable;
+
+    protected GeneratedFieldAccessor(Field field, boolean writable) {
+        super(field);
+        this.writable = writable;
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public final T get(@Nullable Object target) {
+        try {
+            return (T) this.get0(target);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            return super.get(target);
+        }
+    }
+
+    @Override
+    public final void set(@Nullable Object target, @Nullable Object value) {
+        if (! this.writable) {
+            super.set(target, value);
+            return;
+        }
+        try {
+            this.set0(target, value);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            super.set(target, value);
+        }
+    }
+
+    /**
+     * Read field value directly.
+     *
+     * @param target target object, null for static fields.
+     *
+     * @return field value.
+     */
+    @Nullable
+    protected abstract Object get0(@Nullable Object target);
+
+    /**
+     * Write field value directly, never called for final fields.
+     *
+     * @param target target object, null for static fields.
+     * @param value new value of field.
+     */
+    protected abstract void set0(@Nullable Object target, @Nullable Object value);
+}
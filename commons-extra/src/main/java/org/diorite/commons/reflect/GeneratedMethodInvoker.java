@@ -0,0 +1,64 @@
+package org.diorite.commons.reflect;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Base class for method invokers generated at runtime by {@link InvokerGenerator}. <br>
+ * Generated classes are defined in package of method declaring class, so this class must be public, it should not be used directly.
+ *
+ * <br>
+ * Arguments of invalid types are rejected by generated code before method is called, such invocations are repeated using
+ * reflections, so they fail with the same exceptions as in {@link MethodInvoker}.
+ *
+ * @param <T> return type of method.
+ */
+@SuppressWarnings("unchecked")
+public abstract class GeneratedMethodInvoker<T> extends MethodInvoker<T> {
+    private final int        parameterCount;
+    private final Class<?>[] parameterTypes;
+
+    protected GeneratedMethodInvoker(Method method) {
+        super(method);
+        this.parameterCount = method.getParameterCount();
+        this.parameterTypes = method.getParameterTypes();
+    }
+
+    @Nullable
+    @Override
+    public final T invoke(@Nullable Object target, Object... arguments) {
+        if (arguments.length != this.parameterCount) {
+            throw new RuntimeException("Cannot invoke method " + this.method,
+                                       new IllegalArgumentException("Expected " + this.parameterCount + " arguments but found: " +
+                                                                    arguments.length));
+        }
+        try {
+            return (T) this.invoke0(target, arguments);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            if (this.accepts(target, arguments)) {
+                throw e;
+            }
+            return super.invoke(target, arguments);
+        }
+    }
+
+    private boolean accepts(@Nullable Object target, Object[] arguments) {
+        if (! Modifier.isStatic(this.method.getModifiers()) && ! this.method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        return InvokerGenerator.accepts(this.parameterTypes, arguments);
+    }
+
+    /**
+     * Invoke method directly, without any validation.
+     *
+     * @param target target object, null for static methods.
+     * @param arguments arguments for method, array length must match parameter count.
+     *
+     * @return method invoke result, or null for void methods.
+     */
+    @Nullable
+    protected abstract Object invoke0(@Nullable Object target, Object[] arguments);
+}
@@ -0,0 +1,456 @@
+package org.diorite.commons.reflect;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates dedicated invoker classes for methods, constructors and fields using ASM. <br>
+ * Generated class is defined in package of declaring class of member, and directly invokes given member, so there is no access
+ * checks, argument array copying or {@link java.lang.reflect.InvocationTargetException} wrapping on each call. <br>
+ * Generation is not possible (and methods of this class return null) for private members, members of classes that can't see this
+ * library classes (like bootstrap classes), or members using types not accessible from declaring class package.
+ */
+final class InvokerGenerator implements Opcodes {
+    private InvokerGenerator() {}
+
+    private static final Class<?>[] PRIMITIVES =
+            {boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class};
+
+    private static final String        CLASS_SUFFIX = "$$DioriteInvoker$";
+    private static final AtomicInteger counter      = new AtomicInteger();
+
+    private static final String METHOD_BASE      = Type.getInternalName(GeneratedMethodInvoker.class);
+    private static final String CONSTRUCTOR_BASE = Type.getInternalName(GeneratedConstructorInvoker.class);
+    private static final String FIELD_BASE       = Type.getInternalName(GeneratedFieldAccessor.class);
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> MethodInvoker<T> generate(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (! canGenerate(method, GeneratedMethodInvoker.class) || ! areAccessible(declaringClass, method.getParameterTypes())) {
+            return null;
+        }
+        String name = className(declaringClass);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, METHOD_BASE, null);
+        generateConstructor(cw, METHOD_BASE, Type.getDescriptor(Method.class), false);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "invoke0", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        String owner = Type.getInternalName(declaringClass);
+        if (! isStatic) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, owner);
+        }
+        loadArguments(mv, 2, method.getParameterTypes());
+        boolean isInterface = declaringClass.isInterface();
+        int opcode = isStatic ? INVOKESTATIC : (isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL);
+        mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method), isInterface);
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            mv.visitInsn(ACONST_NULL);
+        }
+        else {
+            box(mv, returnType);
+        }
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        return (MethodInvoker<T>) instantiate(declaringClass, cw.toByteArray(), Method.class, method);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> ConstructorInvoker<T> generate(Constructor<?> constructor) {
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        if (Modifier.isAbstract(declaringClass.getModifiers()) || declaringClass.isEnum()) {
+            return null;
+        }
+        if (! canGenerate(constructor, GeneratedConstructorInvoker.class) ||
+            ! areAccessible(declaringClass, constructor.getParameterTypes())) {
+            return null;
+        }
+        String name = className(declaringClass);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, CONSTRUCTOR_BASE, null);
+        generateConstructor(cw, CONSTRUCTOR_BASE, Type.getDescriptor(Constructor.class), false);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "invoke0", "([Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        String owner = Type.getInternalName(declaringClass);
+        mv.visitTypeInsn(NEW, owner);
+        mv.visitInsn(DUP);
+        loadArguments(mv, 1, constructor.getParameterTypes());
+        mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", Type.getConstructorDescriptor(constructor), false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        return (ConstructorInvoker<T>) instantiate(declaringClass, cw.toByteArray(), Constructor.class, constructor);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> FieldAccessor<T> generate(Field field) {
+        Class<?> declaringClass = field.getDeclaringClass();
+        Class<?> type = field.getType();
+        if (! canGenerate(field, GeneratedFieldAccessor.class) || ! areAccessible(declaringClass, type)) {
+            return null;
+        }
+        int modifiers = field.getModifiers();
+        boolean isStatic = Modifier.isStatic(modifiers);
+        boolean writable = ! Modifier.isFinal(modifiers);
+        String owner = Type.getInternalName(declaringClass);
+        String descriptor = Type.getDescriptor(type);
+        String name = className(declaringClass);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, FIELD_BASE, null);
+        generateConstructor(cw, FIELD_BASE, Type.getDescriptor(Field.class), writable);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get0", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        if (isStatic) {
+            mv.visitFieldInsn(GETSTATIC, owner, field.getName(), descriptor);
+        }
+        else {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, owner);
+            mv.visitFieldInsn(GETFIELD, owner, field.getName(), descriptor);
+        }
+        box(mv, type);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "set0", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        if (writable) {
+            if (! isStatic) {
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, owner);
+            }
+            mv.visitVarInsn(ALOAD, 2);
+            unbox(mv, type);
+            mv.visitFieldInsn(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), descriptor);
+            mv.visitInsn(RETURN);
+        }
+        else {
+            // never called, final fields are written by reflections.
+            mv.visitTypeInsn(NEW, "java/lang/UnsupportedOperationException");
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/UnsupportedOperationException", "<init>", "()V", false);
+            mv.visitInsn(ATHROW);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        if (type.isPrimitive()) {
+            generatePrimitiveAccessors(cw, field, writable);
+        }
+        cw.visitEnd();
+
+        return (FieldAccessor<T>) instantiate(declaringClass, cw.toByteArray(), Field.class, field);
+    }
+
+    /**
+     * Generates class implementing given functional interface, that reads or writes given field. <br>
+     * Single abstract method of interface must take object instance as first parameter, and for setters value as second parameter,
+     * value is converted to/from given value type using primitive widening and boxing conversions.
+     *
+     * @param field field to access.
+     * @param functionType functional interface to implement.
+     * @param methodName name of single abstract method of interface.
+     * @param valueType type of value returned or accepted by method of interface.
+     * @param setter if generated function should write field.
+     *
+     * @return instance of generated function, or null if it can't be generated.
+     */
+    @Nullable
+    static Object generateFunction(Field field, Class<?> functionType, String methodName, Class<?> valueType, boolean setter) {
+        Class<?> declaringClass = field.getDeclaringClass();
+        Class<?> type = field.getType();
+        int modifiers = field.getModifiers();
+        if (Modifier.isPrivate(modifiers) || (declaringClass.getClassLoader() == null) || (setter && Modifier.isFinal(modifiers)) ||
+            ! areAccessible(declaringClass, type)) {
+            return null;
+        }
+        boolean isStatic = Modifier.isStatic(modifiers);
+        String owner = Type.getInternalName(declaringClass);
+        String descriptor = Type.getDescriptor(type);
+        String valueDescriptor = valueType.isPrimitive() ? Type.getDescriptor(valueType) : "Ljava/lang/Object;";
+        String name = className(declaringClass);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, "java/lang/Object",
+                 new String[]{Type.getInternalName(functionType)});
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        if (setter) {
+            mv = cw.visitMethod(ACC_PUBLIC, methodName, "(Ljava/lang/Object;" + valueDescriptor + ")V", null, null);
+            mv.visitCode();
+            if (! isStatic) {
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, owner);
+            }
+            if (valueType.isPrimitive()) {
+                Class<?> primitive = ReflectionUtils.getPrimitive(type);
+                mv.visitVarInsn(Type.getType(valueType).getOpcode(ILOAD), 2);
+                widen(mv, valueType, primitive);
+                if (primitive != type) {
+                    box(mv, primitive);
+                }
+            }
+            else {
+                mv.visitVarInsn(ALOAD, 2);
+                unbox(mv, type);
+            }
+            mv.visitFieldInsn(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), descriptor);
+            mv.visitInsn(RETURN);
+        }
+        else {
+            mv = cw.visitMethod(ACC_PUBLIC, methodName, "(Ljava/lang/Object;)" + valueDescriptor, null, null);
+            mv.visitCode();
+            if (isStatic) {
+                mv.visitFieldInsn(GETSTATIC, owner, field.getName(), descriptor);
+            }
+            else {
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, owner);
+                mv.visitFieldInsn(GETFIELD, owner, field.getName(), descriptor);
+            }
+            if (valueType.isPrimitive()) {
+                Class<?> primitive = ReflectionUtils.getPrimitive(type);
+                if (primitive != type) {
+                    unbox(mv, primitive);
+                }
+                widen(mv, primitive, valueType);
+                mv.visitInsn(Type.getType(valueType).getOpcode(IRETURN));
+            }
+            else {
+                box(mv, type);
+                mv.visitInsn(ARETURN);
+            }
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            return lookup.defineClass(cw.toByteArray()).getConstructor().newInstance();
+        }
+        catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Generates typed primitive accessors, like {@link ReflectedGetter#getInt(Object)}, for all primitive types that value of field
+     * can be widened to, and for writable fields setters for all primitive types that can be widened to type of field.
+     */
+    private static void generatePrimitiveAccessors(ClassWriter cw, Field field, boolean writable) {
+        Class<?> type = field.getType();
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        String owner = Type.getInternalName(field.getDeclaringClass());
+        String descriptor = Type.getDescriptor(type);
+        for (Class<?> primitive: PRIMITIVES) {
+            String suffix = Character.toUpperCase(primitive.getName().charAt(0)) + primitive.getName().substring(1);
+            Type primitiveType = Type.getType(primitive);
+            String primitiveDescriptor = primitiveType.getDescriptor();
+            if (TypeUtils.isAssignable(type, primitive, false)) {
+                MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get" + suffix, "(Ljava/lang/Object;)" + primitiveDescriptor, null, null);
+                mv.visitCode();
+                if (isStatic) {
+                    mv.visitFieldInsn(GETSTATIC, owner, field.getName(), descriptor);
+                }
+                else {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, owner);
+                    mv.visitFieldInsn(GETFIELD, owner, field.getName(), descriptor);
+                }
+                widen(mv, type, primitive);
+                mv.visitInsn(primitiveType.getOpcode(IRETURN));
+                mv.visitMaxs(0, 0);
+                mv.visitEnd();
+            }
+            if (writable && TypeUtils.isAssignable(primitive, type, false)) {
+                String setterDescriptor = "(Ljava/lang/Object;" + primitiveDescriptor + ")V";
+                MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "set" + suffix, setterDescriptor, null, null);
+                mv.visitCode();
+                if (! isStatic) {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, owner);
+                }
+                mv.visitVarInsn(primitiveType.getOpcode(ILOAD), 2);
+                widen(mv, primitive, type);
+                mv.visitFieldInsn(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), descriptor);
+                mv.visitInsn(RETURN);
+                mv.visitMaxs(0, 0);
+                mv.visitEnd();
+            }
+        }
+    }
+
+    private static boolean canGenerate(Member member, Class<?> baseClass) {
+        if (Modifier.isPrivate(member.getModifiers())) {
+            return false;
+        }
+        ClassLoader classLoader = member.getDeclaringClass().getClassLoader();
+        if (classLoader == null) {
+            return false;
+        }
+        try {
+            return Class.forName(baseClass.getName(), false, classLoader) == baseClass;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static boolean areAccessible(Class<?> from, Class<?>... types) {
+        for (Class<?> type: types) {
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            if (type.isPrimitive() || Modifier.isPublic(type.getModifiers())) {
+                continue;
+            }
+            if ((type.getClassLoader() != from.getClassLoader()) || ! type.getPackageName().equals(from.getPackageName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String className(Class<?> declaringClass) {
+        return Type.getInternalName(declaringClass) + CLASS_SUFFIX + counter.incrementAndGet();
+    }
+
+    private static void generateConstructor(ClassWriter cw, String superName, String memberDescriptor, boolean writable) {
+        boolean field = superName.equals(FIELD_BASE);
+        String descriptor = field ? ("(" + memberDescriptor + "Z)V") : ("(" + memberDescriptor + ")V");
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "(" + memberDescriptor + ")V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        if (field) {
+            mv.visitInsn(writable ? ICONST_1 : ICONST_0);
+        }
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", descriptor, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void loadArguments(MethodVisitor mv, int arrayIndex, Class<?>[] parameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(ALOAD, arrayIndex);
+            pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            unbox(mv, parameterTypes[i]);
+        }
+    }
+
+    /**
+     * Returns true if given arguments pass checks of code generated by {@link #loadArguments(MethodVisitor, int, Class[])}.
+     */
+    static boolean accepts(Class<?>[] parameterTypes, Object[] arguments) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            Object argument = arguments[i];
+            if (type.isPrimitive() ? ! ReflectionUtils.getWrapperClass(type).isInstance(argument) :
+                ((argument != null) && ! type.isInstance(argument))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        }
+        else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        }
+        else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+
+    static void box(MethodVisitor mv, Class<?> type) {
+        if (! type.isPrimitive()) {
+            return;
+        }
+        String wrapper = Type.getInternalName(ReflectionUtils.getWrapperClass(type));
+        mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf", "(" + Type.getDescriptor(type) + ")L" + wrapper + ";", false);
+    }
+
+    static void widen(MethodVisitor mv, Class<?> from, Class<?> to) {
+        Type fromType = Type.getType(from);
+        Type toType = Type.getType(to);
+        int fromSort = (fromType.getSort() <= Type.INT) ? Type.INT : fromType.getSort();
+        int toSort = (toType.getSort() <= Type.INT) ? Type.INT : toType.getSort();
+        if (fromSort == toSort) {
+            return;
+        }
+        switch (fromSort) {
+            case Type.INT:
+                mv.visitInsn((toSort == Type.LONG) ? I2L : ((toSort == Type.FLOAT) ? I2F : I2D));
+                break;
+            case Type.LONG:
+                mv.visitInsn((toSort == Type.FLOAT) ? L2F : L2D);
+                break;
+            case Type.FLOAT:
+                mv.visitInsn(F2D);
+                break;
+            default:
+                throw new IllegalArgumentException("Can't widen " + from + " to " + to);
+        }
+    }
+
+    static void unbox(MethodVisitor mv, Class<?> type) {
+        if (! type.isPrimitive()) {
+            if (type != Object.class) {
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            }
+            return;
+        }
+        String wrapper = Type.getInternalName(ReflectionUtils.getWrapperClass(type));
+        mv.visitTypeInsn(CHECKCAST, wrapper);
+        mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+    }
+
+    @Nullable
+    private static Object instantiate(Class<?> declaringClass, byte[] bytes, Class<?> memberType, Member member) {
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            Class<?> generated = lookup.defineClass(bytes);
+            return generated.getConstructor(memberType).newInstance(member);
+        }
+        catch (Exception | LinkageError e) {
+            // class can't be defined in this package (like named modules), fallback to reflections.
+            return null;
+        }
+    }
+}
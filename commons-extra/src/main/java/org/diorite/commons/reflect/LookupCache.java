@@ -0,0 +1,224 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ClassCache;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link MethodLookup} and {@link FieldLookup} results, keyed by canonical form of lookup. <br>
+ * Results of each class are stored in own concurrent map in {@link ClassCache}, so cached results does not prevent class from being
+ * unloaded, and amount of results of all classes is bounded, when exceeded oldest results are removed from cache. <br>
+ * Lookups with keys referencing classes that are not visible from class loader of looked up class are not cached, as cache would keep
+ * their class loader alive as long as looked up class.
+ */
+final class LookupCache {
+    private LookupCache() {}
+
+    static final int DEFAULT_CAPACITY = 4096;
+
+    private static volatile int capacity = DEFAULT_CAPACITY;
+
+    private static final LongAdder hits   = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private static final ClassCache<Map<Key, Object>> caches =
+            ClassCache.create("LookupCache.caches", type -> new ConcurrentHashMap<>(16));
+
+    // cached keys in order of insertion, referenced weakly as keys of unloaded classes are removed together with their cache.
+    private static final Queue<WeakReference<Key>> order = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger             size  = new AtomicInteger();
+
+    /**
+     * Returns cached result for given lookup key, or compute and cache new one.
+     *
+     * @param inClass class of lookup.
+     * @param key canonical key of lookup, if null then result is always computed.
+     * @param supplier supplier of result, must not return null.
+     * @param <V> type of result.
+     *
+     * @return cached or computed result.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> V get(Class<?> inClass, @Nullable Key key, Supplier<V> supplier) {
+        if (key == null) {
+            return supplier.get();
+        }
+        Map<Key, Object> cache = caches.get(inClass);
+        Object cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return (V) cached;
+        }
+        misses.increment();
+        V value = supplier.get();
+        if (isVisible(inClass.getClassLoader(), key.parts)) {
+            key.cache = cache;
+            if (cache.putIfAbsent(key, value) == null) {
+                order.add(new WeakReference<>(key));
+                if (size.incrementAndGet() > capacity) {
+                    evict();
+                }
+            }
+        }
+        return value;
+    }
+
+    private static void evict() {
+        while (size.get() > capacity) {
+            WeakReference<Key> reference = order.poll();
+            if (reference == null) {
+                return;
+            }
+            size.decrementAndGet();
+            Key key = reference.get();
+            if ((key != null) && (key.cache != null)) {
+                key.cache.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Checks if given part of lookup key only references classes visible from given class loader, so it does not keep any other class
+     * loader alive. Unknown types of objects are never visible.
+     */
+    private static boolean isVisible(@Nullable ClassLoader loader, @Nullable Object object) {
+        if ((object == null) || (object instanceof String) || (object instanceof Number) || (object instanceof Boolean)) {
+            return true;
+        }
+        if (object instanceof Class) {
+            return isVisible(loader, (Class<?>) object);
+        }
+        if (object instanceof Collection) {
+            for (Object element: (Collection<?>) object) {
+                if (! isVisible(loader, element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (object instanceof Map) {
+            return isVisible(loader, ((Map<?, ?>) object).keySet());
+        }
+        if (object instanceof ParameterizedType) {
+            ParameterizedType type = (ParameterizedType) object;
+            return isVisible(loader, type.getRawType()) && isVisible(loader, type.getOwnerType()) &&
+                   isVisible(loader, List.of(type.getActualTypeArguments()));
+        }
+        if (object instanceof GenericArrayType) {
+            return isVisible(loader, ((GenericArrayType) object).getGenericComponentType());
+        }
+        if (object instanceof WildcardType) {
+            WildcardType type = (WildcardType) object;
+            return isVisible(loader, List.of(type.getUpperBounds())) && isVisible(loader, List.of(type.getLowerBounds()));
+        }
+        if (object instanceof TypeVariable) {
+            GenericDeclaration declaration = ((TypeVariable<?>) object).getGenericDeclaration();
+            if (declaration instanceof Class) {
+                return isVisible(loader, (Class<?>) declaration);
+            }
+            return (declaration instanceof Executable) && isVisible(loader, ((Executable) declaration).getDeclaringClass());
+        }
+        return false;
+    }
+
+    /**
+     * Checks if given class is visible from given class loader, so referencing it does not keep any other class loader alive.
+     *
+     * @param loader class loader, null for bootstrap loader.
+     * @param type class to check.
+     *
+     * @return true if class is defined by given loader or one of its parents.
+     */
+    static boolean isVisible(@Nullable ClassLoader loader, Class<?> type) {
+        ClassLoader typeLoader = type.getClassLoader();
+        if (typeLoader == null) {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current == typeLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long getHits() {
+        return hits.sum();
+    }
+
+    static long getMisses() {
+        return misses.sum();
+    }
+
+    static int getSize() {
+        return size.get();
+    }
+
+    static int getCapacity() {
+        return capacity;
+    }
+
+    static void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        LookupCache.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * Canonical form of lookup, two lookups matching the same members with the same find operation have equal keys, no matter in
+     * which order the lookup was built.
+     */
+    static final class Key {
+        private final List<Object> parts;
+        private final int          hashCode;
+        // cache holding this key, used to remove evicted keys.
+        @Nullable
+        private volatile Map<Key, Object> cache;
+
+        Key(List<Object> parts) {
+            this.parts = parts;
+            this.hashCode = parts.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (! (object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return (this.hashCode == key.hashCode) && this.parts.equals(key.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return this.parts.toString();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ClassCache;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of members of single class, built once per class and cached using {@link ClassCache}, so it does not prevent class from being
+ * unloaded. <br>
+ * Methods and constructors are grouped by name and parameter count, fields by name, and each group is further split by modifier bits
+ * of members, so lookups with exact name and modifier requirements only need to test few candidates.
+ */
+final class MemberIndex {
+    private static final Entry[]  EMPTY       = new Entry[0];
+    private static final Bucket[] EMPTY_TABLE = new Bucket[0];
+
+    private static final ClassCache<MemberIndex> declared  =
+            ClassCache.create("MemberIndex.declared", type -> new MemberIndex(type, false));
+    private static final ClassCache<MemberIndex> hierarchy =
+            ClassCache.create("MemberIndex.hierarchy", type -> new MemberIndex(type, true));
+
+    private final Bucket[]              methods;
+    private final Map<String, Bucket[]> methodsByName;
+    private final Bucket[]              constructors;
+    private final Bucket               fields;
+    private final Map<String, Bucket>  fieldsByName;
+
+    private MemberIndex(Class<?> type, boolean includeSupertypes) {
+        Collection<Class<?>> classes = includeSupertypes ? hierarchyOf(type) : List.of(type);
+
+        List<Entry> methods = new ArrayList<>(20);
+        Set<String> signatures = new HashSet<>(20);
+        List<Entry> fields = new ArrayList<>(20);
+        Set<String> fieldNames = new HashSet<>(20);
+        for (Class<?> clazz: classes) {
+            List<String> declaredSignatures = new ArrayList<>(20);
+            for (Method method: clazz.getDeclaredMethods()) {
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                // methods from subclasses hide overridden ones.
+                if (! signatures.contains(signature)) {
+                    methods.add(new Entry(method, method.getParameterCount(), methods.size()));
+                    declaredSignatures.add(signature);
+                }
+            }
+            signatures.addAll(declaredSignatures);
+            for (Field field: clazz.getDeclaredFields()) {
+                if (fieldNames.add(field.getName())) {
+                    fields.add(new Entry(field, 0, fields.size()));
+                }
+            }
+        }
+
+        this.methods = groupByParametersCount(methods);
+        Map<String, List<Entry>> methodsByName = new HashMap<>(methods.size());
+        for (Entry method: methods) {
+            methodsByName.computeIfAbsent(method.member.getName(), k -> new ArrayList<>(2)).add(method);
+        }
+        this.methodsByName = new HashMap<>(methodsByName.size());
+        methodsByName.forEach((name, entries) -> this.methodsByName.put(name, groupByParametersCount(entries)));
+
+        Constructor<?>[] declaredConstructors = type.getDeclaredConstructors();
+        List<Entry> constructors = new ArrayList<>(declaredConstructors.length);
+        for (Constructor<?> constructor: declaredConstructors) {
+            constructors.add(new Entry(constructor, constructor.getParameterCount(), constructors.size()));
+        }
+        this.constructors = groupByParametersCount(constructors);
+
+        this.fields = new Bucket(fields);
+        Map<String, List<Entry>> fieldsByName = new HashMap<>(fields.size());
+        for (Entry field: fields) {
+            fieldsByName.computeIfAbsent(field.member.getName(), k -> new ArrayList<>(1)).add(field);
+        }
+        this.fieldsByName = new HashMap<>(fieldsByName.size());
+        fieldsByName.forEach((name, entries) -> this.fieldsByName.put(name, new Bucket(entries)));
+    }
+
+    /**
+     * Returns index of members declared directly in given class.
+     *
+     * @param type class to index.
+     *
+     * @return index of declared members.
+     */
+    static MemberIndex declared(Class<?> type) {
+        return declared.get(type);
+    }
+
+    /**
+     * Returns index of members declared in given class and all its superclasses and interfaces. <br>
+     * Overridden methods and hidden fields of supertypes are not included.
+     *
+     * @param type class to index.
+     *
+     * @return index of all members.
+     */
+    static MemberIndex hierarchy(Class<?> type) {
+        return hierarchy.get(type);
+    }
+
+    /**
+     * Returns all methods grouped by parameters count, where index of array is parameters count.
+     *
+     * @return all methods grouped by parameters count.
+     */
+    Bucket[] methods() {
+        return this.methods;
+    }
+
+    /**
+     * Returns methods with given name grouped by parameters count, where index of array is parameters count.
+     *
+     * @param name name of method.
+     *
+     * @return methods with given name grouped by parameters count.
+     */
+    Bucket[] methods(String name) {
+        return this.methodsByName.getOrDefault(name, EMPTY_TABLE);
+    }
+
+    /**
+     * Returns constructors grouped by parameters count, where index of array is parameters count.
+     *
+     * @return constructors grouped by parameters count.
+     */
+    Bucket[] constructors() {
+        return this.constructors;
+    }
+
+    /**
+     * Returns all fields.
+     *
+     * @return all fields.
+     */
+    Bucket fields() {
+        return this.fields;
+    }
+
+    /**
+     * Returns fields with given name.
+     *
+     * @param name name of field.
+     *
+     * @return fields with given name.
+     */
+    Bucket fields(String name) {
+        return this.fieldsByName.getOrDefault(name, Bucket.EMPTY);
+    }
+
+    private static Bucket[] groupByParametersCount(List<Entry> entries) {
+        int max = - 1;
+        for (Entry entry: entries) {
+            max = Math.max(max, entry.parameterCount);
+        }
+        List<List<Entry>> grouped = new ArrayList<>(max + 1);
+        for (int i = 0; i <= max; i++) {
+            grouped.add(new ArrayList<>(2));
+        }
+        for (Entry entry: entries) {
+            grouped.get(entry.parameterCount).add(entry);
+        }
+        Bucket[] table = new Bucket[max + 1];
+        for (int i = 0; i <= max; i++) {
+            table[i] = new Bucket(grouped.get(i));
+        }
+        return table;
+    }
+
+    private static Collection<Class<?>> hierarchyOf(Class<?> type) {
+        Set<Class<?>> classes = new LinkedHashSet<>(10);
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            classes.add(current);
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<>(10);
+        for (Class<?> clazz: classes) {
+            interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        while (! interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            if (classes.add(current)) {
+                interfaces.addAll(Arrays.asList(current.getInterfaces()));
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Group of indexed members, split by modifier bits of members.
+     */
+    static final class Bucket {
+        static final Bucket EMPTY = new Bucket(List.of());
+
+        private final Entry[]   entries;
+        private final int[]     modifiers;
+        private final Entry[][] byModifiers;
+
+        Bucket(List<Entry> entries) {
+            this.entries = entries.toArray(MemberIndex.EMPTY);
+            Map<Integer, List<Entry>> byModifiers = new LinkedHashMap<>(4);
+            for (Entry entry: entries) {
+                byModifiers.computeIfAbsent(entry.modifiers, k -> new ArrayList<>(4)).add(entry);
+            }
+            this.modifiers = new int[byModifiers.size()];
+            this.byModifiers = new Entry[byModifiers.size()][];
+            int i = 0;
+            for (Map.Entry<Integer, List<Entry>> group: byModifiers.entrySet()) {
+                this.modifiers[i] = group.getKey();
+                this.byModifiers[i++] = group.getValue().toArray(MemberIndex.EMPTY);
+            }
+        }
+
+        /**
+         * Returns all members of this bucket.
+         *
+         * @return all members of this bucket.
+         */
+        Entry[] all() {
+            return this.entries;
+        }
+
+        /**
+         * Returns members with all required modifier bits and without any of forbidden bits, in order of declaration.
+         *
+         * @param required modifier bits that must be set.
+         * @param forbidden modifier bits that must not be set.
+         *
+         * @return members with matching modifiers.
+         */
+        Entry[] select(int required, int forbidden) {
+            if ((required == 0) && (forbidden == 0)) {
+                return this.entries;
+            }
+            Entry[] selected = null;
+            int size = 0;
+            for (int i = 0; i < this.modifiers.length; i++) {
+                int modifiers = this.modifiers[i];
+                if (((modifiers & required) != required) || ((modifiers & forbidden) != 0)) {
+                    continue;
+                }
+                Entry[] group = this.byModifiers[i];
+                if (selected == null) {
+                    selected = group;
+                    size = group.length;
+                    continue;
+                }
+                if (size == selected.length) {
+                    selected = Arrays.copyOf(selected, this.entries.length);
+                }
+                System.arraycopy(group, 0, selected, size, group.length);
+                size += group.length;
+            }
+            if (selected == null) {
+                return MemberIndex.EMPTY;
+            }
+            if (size != selected.length) {
+                // members from more than one group, restore order of declaration.
+                selected = Arrays.copyOf(selected, size);
+                Arrays.sort(selected, Comparator.comparingInt(entry -> entry.ordinal));
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Single indexed member, with lazily created reflected element.
+     */
+    static final class Entry {
+        final Member member;
+        final int    modifiers;
+        final int    parameterCount;
+        final int    ordinal;
+        @Nullable
+        private volatile ReflectedElement<?> reflected;
+
+        Entry(Member member, int parameterCount, int ordinal) {
+            this.member = member;
+            this.modifiers = member.getModifiers();
+            this.parameterCount = parameterCount;
+            this.ordinal = ordinal;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> ReflectedMethod<T> asMethod() {
+            ReflectedElement<?> reflected = this.reflected;
+            if (reflected == null) {
+                this.reflected = reflected = (this.member instanceof Method) ?
+                                             ReflectedMethod.fromMethod((Method) this.member) :
+                                             ReflectedMethod.fromConstructor((Constructor<?>) this.member);
+            }
+            return (ReflectedMethod<T>) reflected;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> ReflectedProperty<T> asProperty() {
+            ReflectedElement<?> reflected = this.reflected;
+            if (reflected == null) {
+                this.reflected = reflected = ReflectedProperty.fromField((Field) this.member);
+            }
+            return (ReflectedProperty<T>) reflected;
+        }
+    }
+}
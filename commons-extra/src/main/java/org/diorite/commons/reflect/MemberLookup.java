@@ -1,13 +1,20 @@
 package org.diorite.commons.reflect;
 
-import org.diorite.commons.function.predicate.IntPredicate;
 import org.diorite.commons.function.predicate.Predicate;
 import org.diorite.commons.reflect.type.TypeMatcher;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 @SuppressWarnings("unchecked")
@@ -16,13 +23,24 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
     protected       boolean                                     inSupertypes;
     protected       boolean                                     ensureAccessible;
     protected       Predicate<String>                           nameMatcher        = name -> true;
+    @Nullable
+    protected       String                                      exactName;
     protected       int                                         index              = - 1;
     protected       TypeMatcher<?>                              resultType         = type -> true;
     protected       TypeMatcher<? extends AccessibleObject>     memberTypeMatcher  = TypeMatcher.assignable(AccessibleObject.class);
-    protected       IntPredicate                                isStatic           = modifier -> true;
-    protected       IntPredicate                                isFinal            = modifier -> true;
-    protected       IntPredicate                                isNative           = modifier -> true;
+    // modifier bits that members must have, and modifier bits that members can't have.
+    protected       int                                         requiredModifiers;
+    protected       int                                         forbiddenModifiers;
     protected       Predicate<? extends AccessibleObject>       isAccessible       = object -> true;
+    protected final List<Predicate<? extends Annotation>>       annotations        = new ArrayList<>(2);
+    // canonical forms of matchers used by this lookup, null when matcher accepts everything.
+    @Nullable
+    protected       Object                                      nameKey;
+    @Nullable
+    protected       Object                                      resultTypeKey;
+    protected final Set<Object>                                 annotationKeys     = new HashSet<>(4);
+    // false if lookup uses custom matchers and can't be cached.
+    protected       boolean                                     cacheable          = true;
 
     MemberLookup(Class<T> inClass) {
         this.inClass = inClass;
@@ -30,7 +48,6 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
 
     FieldLookup<T, Object> fields() {
         this.nameMatcher = name -> true;
-        this.resultType = TypeMatcher.is(this.inClass);
         this.memberTypeMatcher = TypeMatcher.assignable(Field.class);
         return (FieldLookup<T, Object>) this;
     }
@@ -39,6 +56,61 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
         return (B) this;
     }
 
+    /**
+     * Returns canonical form of given type matcher, used as part of cache key.
+     *
+     * @param matcher type of matcher.
+     * @param type type used by matcher.
+     *
+     * @return canonical form of type matcher.
+     */
+    static Object matcherKey(String matcher, @Nullable Type type) {
+        return Arrays.asList(matcher, type);
+    }
+
+    /**
+     * Mark this lookup as not cacheable, used when lookup is using custom matchers.
+     *
+     * @return this lookup.
+     */
+    protected final B uncacheable() {
+        this.cacheable = false;
+        return this.lookup();
+    }
+
+    /**
+     * Add canonical form of matchers specific to type of this lookup to given cache key.
+     *
+     * @param key cache key to fill.
+     */
+    abstract void appendKey(List<Object> key);
+
+    /**
+     * Returns cache key for given find operation of this lookup, or null if this lookup can't be cached. <br>
+     * Key is built from current state of lookup, so lookups built in different order or with repeated calls are equal.
+     *
+     * @param operation find operation.
+     *
+     * @return cache key or null.
+     */
+    @Nullable
+    final LookupCache.Key cacheKey(String operation) {
+        if (! this.cacheable) {
+            return null;
+        }
+        List<Object> key = new ArrayList<>(16);
+        key.add(operation);
+        key.add(this.inSupertypes);
+        key.add(this.nameKey);
+        key.add(this.index);
+        key.add(this.requiredModifiers);
+        key.add(this.forbiddenModifiers);
+        key.add(this.resultTypeKey);
+        key.add(Set.copyOf(this.annotationKeys));
+        this.appendKey(key);
+        return new LookupCache.Key(Collections.unmodifiableList(key));
+    }
+
     public B includeSupertypes() {
         this.inSupertypes = true;
         return this.lookup();
@@ -50,15 +122,17 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
     }
 
     public final B name(String name) {
-        return this.name(Predicate.isEqual(name));
+        this.nameKey = name;
+        return this.name0(Predicate.isEqual(name), name);
     }
 
     public final B nameMatches(String name) {
-        return this.name(Predicate.fromJava(Pattern.compile(name).asPredicate()));
+        return this.name(Pattern.compile(name));
     }
 
     public final B name(Pattern name) {
-        return this.name(Predicate.fromJava(name.asPredicate()));
+        this.nameKey = List.of(name.pattern(), name.flags());
+        return this.name0(Predicate.fromJava(name.asPredicate()), null);
     }
 
     public final B name(java.util.function.Predicate<String> namePredicate) {
@@ -66,46 +140,79 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
     }
 
     public B name(Predicate<String> namePredicate) {
+        this.uncacheable();
+        return this.name0(namePredicate, null);
+    }
+
+    B name0(Predicate<String> namePredicate, @Nullable String exactName) {
         this.nameMatcher = namePredicate;
+        this.exactName = exactName;
         return this.lookup();
     }
 
+    /**
+     * Select only member at given position in list of all members matching this lookup, as returned by {@code findAll}. <br>
+     * If there are less matching members, then lookup does not match anything.
+     *
+     * @param index index of member.
+     *
+     * @return this lookup.
+     */
     public B index(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index can't be negative: " + index);
+        }
         this.index = index;
         return this.lookup();
     }
 
-    public B isStatic() {
-        this.isStatic = Modifier::isStatic;
+    /**
+     * Require given modifier bit to be set or not set on matching members.
+     *
+     * @param modifier modifier bit.
+     * @param present if modifier must be set.
+     *
+     * @return this lookup.
+     */
+    protected final B modifier(int modifier, boolean present) {
+        if (present) {
+            this.requiredModifiers |= modifier;
+            this.forbiddenModifiers &= ~ modifier;
+        }
+        else {
+            this.forbiddenModifiers |= modifier;
+            this.requiredModifiers &= ~ modifier;
+        }
         return this.lookup();
     }
 
+    public B isStatic() {
+        return this.modifier(Modifier.STATIC, true);
+    }
+
     public B notStatic() {
-        this.isStatic = IntPredicate.negated(Modifier::isStatic);
-        return this.lookup();
+        return this.modifier(Modifier.STATIC, false);
     }
 
     public B isFinal() {
-        this.isFinal = Modifier::isFinal;
-        return this.lookup();
+        return this.modifier(Modifier.FINAL, true);
     }
 
     public B notFinal() {
-        this.isFinal = IntPredicate.negated(Modifier::isFinal);
-        return this.lookup();
+        return this.modifier(Modifier.FINAL, false);
     }
 
     public B isNative() {
-        this.isNative = Modifier::isNative;
-        return this.lookup();
+        return this.modifier(Modifier.NATIVE, true);
     }
 
     public B notNative() {
-        this.isNative = IntPredicate.negated(Modifier::isNative);
-        return this.lookup();
+        return this.modifier(Modifier.NATIVE, false);
     }
 
     public B accessible() {
+        // accessible state of members might change, so results can't be cached.
+        this.uncacheable();
         this.isAccessible = AccessibleObject::isAccessible;
         return this.lookup();
     }
@@ -117,20 +224,71 @@ abstract class MemberLookup<T, R, B extends MemberLookup<T, R, B>> {
 
     public B withAnnotations(Class<? extends Annotation>... annotationTypes) {
         for (Class<? extends Annotation> annotationType: annotationTypes) {
-            this.withAnnotation(a -> a.annotationType() == annotationType);
+            this.annotationKeys.add(annotationType);
+            this.annotations.add(a -> a.annotationType() == annotationType);
         }
         return this.lookup();
     }
 
     public B withAnnotations(Annotation... annotations) {
         for (Annotation annotation: annotations) {
-            this.withAnnotation(annotation::equals);
+            this.annotationKeys.add(annotation);
+            this.annotations.add(annotation::equals);
         }
         return this.lookup();
     }
 
     public B withAnnotation(java.util.function.Predicate<? extends Annotation> predicate) {
-        return this.withAnnotation(Predicate.fromJava(predicate));
+        this.uncacheable();
+        this.annotations.add(Predicate.fromJava(predicate));
+        return this.lookup();
+    }
+
+    /**
+     * Returns only member at {@link #index} of given results, or all results if index is not set.
+     *
+     * @param results all matching members.
+     * @param <E> type of members.
+     *
+     * @return selected members.
+     */
+    final <E> List<E> select(List<E> results) {
+        int index = this.index;
+        if (index == - 1) {
+            return List.copyOf(results);
+        }
+        return (index < results.size()) ? List.of(results.get(index)) : List.of();
+    }
+
+    /**
+     * Checks accessibility and annotations of given member, common for all types of members. <br>
+     * Modifiers are already checked by {@link MemberIndex.Bucket#select(int, int)}.
+     *
+     * @param member member to check.
+     *
+     * @return true if member matches this lookup.
+     */
+    boolean matchesMember(AccessibleObject member) {
+        if (! ((Predicate<AccessibleObject>) this.isAccessible).test(member)) {
+            return false;
+        }
+        if (this.annotations.isEmpty()) {
+            return true;
+        }
+        Annotation[] memberAnnotations = member.getAnnotations();
+        for (Predicate<? extends Annotation> predicate: this.annotations) {
+            boolean found = false;
+            for (Annotation annotation: memberAnnotations) {
+                if (((Predicate<Annotation>) predicate).test(annotation)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (! found) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
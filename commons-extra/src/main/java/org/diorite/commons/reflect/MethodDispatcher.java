@@ -0,0 +1,393 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.reflect.MemberIndex.Bucket;
+import org.diorite.commons.reflect.MemberIndex.Entry;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatcher of all methods with given name in given class and its supertypes, choosing best overload for runtime types of
+ * arguments. Methods declared in {@link Object} are not considered, like static methods of supertypes, as they are not inherited.
+ * <br>
+ * Resolved methods are cached for each tuple of argument classes: first few tuples are stored in inline cache checked without any
+ * allocations (monomorphic, then polymorphic state), after that dispatcher switches to megamorphic state and uses additional hash map,
+ * holding up to {@link #MEGAMORPHIC_LIMIT} tuples, further tuples are resolved on each call. Tuples with classes that are not visible
+ * from class loader of dispatcher class are cached separately, up to {@link #MEGAMORPHIC_LIMIT} of them, and reference these classes
+ * weakly, so dispatcher does not keep other class loaders alive.
+ * <br>
+ * Instances are cached per class and method name, use {@link ReflectionUtils#methodDispatcher(Class, String)} to get one.
+ *
+ * @param <T> return type of methods.
+ */
+public final class MethodDispatcher<T> {
+    /**
+     * Max amount of argument types stored in inline cache.
+     */
+    public static final int POLYMORPHIC_LIMIT = 8;
+
+    /**
+     * Max amount of argument types stored in megamorphic cache.
+     */
+    public static final int MEGAMORPHIC_LIMIT = 256;
+
+    private static final CallSite[] EMPTY = new CallSite[0];
+
+    private final Class<?>                       type;
+    private final String                         name;
+    private final List<List<ReflectedMethod<T>>> candidates;
+
+    private volatile CallSite[]                             inline = EMPTY;
+    @Nullable
+    private volatile Map<ArgumentTypes, ReflectedMethod<T>> megamorphic;
+    /**
+     * Tuples with classes from foreign class loaders, keys are {@link WeakArgumentTypes}, but can be queried by {@link ArgumentTypes}.
+     */
+    @Nullable
+    private volatile Map<Object, ReflectedMethod<T>>        foreign;
+
+    private final LongAdder hits   = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    MethodDispatcher(Class<?> type, String name) {
+        this.type = type;
+        this.name = name;
+        Bucket[] methods = MemberIndex.hierarchy(type).methods(name);
+        this.candidates = new ArrayList<>(methods.length);
+        for (Bucket bucket: methods) {
+            Entry[] entries = bucket.all();
+            List<ReflectedMethod<T>> candidates = new ArrayList<>(entries.length);
+            for (Entry entry: entries) {
+                Class<?> declaringClass = entry.member.getDeclaringClass();
+                if ((declaringClass != Object.class) && ((declaringClass == type) || ! Modifier.isStatic(entry.modifiers))) {
+                    candidates.add(entry.asMethod());
+                }
+            }
+            this.candidates.add(candidates);
+        }
+    }
+
+    /**
+     * Returns class where methods are searched.
+     *
+     * @return class where methods are searched.
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns name of dispatched methods.
+     *
+     * @return name of dispatched methods.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Find best method for given arguments.
+     *
+     * @param arguments arguments for method, without target object.
+     *
+     * @return best method for given arguments.
+     *
+     * @throws NoSuchMethodException if there is no method for given arguments.
+     * @throws IllegalStateException if there is more than one method matching given arguments.
+     */
+    @SuppressWarnings("unchecked")
+    public ReflectedMethod<T> find(Object... arguments) throws NoSuchMethodException, IllegalStateException {
+        for (CallSite callSite: this.inline) {
+            if (callSite.matches(arguments)) {
+                this.hits.increment();
+                return (ReflectedMethod<T>) callSite.method;
+            }
+        }
+        Map<ArgumentTypes, ReflectedMethod<T>> megamorphic = this.megamorphic;
+        Map<Object, ReflectedMethod<T>> foreign = this.foreign;
+        ArgumentTypes key = null;
+        if ((megamorphic != null) || (foreign != null)) {
+            key = new ArgumentTypes(arguments);
+            ReflectedMethod<T> method = (megamorphic == null) ? null : megamorphic.get(key);
+            if ((method == null) && (foreign != null)) {
+                method = foreign.get(key);
+            }
+            if (method != null) {
+                this.hits.increment();
+                return method;
+            }
+        }
+        this.misses.increment();
+        ReflectedMethod<T> method = this.resolve(arguments);
+        this.install((key == null) ? new ArgumentTypes(arguments) : key, method);
+        return method;
+    }
+
+    /**
+     * Find best method for given arguments and invoke it.
+     *
+     * @param target target object, null for static methods.
+     * @param arguments arguments for method.
+     *
+     * @return method invoke result.
+     *
+     * @throws NoSuchMethodException if there is no method for given arguments.
+     * @throws IllegalStateException if there is more than one method matching given arguments.
+     */
+    @Nullable
+    public T invoke(@Nullable Object target, Object... arguments) throws NoSuchMethodException, IllegalStateException {
+        ReflectedMethod<T> method = this.find(arguments);
+        if (method instanceof MethodInvoker) {
+            return ((MethodInvoker<T>) method).invoke(target, arguments);
+        }
+        Object[] args = new Object[arguments.length + 1];
+        args[0] = target;
+        System.arraycopy(arguments, 0, args, 1, arguments.length);
+        return method.invokeWith(args);
+    }
+
+    private ReflectedMethod<T> resolve(Object[] arguments) throws NoSuchMethodException {
+        if ((arguments.length >= this.candidates.size()) || this.candidates.get(arguments.length).isEmpty()) {
+            throw new NoSuchMethodException("Can't find " + this.name + " method with " + arguments.length + " parameters in " + this.type);
+        }
+        return RuntimeExecutableDispatcherUtils.findMatchingExecutable(this.candidates.get(arguments.length), arguments);
+    }
+
+    private synchronized void install(ArgumentTypes types, ReflectedMethod<T> method) {
+        // other thread might have installed the same tuple while this one was resolving it.
+        CallSite[] inline = this.inline;
+        for (CallSite callSite: inline) {
+            if (Arrays.equals(callSite.types, types.types)) {
+                return;
+            }
+        }
+        Map<ArgumentTypes, ReflectedMethod<T>> megamorphic = this.megamorphic;
+        Map<Object, ReflectedMethod<T>> foreign = this.foreign;
+        if (((megamorphic != null) && megamorphic.containsKey(types)) || ((foreign != null) && foreign.containsKey(types))) {
+            return;
+        }
+        ClassLoader loader = this.type.getClassLoader();
+        for (Class<?> argumentType: types.types) {
+            if ((argumentType != null) && ! LookupCache.isVisible(loader, argumentType)) {
+                this.installForeign(types, method);
+                return;
+            }
+        }
+        if (inline.length < POLYMORPHIC_LIMIT) {
+            CallSite[] newInline = Arrays.copyOf(inline, inline.length + 1);
+            newInline[inline.length] = new CallSite(types.types, method);
+            this.inline = newInline;
+            return;
+        }
+        if (megamorphic == null) {
+            this.megamorphic = megamorphic = new ConcurrentHashMap<>(16);
+        }
+        if (megamorphic.size() < MEGAMORPHIC_LIMIT) {
+            megamorphic.put(types, method);
+        }
+    }
+
+    private void installForeign(ArgumentTypes types, ReflectedMethod<T> method) {
+        Map<Object, ReflectedMethod<T>> foreign = this.foreign;
+        if (foreign == null) {
+            this.foreign = foreign = new ConcurrentHashMap<>(16);
+        }
+        if (foreign.size() >= MEGAMORPHIC_LIMIT) {
+            foreign.keySet().removeIf(key -> ((WeakArgumentTypes) key).isCleared());
+        }
+        if (foreign.size() < MEGAMORPHIC_LIMIT) {
+            foreign.put(new WeakArgumentTypes(types), method);
+        }
+    }
+
+    /**
+     * Returns current state of cache of this dispatcher.
+     *
+     * @return current state of cache of this dispatcher.
+     */
+    public State getState() {
+        if (this.megamorphic != null) {
+            return State.MEGAMORPHIC;
+        }
+        int size = this.inline.length;
+        if (size == 0) {
+            return State.UNINITIALIZED;
+        }
+        return (size == 1) ? State.MONOMORPHIC : State.POLYMORPHIC;
+    }
+
+    /**
+     * Returns amount of calls resolved using cache.
+     *
+     * @return amount of calls resolved using cache.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns amount of calls that needed to search for best method.
+     *
+     * @return amount of calls that needed to search for best method.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns ratio of calls resolved using cache, or 0 if dispatcher was never used.
+     *
+     * @return ratio of calls resolved using cache.
+     */
+    public double getHitRate() {
+        long hits = this.hits.sum();
+        long all = hits + this.misses.sum();
+        return (all == 0) ? 0 : ((double) hits / all);
+    }
+
+    @Override
+    public String toString() {
+        return "MethodDispatcher{" + this.type.getName() + "#" + this.name + ", state=" + this.getState() + ", hitRate=" +
+               this.getHitRate() + "}";
+    }
+
+    /**
+     * State of dispatcher cache.
+     */
+    public enum State {
+        /**
+         * Dispatcher was never used.
+         */
+        UNINITIALIZED,
+        /**
+         * Dispatcher was used only with one tuple of argument types.
+         */
+        MONOMORPHIC,
+        /**
+         * Dispatcher was used with up to {@link #POLYMORPHIC_LIMIT} tuples of argument types.
+         */
+        POLYMORPHIC,
+        /**
+         * Dispatcher was used with more than {@link #POLYMORPHIC_LIMIT} tuples of argument types, up to {@link #MEGAMORPHIC_LIMIT} more
+         * of them are cached.
+         */
+        MEGAMORPHIC
+    }
+
+    private static final class CallSite {
+        private final Class<?>[]         types;
+        private final ReflectedMethod<?> method;
+
+        private CallSite(Class<?>[] types, ReflectedMethod<?> method) {
+            this.types = types;
+            this.method = method;
+        }
+
+        private boolean matches(Object[] arguments) {
+            Class<?>[] types = this.types;
+            if (types.length != arguments.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                Object argument = arguments[i];
+                if (((argument == null) ? null : argument.getClass()) != types[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ArgumentTypes {
+        private final Class<?>[] types;
+        private final int        hashCode;
+
+        private ArgumentTypes(Object[] arguments) {
+            Class<?>[] types = new Class<?>[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                Object argument = arguments[i];
+                types[i] = (argument == null) ? null : argument.getClass();
+            }
+            this.types = types;
+            this.hashCode = Arrays.hashCode(types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof WeakArgumentTypes) {
+                return ((WeakArgumentTypes) o).matches(this.types);
+            }
+            return (o instanceof ArgumentTypes) && Arrays.equals(this.types, ((ArgumentTypes) o).types);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * Tuple of argument types referencing classes weakly, tuple with collected class does not match any arguments.
+     */
+    private static final class WeakArgumentTypes {
+        /**
+         * References to argument classes, null for null arguments.
+         */
+        private final WeakReference<?>[] types;
+        private final int                hashCode;
+
+        private WeakArgumentTypes(ArgumentTypes types) {
+            this.types = new WeakReference<?>[types.types.length];
+            for (int i = 0; i < this.types.length; i++) {
+                Class<?> type = types.types[i];
+                this.types[i] = (type == null) ? null : new WeakReference<>(type);
+            }
+            this.hashCode = types.hashCode;
+        }
+
+        private boolean matches(Class<?>[] types) {
+            if (types.length != this.types.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                WeakReference<?> reference = this.types[i];
+                if ((reference == null) ? (types[i] != null) : ((types[i] == null) || (reference.get() != types[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isCleared() {
+            for (WeakReference<?> reference: this.types) {
+                if ((reference != null) && (reference.get() == null)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return (o instanceof ArgumentTypes) && this.matches(((ArgumentTypes) o).types);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
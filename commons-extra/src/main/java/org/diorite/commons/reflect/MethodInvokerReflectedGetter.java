@@ -7,9 +7,14 @@ import java.lang.reflect.Type;
 
 final class MethodInvokerReflectedGetter<T> implements ReflectedGetter<T> {
     private final MethodInvoker<T> methodInvoker;
+    private final TypedHandles     typedHandles = new TypedHandles(this, null);
 
     MethodInvokerReflectedGetter(MethodInvoker<T> methodInvoker) {this.methodInvoker = methodInvoker;}
 
+    MethodInvoker<T> getMethodInvoker() {
+        return this.methodInvoker;
+    }
+
     @Nullable
     @Override
     public T get(@Nullable Object src) {
@@ -26,6 +31,46 @@ final class MethodInvokerReflectedGetter<T> implements ReflectedGetter<T> {
         return this.methodInvoker.getHandle(lookup);
     }
 
+    @Override
+    public boolean getBoolean(@Nullable Object src) {
+        return this.typedHandles.getBoolean(src);
+    }
+
+    @Override
+    public byte getByte(@Nullable Object src) {
+        return this.typedHandles.getByte(src);
+    }
+
+    @Override
+    public short getShort(@Nullable Object src) {
+        return this.typedHandles.getShort(src);
+    }
+
+    @Override
+    public char getChar(@Nullable Object src) {
+        return this.typedHandles.getChar(src);
+    }
+
+    @Override
+    public int getInt(@Nullable Object src) {
+        return this.typedHandles.getInt(src);
+    }
+
+    @Override
+    public long getLong(@Nullable Object src) {
+        return this.typedHandles.getLong(src);
+    }
+
+    @Override
+    public float getFloat(@Nullable Object src) {
+        return this.typedHandles.getFloat(src);
+    }
+
+    @Override
+    public double getDouble(@Nullable Object src) {
+        return this.typedHandles.getDouble(src);
+    }
+
     @Override
     public ReflectedGetter<T> ensureAccessible() {
         this.methodInvoker.ensureAccessible();
@@ -7,9 +7,14 @@ import java.lang.reflect.Type;
 
 final class MethodInvokerReflectedSetter<T> implements ReflectedSetter<T> {
     private final MethodInvoker<T> methodInvoker;
+    private final TypedHandles     typedHandles = new TypedHandles(null, this);
 
     public MethodInvokerReflectedSetter(MethodInvoker<T> methodInvoker) {this.methodInvoker = methodInvoker;}
 
+    MethodInvoker<T> getMethodInvoker() {
+        return this.methodInvoker;
+    }
+
     @Override
     public void set(@Nullable Object src, @Nullable T obj) {
         this.methodInvoker.invoke(src, obj);
@@ -25,6 +30,46 @@ final class MethodInvokerReflectedSetter<T> implements ReflectedSetter<T> {
         return this.methodInvoker.getHandle(lookup);
     }
 
+    @Override
+    public void setBoolean(@Nullable Object src, boolean value) {
+        this.typedHandles.setBoolean(src, value);
+    }
+
+    @Override
+    public void setByte(@Nullable Object src, byte value) {
+        this.typedHandles.setByte(src, value);
+    }
+
+    @Override
+    public void setShort(@Nullable Object src, short value) {
+        this.typedHandles.setShort(src, value);
+    }
+
+    @Override
+    public void setChar(@Nullable Object src, char value) {
+        this.typedHandles.setChar(src, value);
+    }
+
+    @Override
+    public void setInt(@Nullable Object src, int value) {
+        this.typedHandles.setInt(src, value);
+    }
+
+    @Override
+    public void setLong(@Nullable Object src, long value) {
+        this.typedHandles.setLong(src, value);
+    }
+
+    @Override
+    public void setFloat(@Nullable Object src, float value) {
+        this.typedHandles.setFloat(src, value);
+    }
+
+    @Override
+    public void setDouble(@Nullable Object src, double value) {
+        this.typedHandles.setDouble(src, value);
+    }
+
     @Override
     public ReflectedSetter<T> ensureAccessible() {
         this.methodInvoker.ensureAccessible();
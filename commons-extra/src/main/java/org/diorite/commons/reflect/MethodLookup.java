@@ -1,18 +1,22 @@
 package org.diorite.commons.reflect;
 
-import org.diorite.commons.function.predicate.IntPredicate;
 import org.diorite.commons.function.predicate.Predicate;
+import org.diorite.commons.reflect.MemberIndex.Bucket;
+import org.diorite.commons.reflect.MemberIndex.Entry;
 import org.diorite.commons.reflect.type.TypeMatcher;
 import org.diorite.commons.reflect.type.TypeToken;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -30,12 +34,11 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
     protected TypeMatcher<?>[]     parameters         = new TypeMatcher[PARAMETERS_ARRAY_DEFAULT_SIZE];
     protected Type[]               argumentTypes      = new Type[PARAMETERS_ARRAY_DEFAULT_SIZE]; // special case for simple lookups,
     // additional accuracy for .findBest
+    protected Object[]             parameterKeys      = new Object[PARAMETERS_ARRAY_DEFAULT_SIZE];
     protected int                  nextParameterIndex = 0;
     protected List<TypeMatcher<?>> parametersAny      = new ArrayList<>();
-    protected IntPredicate         isSynchronized     = modifier -> true;
-    protected IntPredicate         isStrictFp         = modifier -> true;
-    protected IntPredicate         isBridge           = modifier -> true;
-    protected IntPredicate         isVarargs          = modifier -> true;
+    // canonical forms of parametersAny matchers with amount of their occurrences, as order of these matchers does not matter.
+    protected Map<Object, Integer> parametersAnyKeys  = new HashMap<>(4);
 
     MethodLookup(Class<T> inClass) {
         super(inClass);
@@ -53,38 +56,43 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
     @SuppressWarnings("unchecked")
     MethodLookup<T, Object> methods() {
         this.nameMatcher = name -> true;
-        this.resultType = TypeMatcher.is(this.inClass);
         this.memberTypeMatcher = TypeMatcher.assignable(Method.class);
         return (MethodLookup<T, Object>) this;
     }
 
     @Override
-    public MethodLookup<T, R> name(Predicate<String> namePredicate) {
+    MethodLookup<T, R> name0(Predicate<String> namePredicate, @Nullable String exactName) {
         if (this.constructor) {
             throw new IllegalStateException("Can't change lookup name of constructor");
         }
-        return super.name(namePredicate);
+        return super.name0(namePredicate, exactName);
     }
 
     public <RR> MethodLookup<T, RR> returnTypeExact(TypeToken<RR> returnType) {
-        return this.returnType(TypeMatcher.is(returnType));
+        return this.returnType0(TypeMatcher.is(returnType), matcherKey("is", returnType.getType()));
     }
 
     public <RR> MethodLookup<T, RR> returnType(Class<RR> returnType) {
-        return this.returnType(TypeMatcher.isClass(returnType));
+        return this.returnType0(TypeMatcher.isClass(returnType), matcherKey("isClass", returnType));
     }
 
     public <RR> MethodLookup<T, RR> returnTypeAssignableTo(Class<RR> returnType) {
-        return this.returnType(TypeMatcher.assignable(TypeToken.get(returnType)));
+        return this.returnType0(TypeMatcher.assignable(TypeToken.get(returnType)), matcherKey("assignable", returnType));
     }
 
     public <RR> MethodLookup<T, RR> returnTypeAssignableTo(TypeToken<RR> returnType) {
-        return this.returnType(TypeMatcher.assignable(returnType));
+        return this.returnType0(TypeMatcher.assignable(returnType), matcherKey("assignable", returnType.getType()));
     }
 
-    @SuppressWarnings("unchecked")
     public <RR> MethodLookup<T, RR> returnType(TypeMatcher<RR> typeMatcher) {
+        this.uncacheable();
+        return this.returnType0(typeMatcher, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <RR> MethodLookup<T, RR> returnType0(TypeMatcher<? extends RR> typeMatcher, @Nullable Object key) {
         this.resultType = typeMatcher;
+        this.resultTypeKey = key;
         return (MethodLookup<T, RR>) this;
     }
 
@@ -117,111 +125,123 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
                 argumentType = argument.getClass();
                 matcher = type -> ReflectionUtils.getWrapperClass(TypeToken.get(type).getRawType()).isAssignableFrom(argumentType);
             }
-            this.withParameter0(matcher, argumentType);
+            this.withParameter0(matcher, argumentType, matcherKey("acceptingValue", argumentType));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withParametersAccepting(Type... types) {
         for (Type type: types) {
-            this.withParameter0(TypeMatcher.accepting(type), type);
+            this.withParameter0(TypeMatcher.accepting(type), type, matcherKey("accepting", type));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withParameter(TypeMatcher<?> parameterType) {
-        return this.withParameterAt(this.nextParameterIndex++, parameterType);
+        this.uncacheable();
+        return this.withParameter0(parameterType, null, null);
     }
 
-    private MethodLookup<T, R> withParameter0(TypeMatcher<?> parameterType, @Nullable Type type0) {
-        return this.withParameterAt0(this.nextParameterIndex++, parameterType, type0);
+    private MethodLookup<T, R> withParameter0(TypeMatcher<?> parameterType, @Nullable Type type0, @Nullable Object key) {
+        return this.withParameterAt0(this.nextParameterIndex++, parameterType, type0, key);
     }
 
     public final MethodLookup<T, R> withParameters(TypeMatcher<?>... parameterTypes) {
+        this.uncacheable();
         for (TypeMatcher<?> parameterType: parameterTypes) {
-            this.withParameter0(parameterType, null);
+            this.withParameter0(parameterType, null, null);
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withParameters(Class<?>... classes) {
         for (Class<?> clazz: classes) {
-            this.withParameter0(TypeMatcher.isClass(clazz), clazz);
+            this.withParameter0(TypeMatcher.isClass(clazz), clazz, matcherKey("isClass", clazz));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withAssignableParameters(Type... types) {
         for (Type type: types) {
-            this.withParameter0(TypeMatcher.assignable(type), type);
+            this.withParameter0(TypeMatcher.assignable(type), type, matcherKey("assignable", type));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withExactParameters(Type... types) {
         for (Type type: types) {
-            this.withParameter0(TypeMatcher.is(type), type);
+            this.withParameter0(TypeMatcher.is(type), type, matcherKey("is", type));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withParameterAt(int index, Class<?> clazz) {
-        return this.withParameterAt0(index, TypeMatcher.isClass(clazz), clazz);
+        return this.withParameterAt0(index, TypeMatcher.isClass(clazz), clazz, matcherKey("isClass", clazz));
     }
 
     public final MethodLookup<T, R> withAssignableParameterAt(int index, Type type) {
-        return this.withParameterAt0(index, TypeMatcher.assignable(type), type);
+        return this.withParameterAt0(index, TypeMatcher.assignable(type), type, matcherKey("assignable", type));
     }
 
     public final MethodLookup<T, R> withParameterExactAt(int index, Type type) {
-        return this.withParameterAt0(index, TypeMatcher.is(type), type);
+        return this.withParameterAt0(index, TypeMatcher.is(type), type, matcherKey("is", type));
     }
 
     public MethodLookup<T, R> withParameterAt(int index, TypeMatcher<?> parameterType) {
-        return this.withParameterAt0(index, parameterType, null);
+        this.uncacheable();
+        return this.withParameterAt0(index, parameterType, null, null);
     }
 
-    private MethodLookup<T, R> withParameterAt0(int index, TypeMatcher<?> parameterType, @Nullable Type type0) {
+    private MethodLookup<T, R> withParameterAt0(int index, TypeMatcher<?> parameterType, @Nullable Type type0, @Nullable Object key) {
         Objects.requireNonNull(parameterType);
         if (this.parameters.length <= index) {
             this.parameters = Arrays.copyOf(this.parameters, index + 1);
             this.argumentTypes = Arrays.copyOf(this.argumentTypes, index + 1);
+            this.parameterKeys = Arrays.copyOf(this.parameterKeys, index + 1);
         }
         if (index >= this.parametersCountMin) {
             this.parametersCountMin = index + 1;
         }
         this.parameters[index] = parameterType;
         this.argumentTypes[index] = type0;
+        this.parameterKeys[index] = key;
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withParametersAnywhere(Class<?>... classes) {
         for (Class<?> clazz: classes) {
-            this.withParameterAnywhere(TypeMatcher.isClass(clazz));
+            this.withParameterAnywhere0(TypeMatcher.isClass(clazz), matcherKey("isClass", clazz));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withExactParametersAnywhere(Type... types) {
         for (Type type: types) {
-            this.withParameterAnywhere(TypeMatcher.is(type));
+            this.withParameterAnywhere0(TypeMatcher.is(type), matcherKey("is", type));
         }
         return this.lookup();
     }
 
     public final MethodLookup<T, R> withAssignableParameterAnywhere(Type... types) {
         for (Type type: types) {
-            this.withParameterAnywhere(TypeMatcher.assignable(type));
+            this.withParameterAnywhere0(TypeMatcher.assignable(type), matcherKey("assignable", type));
         }
         return this.lookup();
     }
 
+    private void withParameterAnywhere0(TypeMatcher<?> parameterType, Object key) {
+        this.parametersAny.add(parameterType);
+        this.parametersAnyKeys.merge(key, 1, Integer::sum);
+    }
+
     public MethodLookup<T, R> withParametersAnywhere(TypeMatcher<?>... parameterTypes) {
+        this.uncacheable();
         this.parametersAny.addAll(Arrays.asList(parameterTypes));
         return this.lookup();
     }
 
     public MethodLookup<T, R> withParameterAnywhere(TypeMatcher<?> parameterType) {
+        this.uncacheable();
         this.parametersAny.add(parameterType);
         return this.lookup();
     }
@@ -241,43 +261,35 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
     }
 
     public MethodLookup<T, R> isSynchronized() {
-        this.isSynchronized = Modifier::isSynchronized;
-        return this.lookup();
+        return this.modifier(Modifier.SYNCHRONIZED, true);
     }
 
     public MethodLookup<T, R> notSynchronized() {
-        this.isSynchronized = IntPredicate.negated(Modifier::isSynchronized);
-        return this.lookup();
+        return this.modifier(Modifier.SYNCHRONIZED, false);
     }
 
     public MethodLookup<T, R> isStrictFp() {
-        this.isStrictFp = Modifier::isStrict;
-        return this.lookup();
+        return this.modifier(Modifier.STRICT, true);
     }
 
     public MethodLookup<T, R> notStrictFp() {
-        this.isStrictFp = IntPredicate.negated(Modifier::isStrict);
-        return this.lookup();
+        return this.modifier(Modifier.STRICT, false);
     }
 
     public MethodLookup<T, R> isVarargs() {
-        this.isVarargs = MethodLookup::isVarargs;
-        return this.lookup();
+        return this.modifier(VARARGS, true);
     }
 
     public MethodLookup<T, R> notVarargs() {
-        this.isVarargs = IntPredicate.negated(MethodLookup::isVarargs);
-        return this.lookup();
+        return this.modifier(VARARGS, false);
     }
 
     public MethodLookup<T, R> isBridge() {
-        this.isBridge = MethodLookup::isBridge;
-        return this.lookup();
+        return this.modifier(BRIDGE, true);
     }
 
     public MethodLookup<T, R> notBridge() {
-        this.isBridge = IntPredicate.negated(MethodLookup::isBridge);
-        return this.lookup();
+        return this.modifier(BRIDGE, false);
     }
 
     public Optional<ReflectedMethod<R>> tryFindExact() {
@@ -305,21 +317,35 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
     }
 
     private Optional<ReflectedMethod<R>> find0(boolean exact, boolean best) {
-        List<? extends ReflectedMethod<R>> all = this.findAll0();
+        String operation = exact ? "findExact" : (best ? "findBest" : "findAny");
+        Optional<ReflectedMethod<R>> method = LookupCache.get(this.inClass, this.cacheKey(operation), () -> this.find1(exact, best));
+        if (this.ensureAccessible) {
+            method.ifPresent(ReflectedMethod::ensureAccessible);
+        }
+        return method;
+    }
+
+    private Optional<ReflectedMethod<R>> find1(boolean exact, boolean best) {
+        // not using cached findAll0, as this is already a cache miss.
+        List<? extends ReflectedMethod<R>> all = this.collect();
         if (all.isEmpty()) {
             return Optional.empty();
         }
         if (exact && (all.size() > 1)) {
             throw new IllegalStateException("Matched more than one method: " + all);
         }
-        if (! best) {
-            ReflectedMethod<R> method = all.get(0);
-            if (this.ensureAccessible) {
-                method.ensureAccessible();
+        ReflectedMethod<R> method;
+        if (! best || (all.size() == 1)) {
+            method = all.get(0);
+        }
+        else {
+            int maxParameters = this.argumentTypes.length;
+            for (ReflectedMethod<R> reflectedMethod: all) {
+                maxParameters = Math.max(maxParameters, reflectedMethod.getParameterCount());
             }
-            return Optional.of(method);
+            method = RuntimeExecutableDispatcherUtils.findBest(all, Arrays.copyOf(this.argumentTypes, maxParameters));
         }
-        return Optional.of(RuntimeExecutableDispatcherUtils.findBest(all, this.argumentTypes));
+        return Optional.of(method);
     }
 
     public List<? extends ReflectedMethod<R>> findAll() {
@@ -331,10 +357,94 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
     }
 
     public List<? extends ReflectedMethod<R>> findAll0() {
+        return LookupCache.get(this.inClass, this.cacheKey("findAll"), this::collect);
+    }
+
+    @Override
+    void appendKey(List<Object> key) {
+        key.add(this.constructor ? "constructors" : "methods");
+        key.add(this.parametersCount);
+        key.add(this.parametersCountMin);
+        key.add(this.parametersCountMax);
+        int length = this.parameterKeys.length;
+        while ((length > 0) && (this.parameterKeys[length - 1] == null)) {
+            length--;
+        }
+        key.add(Arrays.asList(Arrays.copyOf(this.parameterKeys, length)));
+        key.add(Map.copyOf(this.parametersAnyKeys));
+    }
+
+    private List<ReflectedMethod<R>> collect() {
         this.validate();
-        List<ReflectedMethod<R>> results = new ArrayList<>();
+        MemberIndex index = this.inSupertypes ? MemberIndex.hierarchy(this.inClass) : MemberIndex.declared(this.inClass);
+        Bucket[] candidates;
+        if (this.constructor) {
+            candidates = index.constructors();
+        }
+        else if (this.exactName != null) {
+            candidates = index.methods(this.exactName);
+        }
+        else {
+            candidates = index.methods();
+        }
 
-        return results;
+        int min = Math.max(this.parametersCountMin, 0);
+        int max = (this.parametersCountMax == - 1) ? (candidates.length - 1) : Math.min(this.parametersCountMax, candidates.length - 1);
+        List<ReflectedMethod<R>> results = new ArrayList<>(4);
+        for (int count = min; count <= max; count++) {
+            for (Entry entry: candidates[count].select(this.requiredModifiers, this.forbiddenModifiers)) {
+                if (this.matches(entry)) {
+                    results.add(entry.asMethod());
+                }
+            }
+        }
+        return this.select(results);
+    }
+
+    private boolean matches(Entry entry) {
+        Executable executable = (Executable) entry.member;
+        if (! this.constructor && ! this.nameMatcher.test(executable.getName())) {
+            return false;
+        }
+        if (! this.matchesMember(executable)) {
+            return false;
+        }
+        if (! this.constructor && ! this.resultType.test(((Method) executable).getGenericReturnType())) {
+            return false;
+        }
+        Type[] parameterTypes = null;
+        TypeMatcher<?>[] parameters = this.parameters;
+        for (int i = 0, length = Math.min(parameters.length, entry.parameterCount); i < length; i++) {
+            TypeMatcher<?> parameter = parameters[i];
+            if (parameter == null) {
+                continue;
+            }
+            if (parameterTypes == null) {
+                parameterTypes = executable.getGenericParameterTypes();
+            }
+            if (! parameter.test(parameterTypes[i])) {
+                return false;
+            }
+        }
+        if (this.parametersAny.isEmpty()) {
+            return true;
+        }
+        if (parameterTypes == null) {
+            parameterTypes = executable.getGenericParameterTypes();
+        }
+        for (TypeMatcher<?> parameter: this.parametersAny) {
+            boolean found = false;
+            for (Type parameterType: parameterTypes) {
+                if (parameter.test(parameterType)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (! found) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void validate() {
@@ -357,11 +467,4 @@ public final class MethodLookup<T, R> extends MemberLookup<T, R, MethodLookup<T,
         }
     }
 
-    private static boolean isBridge(int modifiers) {
-        return (modifiers & BRIDGE) != 0;
-    }
-
-    private static boolean isVarargs(int modifiers) {
-        return (modifiers & VARARGS) != 0;
-    }
 }
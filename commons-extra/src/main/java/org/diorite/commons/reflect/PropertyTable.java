@@ -0,0 +1,313 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ClassCache;
+import org.diorite.commons.map.CaseInsensitiveMap;
+import org.diorite.commons.reflect.MemberIndex.Entry;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Table of all bean properties of single class, discovered in one pass over public methods and fields of class and its supertypes.
+ * <br>
+ * Property is readable using {@code getX}/{@code isX} method or non-static field, and writable using {@code setX} method or non-final
+ * field, methods are preferred over fields. Property names are matched ignoring case, like in {@link PropertyUtils}. <br>
+ * Tables are built once for each class and cached using {@link ClassCache}, so they does not prevent class from being unloaded.
+ */
+final class PropertyTable {
+    private static final ClassCache<PropertyTable> tables = ClassCache.create("PropertyTable.tables", PropertyTable::build);
+
+    private final Class<?>                     type;
+    private final List<Property>               properties;
+    private final Map<String, Property>        byName;
+    private final CaseInsensitiveMap<Property> byNameIgnoreCase;
+
+    private PropertyTable(Class<?> type, List<Property> properties) {
+        this.type = type;
+        this.properties = properties;
+        this.byName = new HashMap<>(properties.size());
+        this.byNameIgnoreCase = new CaseInsensitiveMap<>(properties.size());
+        for (Property property: properties) {
+            this.byName.put(property.name, property);
+            this.byNameIgnoreCase.put(property.name, property);
+        }
+    }
+
+    /**
+     * Returns cached table of properties of given class.
+     *
+     * @param type class to scan.
+     *
+     * @return table of properties of given class.
+     */
+    static PropertyTable of(Class<?> type) {
+        return tables.get(type);
+    }
+
+    private static PropertyTable build(Class<?> type) {
+        Map<String, Builder> builders = new LinkedHashMap<>(20);
+        for (Entry entry: MemberIndex.hierarchy(type).fields().select(0, Modifier.STATIC | FieldLookup.SYNTHETIC)) {
+            Field field = (Field) entry.member;
+            builders.computeIfAbsent(key(field.getName()), k -> new Builder(field.getName())).field = field;
+        }
+        for (Method method: type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic() ||
+                (method.getDeclaringClass() == Object.class)) {
+                continue;
+            }
+            String name = method.getName();
+            if ((method.getParameterCount() == 0) && (method.getReturnType() != void.class) && (method.getReturnType() != Void.class)) {
+                boolean get = (name.length() > 3) && name.startsWith("get");
+                boolean is = (name.length() > 2) && name.startsWith("is");
+                if (get || is) {
+                    String propertyName = decapitalize(name.substring(get ? 3 : 2));
+                    Builder builder = builders.computeIfAbsent(key(propertyName), k -> new Builder(propertyName));
+                    // getX is preferred over isX.
+                    if ((builder.getter == null) || get) {
+                        builder.getter = method;
+                    }
+                }
+            }
+            else if ((method.getParameterCount() == 1) && (method.getReturnType() == void.class) && (name.length() > 3) &&
+                     name.startsWith("set")) {
+                String propertyName = decapitalize(name.substring(3));
+                builders.computeIfAbsent(key(propertyName), k -> new Builder(propertyName)).setters.add(method);
+            }
+        }
+        List<Property> properties = new ArrayList<>(builders.size());
+        for (Builder builder: builders.values()) {
+            properties.add(builder.build());
+        }
+        return new PropertyTable(type, Collections.unmodifiableList(properties));
+    }
+
+    /**
+     * Returns scanned class.
+     *
+     * @return scanned class.
+     */
+    Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns all properties, in order of discovery.
+     *
+     * @return all properties.
+     */
+    List<Property> getProperties() {
+        return this.properties;
+    }
+
+    /**
+     * Returns property with given name, exact name is checked first, and then name ignoring case.
+     *
+     * @param name name of property.
+     *
+     * @return property with given name or null.
+     */
+    @Nullable
+    Property get(String name) {
+        Property property = this.byName.get(name);
+        if (property == null) {
+            property = this.byNameIgnoreCase.get(name);
+        }
+        return property;
+    }
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String decapitalize(String name) {
+        if ((name.length() > 1) && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Single property of class.
+     */
+    static final class Property {
+        final String   name;
+        final Class<?> type;
+        /**
+         * Getter method or field used to read property, or null if property is write-only.
+         */
+        @Nullable
+        final Member   reader;
+        /**
+         * Setter method or field used to write property, or null if property is read-only.
+         */
+        @Nullable
+        final Member   writer;
+        @Nullable
+        final Field    field;
+
+        @Nullable
+        private volatile ReflectedGetter<?>   getter;
+        @Nullable
+        private volatile ReflectedSetter<?>   setter;
+        @Nullable
+        private volatile ReflectedProperty<?> property;
+
+        Property(String name, Class<?> type, @Nullable Member reader, @Nullable Member writer, @Nullable Field field) {
+            this.name = name;
+            this.type = type;
+            this.reader = reader;
+            this.writer = writer;
+            this.field = field;
+        }
+
+        boolean isReadable() {
+            return this.reader != null;
+        }
+
+        boolean isWritable() {
+            return this.writer != null;
+        }
+
+        /**
+         * Returns type of value accepted by writer of this property.
+         *
+         * @return type of value accepted by writer.
+         */
+        Class<?> getWriterType() {
+            if (this.writer instanceof Method) {
+                return ((Method) this.writer).getParameterTypes()[0];
+            }
+            if (this.writer instanceof Field) {
+                return ((Field) this.writer).getType();
+            }
+            return this.type;
+        }
+
+        /**
+         * Returns cached getter of this property.
+         *
+         * @return getter of this property.
+         *
+         * @throws IllegalStateException if property is not readable.
+         */
+        @SuppressWarnings("unchecked")
+        <T> ReflectedGetter<T> getter() {
+            ReflectedGetter<?> getter = this.getter;
+            if (getter == null) {
+                if (this.reader == null) {
+                    throw new IllegalStateException("Property " + this.name + " is not readable.");
+                }
+                this.getter = getter = (this.reader instanceof Method) ? ReflectedMethod.fromMethod((Method) this.reader).asGetter() :
+                                       ReflectedProperty.fromField((Field) this.reader);
+            }
+            return (ReflectedGetter<T>) getter;
+        }
+
+        /**
+         * Returns cached setter of this property.
+         *
+         * @return setter of this property.
+         *
+         * @throws IllegalStateException if property is not writable.
+         */
+        @SuppressWarnings("unchecked")
+        <T> ReflectedSetter<T> setter() {
+            ReflectedSetter<?> setter = this.setter;
+            if (setter == null) {
+                if (this.writer == null) {
+                    throw new IllegalStateException("Property " + this.name + " is not writable.");
+                }
+                if (this.writer instanceof Method) {
+                    setter = ReflectedMethod.fromMethod((Method) this.writer).asSetter();
+                }
+                else if ((this.writer == this.reader) && (this.getter instanceof ReflectedSetter)) {
+                    setter = (ReflectedSetter<?>) this.getter;
+                }
+                else {
+                    setter = ReflectedProperty.fromField((Field) this.writer);
+                }
+                this.setter = setter;
+            }
+            return (ReflectedSetter<T>) setter;
+        }
+
+        /**
+         * Returns cached property combining getter and setter of this property, property must be readable.
+         *
+         * @return reflected property.
+         */
+        @SuppressWarnings("unchecked")
+        <T> ReflectedProperty<T> property() {
+            ReflectedProperty<?> property = this.property;
+            if (property == null) {
+                ReflectedGetter<T> getter = this.getter();
+                if (getter instanceof ReflectedProperty) {
+                    ReflectedProperty<T> fieldProperty = (ReflectedProperty<T>) getter;
+                    property = new ReflectedPropertyImpl<>(fieldProperty, fieldProperty);
+                }
+                else {
+                    property = new ReflectedPropertyImpl<>(getter, (this.writer == null) ? null : this.setter());
+                }
+                this.property = property;
+            }
+            return (ReflectedProperty<T>) property;
+        }
+
+        @Override
+        public String toString() {
+            return this.name + "{type=" + this.type.getName() + ", reader=" + this.reader + ", writer=" + this.writer + "}";
+        }
+    }
+
+    private static final class Builder {
+        private final String       name;
+        @Nullable
+        private       Field        field;
+        @Nullable
+        private       Method       getter;
+        private final List<Method> setters = new ArrayList<>(1);
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        private Property build() {
+            String name = (this.field != null) ? this.field.getName() : this.name;
+            Class<?> type;
+            if (this.getter != null) {
+                type = this.getter.getReturnType();
+            }
+            else if (this.field != null) {
+                type = this.field.getType();
+            }
+            else {
+                type = this.setters.get(0).getParameterTypes()[0];
+            }
+            Member reader = (this.getter != null) ? this.getter : this.field;
+            Member writer = null;
+            for (Method setter: this.setters) {
+                if (setter.getParameterTypes()[0] == type) {
+                    writer = setter;
+                    break;
+                }
+            }
+            if ((writer == null) && ! this.setters.isEmpty()) {
+                writer = this.setters.get(0);
+            }
+            if ((writer == null) && (this.field != null) && ! Modifier.isFinal(this.field.getModifiers())) {
+                writer = this.field;
+            }
+            return new Property(name, type, reader, writer, this.field);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package org.diorite.commons.reflect;
 
+import org.diorite.commons.reflect.PropertyTable.Property;
+
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.lang.reflect.Member;
 
+/**
+ * Utilities for finding getters and setters of properties, backed by cached {@link PropertyTable} of each class, so repeated lookups
+ * does not scan methods of class again.
+ */
 final class PropertyUtils {
 
     private PropertyUtils() {}
@@ -31,14 +38,13 @@ final class PropertyUtils {
      * @return Element for field value.
      */
     static <T> ReflectedProperty<T> getReflectedProperty(String fieldName, Class<?> clazz) {
-        ReflectedGetter<T> getter = getReflectGetter(fieldName, clazz);
-        if (getter instanceof ReflectedProperty) {
-            ReflectedProperty<T> property = (ReflectedProperty<T>) getter;
-            return new ReflectedPropertyImpl<>(property, property);
-        }
-        else {
-            return new ReflectedPropertyImpl<>(getter, getReflectSetter(fieldName, clazz));
+        Property property = PropertyTable.of(clazz).get(fieldName);
+        if ((property != null) && property.isReadable()) {
+            return ensureAccessible(property.property(), property.reader);
         }
+        // static fields are not included in property table.
+        ReflectedProperty<T> field = findField(fieldName, clazz);
+        return new ReflectedPropertyImpl<>(field, field);
     }
 
     /**
@@ -52,29 +58,12 @@ final class PropertyUtils {
      * @return Setter for field value.
      */
     static <T> ReflectedSetter<T> getReflectSetter(String fieldName, Class<?> clazz) {
-        String fieldNameCpy = fieldName;
-        fieldName = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-        Method m = null;
-
-        try {
-            m = clazz.getMethod("set" + fieldName);
-        }
-        catch (NoSuchMethodException ignored2) {
-            for (Method cm: clazz.getMethods()) {
-                if ((cm.getName().equalsIgnoreCase("set" + fieldName)) && (cm.getReturnType() == void.class) && (cm
-                                                                                                                         .getParameterCount() == 1)) {
-                    m = cm;
-                    break;
-                }
-            }
-        }
-
-        if (m != null) {
-            return ReflectedMethod.<T>fromMethod(m).asSetter();
-        }
-        else {
-            return ReflectionUtils.<Object, T>uncheckedFieldLookupIn(clazz).includeSupertypes().name(fieldNameCpy).findExact();
+        Property property = PropertyTable.of(clazz).get(fieldName);
+        if ((property != null) && property.isWritable()) {
+            return ensureAccessible(property.setter(), property.writer);
         }
+        // final and static fields are not included in property table.
+        return findField(fieldName, clazz);
     }
 
     /**
@@ -101,33 +90,12 @@ final class PropertyUtils {
      * @return Getter for field value.
      */
     static <T> ReflectedGetter<T> getReflectGetter(String fieldName, Class<?> clazz) {
-        String fieldNameCpy = fieldName;
-        fieldName = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-        Method m = null;
-        try {
-            m = clazz.getMethod("get" + fieldName);
-        }
-        catch (NoSuchMethodException ignored1) {
-            try {
-                m = clazz.getMethod("is" + fieldName);
-            }
-            catch (NoSuchMethodException ignored2) {
-                for (Method cm: clazz.getMethods()) {
-                    if ((cm.getName().equalsIgnoreCase("get" + fieldName) || cm.getName().equalsIgnoreCase("is" + fieldName)) &&
-                                (cm.getReturnType() != Void.class) && (cm.getReturnType() != void.class) && (cm.getParameterCount() == 0)) {
-                        m = cm;
-                        break;
-                    }
-                }
-            }
-        }
-
-        if (m != null) {
-            return ReflectedMethod.<T>fromMethod(m).asGetter();
-        }
-        else {
-            return ReflectionUtils.<Object, T>uncheckedFieldLookupIn(clazz).includeSupertypes().name(fieldNameCpy).findExact();
+        Property property = PropertyTable.of(clazz).get(fieldName);
+        if ((property != null) && property.isReadable()) {
+            return ensureAccessible(property.getter(), property.reader);
         }
+        // static fields are not included in property table.
+        return findField(fieldName, clazz);
     }
 
     /**
@@ -142,4 +110,16 @@ final class PropertyUtils {
     static <T> ReflectedGetter<T> getReflectGetter(Field field) {
         return getReflectGetter(field.getName(), field.getDeclaringClass());
     }
+
+    private static <T> ReflectedProperty<T> findField(String fieldName, Class<?> clazz) {
+        return ReflectionUtils.<Object, T>uncheckedFieldLookupIn(clazz).includeSupertypes().name(fieldName).findExact();
+    }
+
+    private static <E extends ReflectedElement<?>> E ensureAccessible(E element, @Nullable Member member) {
+        // fields were always returned as accessible, methods are public.
+        if (member instanceof Field) {
+            element.ensureAccessible();
+        }
+        return element;
+    }
 }
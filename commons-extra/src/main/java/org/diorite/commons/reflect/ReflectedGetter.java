@@ -27,6 +27,11 @@ package org.diorite.commons.reflect;
 import javax.annotation.Nullable;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Classes implementing this interface can get something from given object.
@@ -42,6 +47,118 @@ public interface ReflectedGetter<T> extends ReflectedElement<T> {
     @Nullable
     T get(@Nullable Object src);
 
+    /**
+     * Get boolean value from given object, without boxing it if possible. <br>
+     * Value of getter must be boolean or type that can be widened to boolean.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to boolean.
+     */
+    default boolean getBoolean(@Nullable Object src) throws IllegalStateException {
+        return (Boolean) TypedHandles.widen(this.get(src), boolean.class, this);
+    }
+
+    /**
+     * Get byte value from given object, without boxing it if possible. <br>
+     * Value of getter must be byte or type that can be widened to byte.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to byte.
+     */
+    default byte getByte(@Nullable Object src) throws IllegalStateException {
+        return (Byte) TypedHandles.widen(this.get(src), byte.class, this);
+    }
+
+    /**
+     * Get short value from given object, without boxing it if possible. <br>
+     * Value of getter must be short or type that can be widened to short.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to short.
+     */
+    default short getShort(@Nullable Object src) throws IllegalStateException {
+        return (Short) TypedHandles.widen(this.get(src), short.class, this);
+    }
+
+    /**
+     * Get char value from given object, without boxing it if possible. <br>
+     * Value of getter must be char or type that can be widened to char.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to char.
+     */
+    default char getChar(@Nullable Object src) throws IllegalStateException {
+        return (Character) TypedHandles.widen(this.get(src), char.class, this);
+    }
+
+    /**
+     * Get int value from given object, without boxing it if possible. <br>
+     * Value of getter must be int or type that can be widened to int.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to int.
+     */
+    default int getInt(@Nullable Object src) throws IllegalStateException {
+        return (Integer) TypedHandles.widen(this.get(src), int.class, this);
+    }
+
+    /**
+     * Get long value from given object, without boxing it if possible. <br>
+     * Value of getter must be long or type that can be widened to long.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to long.
+     */
+    default long getLong(@Nullable Object src) throws IllegalStateException {
+        return (Long) TypedHandles.widen(this.get(src), long.class, this);
+    }
+
+    /**
+     * Get float value from given object, without boxing it if possible. <br>
+     * Value of getter must be float or type that can be widened to float.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to float.
+     */
+    default float getFloat(@Nullable Object src) throws IllegalStateException {
+        return (Float) TypedHandles.widen(this.get(src), float.class, this);
+    }
+
+    /**
+     * Get double value from given object, without boxing it if possible. <br>
+     * Value of getter must be double or type that can be widened to double.
+     *
+     * @param src object to get value from it.
+     *
+     * @return value from object.
+     *
+     * @throws IllegalStateException if value of getter can't be converted to double.
+     */
+    default double getDouble(@Nullable Object src) throws IllegalStateException {
+        return (Double) TypedHandles.widen(this.get(src), double.class, this);
+    }
+
     @Nullable
     @Override
     default T invokeWith(Object... args) throws IllegalArgumentException {
@@ -86,6 +203,67 @@ public interface ReflectedGetter<T> extends ReflectedElement<T> {
         return this.getGetter().bindTo(object);
     }
 
+    /**
+     * Returns view of this getter as {@link Function}, where function argument is object to get value from (ignored for static
+     * getters). <br>
+     * Returned function directly reads field or invokes method, without reflection overhead, so it is recommended to create it once
+     * and store it.
+     *
+     * @return view of this getter as function.
+     */
+    default Function<Object, T> asFunction() {
+        return FunctionalAccessors.function(this);
+    }
+
+    /**
+     * Returns view of this getter as {@link Predicate}, getter must return boolean value.
+     *
+     * @return view of this getter as predicate.
+     *
+     * @throws IllegalStateException if getter does not return boolean value.
+     * @see #asFunction()
+     */
+    default Predicate<Object> asPredicate() throws IllegalStateException {
+        return FunctionalAccessors.predicate(this);
+    }
+
+    /**
+     * Returns view of this getter as {@link ToIntFunction}, getter must return value that can be widened to int, value is not boxed.
+     *
+     * @return view of this getter as int function.
+     *
+     * @throws IllegalStateException if getter does not return value that can be converted to int.
+     * @see #asFunction()
+     */
+    default ToIntFunction<Object> asIntFunction() throws IllegalStateException {
+        return FunctionalAccessors.intFunction(this);
+    }
+
+    /**
+     * Returns view of this getter as {@link ToLongFunction}, getter must return value that can be widened to long, value is not boxed.
+     *
+     * @return view of this getter as long function.
+     *
+     * @throws IllegalStateException if getter does not return value that can be converted to long.
+     * @see #asFunction()
+     */
+    default ToLongFunction<Object> asLongFunction() throws IllegalStateException {
+        return FunctionalAccessors.longFunction(this);
+    }
+
+    /**
+     * Returns view of this getter as {@link ToDoubleFunction}, getter must return value that can be widened to double, value is not
+     * boxed.
+     *
+     * @return view of this getter as double function.
+     *
+     * @throws IllegalStateException if getter does not return value that can be converted to double.
+     * @see #asFunction()
+     */
+    default ToDoubleFunction<Object> asDoubleFunction() throws IllegalStateException {
+        return FunctionalAccessors.doubleFunction(this);
+    }
+
     @Override
     ReflectedGetter<T> ensureAccessible();
 }
@@ -617,10 +617,22 @@ public interface ReflectedMethod<T> extends ReflectedElement<T> {
     ReflectedGetter<T> asGetter();
 
     static <T> ReflectedMethod<T> fromConstructor(Constructor<T> constructor) {
+        if (ReflectionUtils.isGeneratingInvokers()) {
+            ConstructorInvoker<T> generated = InvokerGenerator.generate(constructor);
+            if (generated != null) {
+                return generated;
+            }
+        }
         return new ConstructorInvoker<>(constructor);
     }
 
     static <T> ReflectedMethod<T> fromMethod(Method method) {
+        if (ReflectionUtils.isGeneratingInvokers()) {
+            MethodInvoker<T> generated = InvokerGenerator.generate(method);
+            if (generated != null) {
+                return generated;
+            }
+        }
         return new MethodInvoker<>(method);
     }
 
@@ -63,6 +63,12 @@ public interface ReflectedProperty<T> extends ReflectedGetter<T>, ReflectedSette
     ReflectedProperty<T> ensureAccessible();
 
     static <T> ReflectedProperty<T> fromField(Field field) {
+        if (ReflectionUtils.isGeneratingInvokers()) {
+            FieldAccessor<T> generated = InvokerGenerator.generate(field);
+            if (generated != null) {
+                return generated;
+            }
+        }
         return new FieldAccessor<>(field);
     }
 
@@ -55,6 +55,16 @@ class ReflectedPropertyImpl<T> implements ReflectedProperty<T> {
         this.setter = setter;
     }
 
+    @Nullable
+    ReflectedGetter<T> getReflectedGetter() {
+        return this.getter;
+    }
+
+    @Nullable
+    ReflectedSetter<T> getReflectedSetter() {
+        return this.setter;
+    }
+
     @Override
     public T get(@Nullable Object src) {
         if (this.getter == null) {
@@ -117,6 +127,100 @@ class ReflectedPropertyImpl<T> implements ReflectedProperty<T> {
         this.setter.set(src, obj);
     }
 
+    @Override
+    public boolean getBoolean(@Nullable Object src) {
+        return this.requireGetter().getBoolean(src);
+    }
+
+    @Override
+    public byte getByte(@Nullable Object src) {
+        return this.requireGetter().getByte(src);
+    }
+
+    @Override
+    public short getShort(@Nullable Object src) {
+        return this.requireGetter().getShort(src);
+    }
+
+    @Override
+    public char getChar(@Nullable Object src) {
+        return this.requireGetter().getChar(src);
+    }
+
+    @Override
+    public int getInt(@Nullable Object src) {
+        return this.requireGetter().getInt(src);
+    }
+
+    @Override
+    public long getLong(@Nullable Object src) {
+        return this.requireGetter().getLong(src);
+    }
+
+    @Override
+    public float getFloat(@Nullable Object src) {
+        return this.requireGetter().getFloat(src);
+    }
+
+    @Override
+    public double getDouble(@Nullable Object src) {
+        return this.requireGetter().getDouble(src);
+    }
+
+    @Override
+    public void setBoolean(@Nullable Object src, boolean value) {
+        this.requireSetter().setBoolean(src, value);
+    }
+
+    @Override
+    public void setByte(@Nullable Object src, byte value) {
+        this.requireSetter().setByte(src, value);
+    }
+
+    @Override
+    public void setShort(@Nullable Object src, short value) {
+        this.requireSetter().setShort(src, value);
+    }
+
+    @Override
+    public void setChar(@Nullable Object src, char value) {
+        this.requireSetter().setChar(src, value);
+    }
+
+    @Override
+    public void setInt(@Nullable Object src, int value) {
+        this.requireSetter().setInt(src, value);
+    }
+
+    @Override
+    public void setLong(@Nullable Object src, long value) {
+        this.requireSetter().setLong(src, value);
+    }
+
+    @Override
+    public void setFloat(@Nullable Object src, float value) {
+        this.requireSetter().setFloat(src, value);
+    }
+
+    @Override
+    public void setDouble(@Nullable Object src, double value) {
+        this.requireSetter().setDouble(src, value);
+    }
+
+    private ReflectedGetter<T> requireGetter() {
+        if (this.getter == null) {
+            throw new IllegalStateException("Getter not provided.");
+        }
+        return this.getter;
+    }
+
+    private ReflectedSetter<T> requireSetter() {
+        if (this.setter == null) {
+            throw new IllegalStateException("Setter not provided.");
+        }
+        return this.setter;
+    }
+
     @Override
     public MethodHandle getSetter() {
         if (this.setter == null) {
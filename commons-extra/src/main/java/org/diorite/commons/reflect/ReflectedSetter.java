@@ -27,6 +27,10 @@ package org.diorite.commons.reflect;
 import javax.annotation.Nullable;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Classes implementing this interface can set given object in other given object.
@@ -40,6 +44,118 @@ public interface ReflectedSetter<T> extends ReflectedElement<T> {
      */
     void set(@Nullable Object src, @Nullable T obj);
 
+    /**
+     * Set boolean value in given object, without boxing it if possible. <br>
+     * Type of setter must be boolean or type that boolean can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if boolean can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setBoolean(@Nullable Object src, boolean value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set byte value in given object, without boxing it if possible. <br>
+     * Type of setter must be byte or type that byte can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if byte can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setByte(@Nullable Object src, byte value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set short value in given object, without boxing it if possible. <br>
+     * Type of setter must be short or type that short can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if short can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setShort(@Nullable Object src, short value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set char value in given object, without boxing it if possible. <br>
+     * Type of setter must be char or type that char can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if char can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setChar(@Nullable Object src, char value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set int value in given object, without boxing it if possible. <br>
+     * Type of setter must be int or type that int can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if int can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setInt(@Nullable Object src, int value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set long value in given object, without boxing it if possible. <br>
+     * Type of setter must be long or type that long can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if long can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setLong(@Nullable Object src, long value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set float value in given object, without boxing it if possible. <br>
+     * Type of setter must be float or type that float can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if float can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setFloat(@Nullable Object src, float value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
+    /**
+     * Set double value in given object, without boxing it if possible. <br>
+     * Type of setter must be double or type that double can be widened to.
+     *
+     * @param src object to set value in it.
+     * @param value new value.
+     *
+     * @throws IllegalStateException if double can't be converted to type of setter.
+     */
+    @SuppressWarnings("unchecked")
+    default void setDouble(@Nullable Object src, double value) throws IllegalStateException {
+        this.set(src, (T) TypedHandles.widen(value, ReflectionUtils.getPrimitive(this.getType()), this));
+    }
+
     @Nullable
     @Override
     @SuppressWarnings("unchecked")
@@ -87,6 +203,54 @@ public interface ReflectedSetter<T> extends ReflectedElement<T> {
         return this.getSetter().bindTo(object);
     }
 
+    /**
+     * Returns view of this setter as {@link BiConsumer}, where first argument is object to set value in (ignored for static setters)
+     * and second one is new value. <br>
+     * Returned consumer directly writes field or invokes method, without reflection overhead, so it is recommended to create it once
+     * and store it.
+     *
+     * @return view of this setter as consumer.
+     */
+    default BiConsumer<Object, T> asConsumer() {
+        return FunctionalAccessors.consumer(this);
+    }
+
+    /**
+     * Returns view of this setter as {@link ObjIntConsumer}, setter must accept value that int can be widened to, value is not boxed.
+     *
+     * @return view of this setter as int consumer.
+     *
+     * @throws IllegalStateException if setter does not accept int values.
+     * @see #asConsumer()
+     */
+    default ObjIntConsumer<Object> asIntConsumer() throws IllegalStateException {
+        return FunctionalAccessors.intConsumer(this);
+    }
+
+    /**
+     * Returns view of this setter as {@link ObjLongConsumer}, setter must accept value that long can be widened to, value is not boxed.
+     *
+     * @return view of this setter as long consumer.
+     *
+     * @throws IllegalStateException if setter does not accept long values.
+     * @see #asConsumer()
+     */
+    default ObjLongConsumer<Object> asLongConsumer() throws IllegalStateException {
+        return FunctionalAccessors.longConsumer(this);
+    }
+
+    /**
+     * Returns view of this setter as {@link ObjDoubleConsumer}, setter must accept double values, value is not boxed.
+     *
+     * @return view of this setter as double consumer.
+     *
+     * @throws IllegalStateException if setter does not accept double values.
+     * @see #asConsumer()
+     */
+    default ObjDoubleConsumer<Object> asDoubleConsumer() throws IllegalStateException {
+        return FunctionalAccessors.doubleConsumer(this);
+    }
+
     @Override
     ReflectedSetter<T> ensureAccessible();
 }
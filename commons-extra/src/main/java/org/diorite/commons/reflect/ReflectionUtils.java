@@ -1,6 +1,7 @@
 package org.diorite.commons.reflect;
 
 import org.diorite.commons.array.ArrayUtils;
+import org.diorite.commons.reflect.type.TypeMatcher;
 
 import javax.annotation.Nullable;
 import java.lang.invoke.MethodHandles.Lookup;
@@ -15,6 +16,69 @@ public final class ReflectionUtils {
 
     private ReflectionUtils() {}
 
+    private static volatile boolean generateInvokers;
+
+    /**
+     * Returns true if {@link ReflectedMethod} and {@link ReflectedProperty} instances created from methods, constructors and fields
+     * should use bytecode generated invokers when possible.
+     *
+     * @return true if generated invokers are enabled.
+     */
+    public static boolean isGeneratingInvokers() {
+        return generateInvokers;
+    }
+
+    /**
+     * Enable or disable bytecode generated invokers for newly created {@link ReflectedMethod} and {@link ReflectedProperty} instances.
+     * <br>
+     * Generated invokers call member directly, without argument checks and exception wrapping done by reflections, but each of them
+     * is new class, so it should be used only for members invoked very often. <br>
+     * Private members and members of classes that can't see this library always use reflections.
+     *
+     * @param generateInvokers if generated invokers should be used.
+     */
+    public static void setGeneratingInvokers(boolean generateInvokers) {
+        ReflectionUtils.generateInvokers = generateInvokers;
+    }
+
+    /**
+     * Returns amount of {@link MethodLookup} and {@link FieldLookup} queries answered from cache. <br>
+     * Lookups using custom matchers (like {@link MethodLookup#withParameter(TypeMatcher)}) are never cached, and neither are lookups
+     * referencing classes that are not visible from class loader of looked up class.
+     *
+     * @return amount of cached lookup results used.
+     */
+    public static long getLookupCacheHits() {
+        return LookupCache.getHits();
+    }
+
+    /**
+     * Returns amount of {@link MethodLookup} and {@link FieldLookup} queries that were not cached yet.
+     *
+     * @return amount of computed lookup results.
+     */
+    public static long getLookupCacheMisses() {
+        return LookupCache.getMisses();
+    }
+
+    /**
+     * Returns maximum amount of cached lookup results of all classes.
+     *
+     * @return maximum amount of cached lookup results.
+     */
+    public static int getLookupCacheCapacity() {
+        return LookupCache.getCapacity();
+    }
+
+    /**
+     * Set maximum amount of cached lookup results of all classes, when exceeded oldest results are removed from cache.
+     *
+     * @param capacity maximum amount of cached lookup results.
+     */
+    public static void setLookupCacheCapacity(int capacity) {
+        LookupCache.setCapacity(capacity);
+    }
+
     @SuppressWarnings("unchecked")
     public static <T, R> FieldLookup<T, R> uncheckedFieldLookupIn(Class inClass) {
         return (FieldLookup<T, R>) fieldLookupIn(inClass);
@@ -37,6 +101,49 @@ public final class ReflectionUtils {
         return methodLookupIn(inClass).constructors();
     }
 
+    /**
+     * Returns dispatcher of methods with given name in given class and its supertypes, choosing best overload for runtime types of
+     * arguments and caching result for each tuple of argument classes. <br>
+     * Dispatchers are created once for each class and method name.
+     *
+     * @param inClass class with methods.
+     * @param methodName name of methods.
+     * @param <T> return type of methods.
+     *
+     * @return dispatcher of methods with given name.
+     */
+    public static <T> MethodDispatcher<T> methodDispatcher(Class<?> inClass, String methodName) {
+        return RuntimeExecutableDispatcherUtils.dispatcher(inClass, methodName);
+    }
+
+    /**
+     * Returns copier of all matching properties from beans of source type to beans of target type. <br>
+     * Properties are resolved once and copy code is generated when possible, copiers are cached for each pair of types.
+     *
+     * @param sourceType type of source beans.
+     * @param targetType type of target beans.
+     * @param <A> type of source beans.
+     * @param <B> type of target beans.
+     *
+     * @return copier between given types.
+     */
+    public static <A, B> BeanCopier<A, B> beanCopier(Class<A> sourceType, Class<B> targetType) {
+        return BeanGenerator.copier(sourceType, targetType);
+    }
+
+    /**
+     * Returns differ comparing all readable properties of beans of given type. <br>
+     * Properties are resolved once and compare code is generated when possible, differs are cached for each type.
+     *
+     * @param type type of beans.
+     * @param <T> type of beans.
+     *
+     * @return differ of given type.
+     */
+    public static <T> BeanDiffer<T> beanDiffer(Class<T> type) {
+        return BeanGenerator.differ(type);
+    }
+
     public static boolean isArray(Type type) {
         return TypeUtils.isArray(type);
     }
@@ -1,13 +1,15 @@
 package org.diorite.commons.reflect;
 
+import org.diorite.commons.ClassCache;
+
 import javax.annotation.Nullable;
 import java.lang.reflect.Executable;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -23,19 +25,17 @@ final class RuntimeExecutableDispatcherUtils {
         return findMatchingExecutable(methods, values);
     }
 
+    private static final ClassCache<Map<String, MethodDispatcher<?>>> dispatchers =
+            ClassCache.create("RuntimeExecutableDispatcherUtils.dispatchers", type -> new ConcurrentHashMap<>(4));
+
+    @SuppressWarnings("unchecked")
+    static <T> MethodDispatcher<T> dispatcher(Class<?> type, String methodName) {
+        return (MethodDispatcher<T>) dispatchers.get(type).computeIfAbsent(methodName, name -> new MethodDispatcher<>(type, name));
+    }
+
     static <T> ReflectedMethod<T> findMatchingMethod(Class<?> type, String methodName,
                                                      Object... values) throws NoSuchMethodException, IllegalStateException {
-        List<ReflectedMethod<T>> methodList = new ArrayList<>(20);
-        Class<?> currentType = type;
-        while ((currentType != null) && ! currentType.equals(Object.class)) {
-            for (Method method: currentType.getDeclaredMethods()) {
-                if (method.getName().equals(methodName) && (method.getParameterCount() == values.length)) {
-                    methodList.add(ReflectedMethod.fromMethod(method));
-                }
-            }
-            currentType = currentType.getSuperclass();
-        }
-        return findMatchingExecutable(methodList, values);
+        return RuntimeExecutableDispatcherUtils.<T>dispatcher(type, methodName).find(values);
     }
 
     static <T> ReflectedMethod<T> findMatchingExecutable(Collection<? extends ReflectedMethod<T>> executables,
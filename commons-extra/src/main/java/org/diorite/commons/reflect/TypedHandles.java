@@ -0,0 +1,294 @@
+package org.diorite.commons.reflect;
+
+import org.diorite.commons.ExceptionUtils;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+
+/**
+ * Lazily created, exactly typed {@link MethodHandle}s of single getter and/or setter, used to read and write primitive values without
+ * boxing them. <br>
+ * Handles are converted to {@code (Object)P} for getters and {@code (Object,P)V} for setters, where {@code P} is requested primitive
+ * type. Handles of primitive values only allow widening conversions, handles of other values are filtered by {@link #widen}, so they
+ * convert values exactly like boxing default implementations of primitive accessors, instead of casting and unboxing them.
+ */
+final class TypedHandles {
+    private static final int BOOLEAN = 0;
+    private static final int BYTE    = 1;
+    private static final int SHORT   = 2;
+    private static final int CHAR    = 3;
+    private static final int INT     = 4;
+    private static final int LONG    = 5;
+    private static final int FLOAT   = 6;
+    private static final int DOUBLE  = 7;
+
+    private static final Class<?>[] TYPES =
+            {boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class};
+
+    private static final MethodHandle WIDEN;
+
+    static {
+        try {
+            WIDEN = MethodHandles.lookup().findStatic(TypedHandles.class, "widen",
+                                                      MethodType.methodType(Object.class, Object.class, Class.class, ReflectedElement.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Nullable
+    private final ReflectedGetter<?> getter;
+    @Nullable
+    private final ReflectedSetter<?> setter;
+
+    private final MethodHandle[] getters = new MethodHandle[TYPES.length];
+    private final MethodHandle[] setters = new MethodHandle[TYPES.length];
+
+    TypedHandles(@Nullable ReflectedGetter<?> getter, @Nullable ReflectedSetter<?> setter) {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    private MethodHandle getter(int index) {
+        MethodHandle handle = this.getters[index];
+        if (handle != null) {
+            return handle;
+        }
+        if (this.getter == null) {
+            throw new IllegalStateException("Getter not provided.");
+        }
+        handle = this.getter.getGetter();
+        if (handle.type().parameterCount() == 0) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        if (! handle.type().returnType().isPrimitive()) {
+            MethodHandle widen = MethodHandles.insertArguments(WIDEN, 1, TYPES[index], this.getter);
+            handle = MethodHandles.filterReturnValue(handle.asType(handle.type().changeReturnType(Object.class)), widen);
+        }
+        try {
+            handle = handle.asType(MethodType.methodType(TYPES[index], Object.class));
+        }
+        catch (WrongMethodTypeException e) {
+            throw new IllegalStateException("Can't convert " + handle.type().returnType().getName() + " to " + TYPES[index] + " in " +
+                                            this.getter, e);
+        }
+        return this.getters[index] = handle;
+    }
+
+    private MethodHandle setter(int index) {
+        MethodHandle handle = this.setters[index];
+        if (handle != null) {
+            return handle;
+        }
+        if (this.setter == null) {
+            throw new IllegalStateException("Setter not provided.");
+        }
+        handle = this.setter.getSetter();
+        if (handle.type().parameterCount() == 1) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        Class<?> valueType = handle.type().parameterType(1);
+        if (! valueType.isPrimitive()) {
+            MethodHandle widen = MethodHandles.insertArguments(WIDEN, 1, ReflectionUtils.getPrimitive(valueType), this.setter);
+            handle = MethodHandles.filterArguments(handle, 1, widen.asType(MethodType.methodType(valueType, Object.class)));
+        }
+        try {
+            handle = handle.asType(MethodType.methodType(void.class, Object.class, TYPES[index]));
+        }
+        catch (WrongMethodTypeException e) {
+            throw new IllegalStateException("Can't convert " + TYPES[index] + " to " + handle.type().parameterType(1).getName() + " in " +
+                                            this.setter, e);
+        }
+        return this.setters[index] = handle;
+    }
+
+    boolean getBoolean(@Nullable Object src) {
+        try {
+            return (boolean) this.getter(BOOLEAN).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    byte getByte(@Nullable Object src) {
+        try {
+            return (byte) this.getter(BYTE).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    short getShort(@Nullable Object src) {
+        try {
+            return (short) this.getter(SHORT).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    char getChar(@Nullable Object src) {
+        try {
+            return (char) this.getter(CHAR).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    int getInt(@Nullable Object src) {
+        try {
+            return (int) this.getter(INT).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    long getLong(@Nullable Object src) {
+        try {
+            return (long) this.getter(LONG).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    float getFloat(@Nullable Object src) {
+        try {
+            return (float) this.getter(FLOAT).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    double getDouble(@Nullable Object src) {
+        try {
+            return (double) this.getter(DOUBLE).invokeExact(src);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setBoolean(@Nullable Object src, boolean value) {
+        try {
+            this.setter(BOOLEAN).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setByte(@Nullable Object src, byte value) {
+        try {
+            this.setter(BYTE).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setShort(@Nullable Object src, short value) {
+        try {
+            this.setter(SHORT).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setChar(@Nullable Object src, char value) {
+        try {
+            this.setter(CHAR).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setInt(@Nullable Object src, int value) {
+        try {
+            this.setter(INT).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setLong(@Nullable Object src, long value) {
+        try {
+            this.setter(LONG).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setFloat(@Nullable Object src, float value) {
+        try {
+            this.setter(FLOAT).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    void setDouble(@Nullable Object src, double value) {
+        try {
+            this.setter(DOUBLE).invokeExact(src, value);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Converts given boxed primitive to wrapper of given primitive type using widening conversion, used by default (boxing)
+     * implementations of primitive accessors.
+     *
+     * @param value value to convert.
+     * @param type primitive type to convert to, if not primitive value is returned as is.
+     * @param element element used in error message.
+     *
+     * @return converted value.
+     *
+     * @throws IllegalStateException if value can't be converted to given type.
+     */
+    static Object widen(@Nullable Object value, Class<?> type, ReflectedElement<?> element) throws IllegalStateException {
+        if (! type.isPrimitive()) {
+            return value;
+        }
+        if (value == null) {
+            throw new NullPointerException("Can't convert null to " + type + " in " + element);
+        }
+        Class<?> valueType = ReflectionUtils.getPrimitive(value.getClass());
+        if (valueType == type) {
+            return value;
+        }
+        if (! valueType.isPrimitive() || ! TypeUtils.isAssignable(valueType, type, false)) {
+            throw new IllegalStateException("Can't convert " + value.getClass().getName() + " to " + type + " in " + element);
+        }
+        Number number = (value instanceof Character) ? (int) (Character) value : (Number) value;
+        if (type == short.class) {
+            return number.shortValue();
+        }
+        if (type == int.class) {
+            return number.intValue();
+        }
+        if (type == long.class) {
+            return number.longValue();
+        }
+        if (type == float.class) {
+            return number.floatValue();
+        }
+        return number.doubleValue();
+    }
+}
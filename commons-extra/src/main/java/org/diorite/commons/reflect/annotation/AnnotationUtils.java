@@ -1,5 +1,6 @@
 package org.diorite.commons.reflect.annotation;
 
+import org.diorite.commons.ClassCache;
 import org.diorite.commons.reflect.ReflectedMethod;
 import org.diorite.commons.reflect.ReflectionUtils;
 
@@ -9,10 +10,9 @@ import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public final class AnnotationUtils {
-    private static final Map<Class, Class[]> singleArrays = new ConcurrentHashMap<>();
+    private static final ClassCache<Class[]> singleArrays = ClassCache.create("AnnotationUtils.singleArrays", clazz -> new Class[]{clazz});
 
     private AnnotationUtils() {}
 
@@ -44,7 +44,7 @@ public final class AnnotationUtils {
         LinkedHashMap<String, Object> validatedValues = validateValues(annotation, values);
 
         AnnotationInvocationHandler<T> invocationHandler = new AnnotationInvocationHandler<>(annotation, validatedValues);
-        Class[] interfaces = singleArrays.computeIfAbsent(annotation, clazz -> new Class[]{clazz});
+        Class[] interfaces = singleArrays.get(annotation);
 
         return (T) Proxy.newProxyInstance(annotation.getClassLoader(), interfaces, invocationHandler);
     }
@@ -1,5 +1,6 @@
 package org.diorite.commons.reflect.annotation;
 
+import org.diorite.commons.ClassCache;
 import org.diorite.commons.array.ArrayUtils;
 import org.diorite.commons.reflect.ReflectionUtils;
 
@@ -13,12 +14,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 final class AnnotationValidator<T extends Annotation> {
-    private static final Map<Class, AnnotationValidator> validators = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private static final ClassCache<AnnotationValidator> validators =
+            ClassCache.create("AnnotationValidator.validators", type -> create((Class<? extends Annotation>) type));
 
     private final Class<T>                                 annotationType;
     private final Map<String, AnnotationPropertyValidator> properties;
@@ -61,7 +63,7 @@ final class AnnotationValidator<T extends Annotation> {
         if (! annotationClass.isAnnotation()) {
             throw new IllegalArgumentException("Expected annotation interface but got: " + annotationClass + " instead.");
         }
-        return validators.computeIfAbsent(annotationClass, AnnotationValidator::create);
+        return validators.get(annotationClass);
     }
 
     private static <T extends Annotation> AnnotationValidator<T> create(Class<T> annotationClass) {
@@ -24,15 +24,17 @@
 
 package org.diorite.commons.reflect.enums;
 
+import org.diorite.commons.ClassCache;
 import org.diorite.commons.array.ArrayUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 final class DynamicEnumType<T extends DynamicEnum<T>> {
-    private static final Map<Class<?>, DynamicEnumType<?>> types = new ConcurrentHashMap<>(20);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ClassCache<DynamicEnumType<?>> types =
+            ClassCache.create("DynamicEnumType.types", type -> new DynamicEnumType(type));
 
     final         Map<String, T>     elementsMap = Collections.synchronizedMap(new HashMap<>(10, 0.1f));
     private final Class<? extends T> type;
@@ -65,12 +67,6 @@ final class DynamicEnumType<T extends DynamicEnum<T>> {
 
     @SuppressWarnings("unchecked")
     static <T extends DynamicEnum<T>> DynamicEnumType<T> getDynamicEnumType(Class<T> type) {
-        DynamicEnumType<T> enumType = (DynamicEnumType<T>) types.get(type);
-        if (enumType != null) {
-            return enumType;
-        }
-        enumType = new DynamicEnumType<>(type);
-        types.putIfAbsent(type, enumType);
-        return enumType;
+        return (DynamicEnumType<T>) types.get(type);
     }
 }
@@ -100,6 +100,6 @@ public class BoundingBox implements Cloneable {
     @Override
     public String toString() {
         StringBuilder builder = ToStringHelper.addMember(ToStringHelper.start(this), "max", this.max);
-        return ToStringHelper.addMember(builder, "min", this.min).toString();
+        return ToStringHelper.finish(ToStringHelper.addMember(builder, "min", this.min));
     }
 }
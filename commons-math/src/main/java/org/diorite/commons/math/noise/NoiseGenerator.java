@@ -216,6 +216,6 @@ public abstract class NoiseGenerator {
     public String toString() {
         StringBuilder builder = ToStringHelper.addMember(ToStringHelper.start(this), "offsetX", this.offsetX);
         ToStringHelper.addMember(builder, "offsetY", this.offsetY);
-        return ToStringHelper.addMember(builder, "offsetZ", this.offsetZ).toString();
+        return ToStringHelper.finish(ToStringHelper.addMember(builder, "offsetZ", this.offsetZ));
     }
 }
@@ -234,6 +234,6 @@ public abstract class OctaveGenerator {
     public String toString() {
         StringBuilder builder = ToStringHelper.addMember(ToStringHelper.start(this), "xScale", this.xScale);
         ToStringHelper.addMember(builder, "yScale", this.yScale);
-        return ToStringHelper.addMember(builder, "zScale", this.zScale).toString();
+        return ToStringHelper.finish(ToStringHelper.addMember(builder, "zScale", this.zScale));
     }
 }
@@ -56,6 +56,6 @@ public class WeightedRandomChoice implements IWeightedRandomChoice {
 
     @Override
     public String toString() {
-        return ToStringHelper.addMember(ToStringHelper.start(this), "weight", this.weight).toString();
+        return ToStringHelper.finish(ToStringHelper.addMember(ToStringHelper.start(this), "weight", this.weight));
     }
 }
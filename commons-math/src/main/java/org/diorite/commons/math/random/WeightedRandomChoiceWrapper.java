@@ -60,6 +60,6 @@ public class WeightedRandomChoiceWrapper<T> extends WeightedRandomChoice {
     @Override
     public String toString() {
         StringBuilder builder = ToStringHelper.addMember(ToStringHelper.start(this), "wrapped", this.wrapped);
-        return ToStringHelper.addSuper(builder, super.getClass(), super.toString()).toString();
+        return ToStringHelper.finish(ToStringHelper.addSuper(builder, super.getClass(), super.toString()));
     }
 }